@@ -1,5 +1,6 @@
 package hevs.gdx2d.components.audio;
 
+import hevs.gdx2d.lib.AssetRegistry;
 import hevs.gdx2d.lib.utils.Utils;
 
 import com.badlogic.gdx.Gdx;
@@ -8,9 +9,12 @@ import com.badlogic.gdx.utils.Disposable;
 
 /**
  * A class to stream music without loading it within LibGDX.
+ * Each player has its own stream: unlike the images and sounds, the music
+ * is not shared through the {@link AssetRegistry}, as a stream has a playing
+ * state and costs almost no memory.
  * 
  * @author Pierre-Andre Mudry / mui
- * @version 1.2
+ * @version 1.3
  */
 public class MusicPlayer implements Disposable{
 	protected Music s;
@@ -69,7 +73,10 @@ public class MusicPlayer implements Disposable{
 	 */
 	@Override
 	public void dispose() {
-		s.dispose();		
+		if(s != null){
+			s.dispose();
+			s = null;
+		}
 	}
 	
 	/**
@@ -1,25 +1,52 @@
 package hevs.gdx2d.components.audio;
 
+import hevs.gdx2d.lib.AssetRegistry;
 import hevs.gdx2d.lib.utils.Utils;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.LongArray;
 
 /**
  * A class to play *short* samples within LibGDX. The music sample
  * must be short because it is completely loaded into memory.
+ * Players of the same file share the sample (see {@link AssetRegistry}), each
+ * one only stops the instances it started.
  * 
  * @author Nils Chatton (chn)
  * @author Pierre-André Mudry (mui)
- * @version 1.1
+ * @version 1.2
  */
 public class SoundPlayer implements Disposable{
+	static final String KIND = "sound";
+
+	static final AssetRegistry.Loader<Sound> LOADER = new AssetRegistry.Loader<Sound>() {
+		@Override
+		public Sound load(String file) {
+			return Gdx.audio.newSound(Gdx.files.internal(file));
+		}
+
+		@Override
+		public long size(String file, Sound s) {
+			// Samples are completely loaded, at least the size of the file
+			return Gdx.files.internal(file).length();
+		}
+	};
+
+	protected final String file;
 	protected Sound s;
 	protected float volume = 1.0f;
+
+	// The last instances played by this player, as OpenAL plays at most a
+	// few sounds at once, and all the loops as they never end
+	private final long[] played = new long[16];
+	private int nPlayed = 0, nextPlayed = 0;
+	private final LongArray loops = new LongArray();
 		
 	public SoundPlayer(String file){
-		s = Gdx.audio.newSound(Gdx.files.internal(file));		
+		this.file = file;
+		s = AssetRegistry.acquire(KIND, file, LOADER);
 		Utils.callCheck("hevs.gdx2d.lib.Game2D", "create");
 	}
 	
@@ -40,21 +67,38 @@ public class SoundPlayer implements Disposable{
 	 * Starts playing the song
 	 */
 	public void play(){
-		s.play(volume);
+		final long id = s.play(volume);
+
+		// -1 if the sound could not be played
+		if (id != -1) {
+			played[nextPlayed] = id;
+			nextPlayed = (nextPlayed + 1) % played.length;
+			nPlayed = Math.min(nPlayed + 1, played.length);
+		}
 	}
 	
 	/**
-	 * Stops playing the song
+	 * Stops playing the song, only the instances started by this player
 	 */
 	public void stop(){
-		s.stop();		
+		for (int i = 0; i < nPlayed; i++)
+			s.stop(played[i]);
+
+		for (int i = 0; i < loops.size; i++)
+			s.stop(loops.get(i));
+
+		nPlayed = 0;
+		loops.clear();
 	}
 	
 	/**
 	 * Plays the song in loop
 	 */
 	public void loop(){
-		s.loop();
+		final long id = s.loop();
+
+		if (id != -1)
+			loops.add(id);
 	}
 	
 	/**
@@ -62,6 +106,10 @@ public class SoundPlayer implements Disposable{
 	 */
 	@Override
 	public void dispose() {
-		s.dispose();		
+		if(s != null){
+			stop();
+			AssetRegistry.release(KIND, file);
+			s = null;
+		}
 	}
 }
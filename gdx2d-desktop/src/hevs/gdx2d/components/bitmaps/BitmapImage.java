@@ -1,6 +1,7 @@
 package hevs.gdx2d.components.bitmaps;
 
-import com.badlogic.gdx.Gdx;
+import hevs.gdx2d.lib.AssetRegistry;
+
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Disposable;
@@ -8,55 +9,105 @@ import com.badlogic.gdx.utils.Disposable;
 /**
  * An image encapsulation class for GDX2DLib.
  * 
- * TODO: loading each image in a texture is a bad idea but it works. Refactor this
- * using http://steigert.blogspot.ch/search?updated-max=2012-03-15T18:29:00-03:00&max-results=3&start=3&by-date=false
+ * The images created in {@code onInit} are packed together in a few textures
+ * by the {@link ImageAtlas}, which avoids flushing the rendering when drawing
+ * different images. Use {@link #getRegion()} to draw an image,
+ * {@link #getImage()} returns the whole texture which may contain other
+ * images.
+ * 
+ * Images created from the same file share their pixels, which are loaded
+ * only once (see {@link AssetRegistry}). Call {@link #dispose()} when an
+ * image is not used anymore.
+ * 
  * @author Nils Chatton (chn)
  * @author Pierre-André Mudry (mui)
  * 
- * @version 1.1
+ * @version 1.3
  */
 public class BitmapImage implements Disposable{
 	
-	private Texture image;
+	private final String file;
+	private ImageSource source;
+	
+	// Each image has its own region so that it can be mirrored
 	private TextureRegion tRegion;
+	private boolean flipX = false, flipY = false;
+	
+	// Kept when disposed, the size of the image remains known
+	private int width, height;
 	
 	public BitmapImage(String file) {
-		image = new Texture(Gdx.files.internal(file));
-		tRegion = new TextureRegion(image);
+		this.file = file;
+		source = AssetRegistry.acquire(ImageSource.KIND, file, ImageSource.LOADER);
 		//image.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);		
 		//Utils.callCheck("hevs.gdx2d.lib.Game2D", "create");		
 	}
 
+	/**
+	 * @return The texture containing the image (might contain other images as
+	 *         well, see {@link #getRegion()})
+	 */
 	public Texture getImage() {
-		return image;
+		return getRegion().getTexture();
 	}
 
+	/**
+	 * @return The region of the texture containing the image
+	 */
 	public TextureRegion getRegion() {
+		if(tRegion == null){
+			tRegion = new TextureRegion(source.getRegion());
+			tRegion.flip(flipX, flipY);
+		}
 		return tRegion;
 	}
 
+	/**
+	 * @return The width of the image, in pixels
+	 */
+	public int getWidth() {
+		return source == null ? width : source.getWidth();
+	}
+	
+	/**
+	 * @return The height of the image, in pixels
+	 */
+	public int getHeight() {
+		return source == null ? height : source.getHeight();
+	}
+	
 	/**
 	 * Mirrors the image left right
 	 */
 	public void mirrorLeftRight(){
-		tRegion.flip(true, false);		
+		if(tRegion == null)
+			flipX = !flipX;
+		else
+			tRegion.flip(true, false);		
 	}
 	
 	/**
 	 * Mirrors the image up down
 	 */
 	public void mirrorUpDown(){
-		tRegion.flip(false, true);
+		if(tRegion == null)
+			flipY = !flipY;
+		else
+			tRegion.flip(false, true);
 	}
 	
+	/**
+	 * Releases the image. The pixels are released when no other image of the
+	 * same file uses them (see {@link AssetRegistry}).
+	 */
 	@Override
 	public void dispose() {
-		image.dispose();
-	}
-	
-	@Override
-	protected void finalize() throws Throwable {	
-		super.finalize();
-		dispose();
+		if(source != null){
+			width = source.getWidth();
+			height = source.getHeight();
+			AssetRegistry.release(ImageSource.KIND, file);
+			source = null;
+			tRegion = null;
+		}
 	}
 }
@@ -0,0 +1,319 @@
+package hevs.gdx2d.components.bitmaps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.Page;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Packs the {@link BitmapImage}s into a few large textures (pages) so that
+ * drawing different images does not require to flush the sprite batch.
+ * <p>
+ * The images created while collecting (which is the case during
+ * {@code onInit}) are only decoded. They are packed together into pages when
+ * collecting ends, or as soon as one of them is used. Images created later
+ * keep their own texture.
+ * <p>
+ * Atlases can also be packed offline with {@link #main(String[])} and loaded
+ * with {@link #load(String)}. Such a file contains the pages (compressed
+ * RGBA pixels) and the regions and is read at once; images whose file has been packed in it are then
+ * created without any decoding.
+ * 
+ * @version 1.0
+ */
+public class ImageAtlas {
+	public static final int PAGE_SIZE = 1024;
+	static final int PADDING = 2;
+	static final String MAGIC = "GDX2DATLAS";
+	static final int VERSION = 1;
+
+	private static boolean collecting = false;
+	private static final Array<ImageSource> pending = new Array<ImageSource>();
+
+	// Pages and their pixmaps (kept to restore the textures)
+	private static final Array<Texture> pages = new Array<Texture>();
+	private static final Array<Pixmap> pagePixmaps = new Array<Pixmap>();
+
+	// Regions of the atlases loaded from a file, indexed by image file
+	private static final ObjectMap<String, TextureRegion> loaded = new ObjectMap<String, TextureRegion>();
+
+	// Exists only to defeat normal instantiation
+	private ImageAtlas() {
+	}
+
+	/**
+	 * Starts collecting the images to be packed
+	 */
+	public static void beginCollecting() {
+		collecting = true;
+	}
+
+	/**
+	 * Stops collecting and packs the collected images
+	 */
+	public static void endCollecting() {
+		collecting = false;
+		pack();
+	}
+
+	/**
+	 * @return True if the newly created images will be packed
+	 */
+	public static boolean isCollecting() {
+		return collecting;
+	}
+
+	/**
+	 * @param file
+	 * @return The region of an image in a loaded atlas, or null
+	 */
+	static TextureRegion find(String file) {
+		return loaded.get(file);
+	}
+
+	/**
+	 * Registers an image to be packed
+	 */
+	static void register(ImageSource img) {
+		pending.add(img);
+	}
+
+	/**
+	 * Removes an image disposed before having been packed
+	 */
+	static void unregister(ImageSource img) {
+		pending.removeValue(img, true);
+	}
+
+	/**
+	 * Packs the images which are waiting into new pages
+	 */
+	public static void pack() {
+		if (pending.size == 0)
+			return;
+
+		PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Format.RGBA8888, PADDING, false);
+
+		for (int i = 0; i < pending.size; i++) {
+			Pixmap p = pending.get(i).getPixmap();
+
+			if (p.getWidth() + 2 * PADDING <= PAGE_SIZE && p.getHeight() + 2 * PADDING <= PAGE_SIZE)
+				packer.pack(Integer.toString(i), p);
+		}
+
+		// Upload the pages
+		ObjectMap<Page, Texture> textures = new ObjectMap<Page, Texture>();
+		for (Page page : packer.getPages()) {
+			Texture t = new Texture(page.getPixmap());
+			textures.put(page, t);
+			pages.add(t);
+			pagePixmaps.add(page.getPixmap());
+		}
+
+		for (int i = 0; i < pending.size; i++) {
+			ImageSource img = pending.get(i);
+			String key = Integer.toString(i);
+			Rectangle r = packer.getRect(key);
+
+			if (r != null) {
+				Texture t = textures.get(packer.getPage(key));
+				img.region = new TextureRegion(t, (int) r.x, (int) r.y, (int) r.width, (int) r.height);
+			} else {
+				// Too large for a page, uses its own texture
+				img.setTexture(new Texture(img.pixmap));
+			}
+
+			img.pixmap.dispose();
+			img.pixmap = null;
+		}
+
+		Gdx.app.debug("[GDX2DLib]", "Packed " + pending.size + " images in " + textures.size + " atlas page(s)");
+		pending.clear();
+	}
+
+	/**
+	 * Loads an atlas packed offline, see {@link #main(String[])}. The images
+	 * it contains are then created from it.
+	 * @param file
+	 */
+	public static void load(String file) {
+		byte[] bytes = Gdx.files.internal(file).readBytes();
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+		try {
+			if (!in.readUTF().equals(MAGIC) || in.readInt() != VERSION)
+				throw new GdxRuntimeException("Not a gdx2d atlas file: " + file);
+
+			// The pages, as compressed RGBA pixels inflated directly from the buffer
+			int nPages = in.readInt();
+			Texture[] t = new Texture[nPages];
+			byte[] chunk = new byte[PAGE_SIZE * 4];
+
+			for (int i = 0; i < nPages; i++) {
+				int width = in.readInt(), height = in.readInt(), length = in.readInt();
+				int offset = bytes.length - in.available();
+				Pixmap p = new Pixmap(width, height, Format.RGBA8888);
+				ByteBuffer pixels = p.getPixels();
+				pixels.position(0);
+
+				Inflater inflater = new Inflater();
+				inflater.setInput(bytes, offset, length);
+				while (!inflater.finished()) {
+					int n = inflater.inflate(chunk);
+					if (n == 0 && inflater.needsInput())
+						throw new GdxRuntimeException("Truncated atlas " + file);
+					pixels.put(chunk, 0, n);
+				}
+				inflater.end();
+				pixels.position(0);
+				in.skipBytes(length);
+
+				t[i] = new Texture(p);
+				pages.add(t[i]);
+				pagePixmaps.add(p);
+			}
+
+			// The regions
+			int nRegions = in.readInt();
+			for (int i = 0; i < nRegions; i++) {
+				String name = in.readUTF();
+				int page = in.readInt();
+				int x = in.readInt(), y = in.readInt(), w = in.readInt(), h = in.readInt();
+				loaded.put(name, new TextureRegion(t[page], x, y, w, h));
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error reading atlas " + file, e);
+		} catch (DataFormatException e) {
+			throw new GdxRuntimeException("Error reading atlas " + file, e);
+		}
+	}
+
+	/**
+	 * Packs image files into an atlas file which can be loaded with
+	 * {@link #load(String)}
+	 * @param out The atlas file
+	 * @param files The images, named as they will be loaded by
+	 *            {@link BitmapImage}
+	 */
+	public static void write(FileHandle out, String... files) {
+		PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Format.RGBA8888, PADDING, false);
+
+		for (String f : files) {
+			Pixmap p = new Pixmap(Gdx.files.internal(f));
+			packer.pack(f, p);
+			p.dispose();
+		}
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream data = new DataOutputStream(bytes);
+			data.writeUTF(MAGIC);
+			data.writeInt(VERSION);
+
+			Array<Page> packed = packer.getPages();
+			data.writeInt(packed.size);
+
+			for (Page page : packed) {
+				Pixmap p = page.getPixmap();
+				ByteBuffer pixels = p.getPixels();
+				byte[] raw = new byte[pixels.capacity()];
+				pixels.position(0);
+				pixels.get(raw);
+				pixels.position(0);
+
+				ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+				DeflaterOutputStream deflater = new DeflaterOutputStream(compressed, new Deflater(Deflater.BEST_COMPRESSION));
+				deflater.write(raw);
+				deflater.close();
+
+				data.writeInt(p.getWidth());
+				data.writeInt(p.getHeight());
+				data.writeInt(compressed.size());
+				compressed.writeTo(data);
+			}
+
+			data.writeInt(files.length);
+			for (String f : files) {
+				Rectangle r = packer.getRect(f);
+				data.writeUTF(f);
+				data.writeInt(packed.indexOf(packer.getPage(f), true));
+				data.writeInt((int) r.x);
+				data.writeInt((int) r.y);
+				data.writeInt((int) r.width);
+				data.writeInt((int) r.height);
+			}
+
+			data.close();
+			out.writeBytes(bytes.toByteArray(), false);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error writing atlas " + out, e);
+		}
+
+		packer.dispose();
+	}
+
+	/**
+	 * Uploads again the pages, required when the GL context has been lost
+	 * (on Android)
+	 */
+	public static void reload() {
+		for (int i = 0; i < pages.size; i++)
+			pages.get(i).load(new PixmapTextureData(pagePixmaps.get(i), null, false, false));
+	}
+
+	/**
+	 * Releases all the pages, the images using them can not be drawn anymore
+	 */
+	public static void dispose() {
+		for (Texture t : pages)
+			t.dispose();
+		for (Pixmap p : pagePixmaps)
+			p.dispose();
+
+		pages.clear();
+		pagePixmaps.clear();
+		loaded.clear();
+		pending.clear();
+	}
+
+	/**
+	 * Offline packer, usage: {@code ImageAtlas atlas.bin image1.png image2.png ...}
+	 * (paths relative to the project directory)
+	 */
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.out.println("Usage: ImageAtlas <atlas file> <image> [image...]");
+			return;
+		}
+
+		GdxNativesLoader.load();
+		Gdx.files = new LwjglFiles();
+
+		String[] files = new String[args.length - 1];
+		System.arraycopy(args, 1, files, 0, files.length);
+		write(Gdx.files.local(args[0]), files);
+		System.out.println("Packed " + files.length + " images in " + args[0]);
+	}
+}
@@ -0,0 +1,111 @@
+package hevs.gdx2d.components.bitmaps;
+
+import hevs.gdx2d.lib.AssetLoader;
+import hevs.gdx2d.lib.AssetRegistry;
+
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The pixels of an image file, shared by all the {@link BitmapImage}s
+ * created from that file through the {@link AssetRegistry}. Either in its
+ * own texture or in a page of the {@link ImageAtlas}.
+ * 
+ * @version 1.0
+ */
+class ImageSource implements Disposable {
+	static final String KIND = "image";
+
+	static final AssetRegistry.Loader<ImageSource> LOADER = new AssetRegistry.Loader<ImageSource>() {
+		@Override
+		public ImageSource load(String file) {
+			return new ImageSource(file);
+		}
+
+		@Override
+		public long size(String file, ImageSource s) {
+			// Packed images live in the atlas pages, which are not evicted
+			return s.ownTexture ? 4L * s.getWidth() * s.getHeight() : 0;
+		}
+	};
+
+	TextureRegion region;
+	boolean ownTexture = false;
+
+	// Decoded image waiting to be packed in the atlas, until region is set
+	Pixmap pixmap;
+	private Future<?> decoding;
+
+	private ImageSource(final String file) {
+		TextureRegion packed = ImageAtlas.find(file);
+
+		if (packed != null) {
+			// Already in an atlas loaded from file
+			region = packed;
+		} else if (ImageAtlas.isCollecting()) {
+			// Decoded in the background, packed later with the other images
+			ImageAtlas.register(this);
+			decoding = AssetLoader.submit(new AssetLoader.Task() {
+				@Override
+				public void decode() {
+					pixmap = new Pixmap(Gdx.files.internal(file));
+				}
+
+				@Override
+				public void upload() {
+				}
+			});
+		} else {
+			setTexture(new Texture(Gdx.files.internal(file)));
+		}
+	}
+
+	void setTexture(Texture t) {
+		region = new TextureRegion(t);
+		ownTexture = true;
+	}
+
+	/**
+	 * @return The region of the image, packing it first if required
+	 */
+	TextureRegion getRegion() {
+		if (region == null)
+			ImageAtlas.pack();
+		return region;
+	}
+
+	/**
+	 * @return The decoded image waiting to be packed, waiting for its
+	 *         decoding if required
+	 */
+	Pixmap getPixmap() {
+		AssetLoader.await(decoding);
+		decoding = null;
+		return pixmap;
+	}
+
+	int getWidth() {
+		return region == null ? getPixmap().getWidth() : region.getRegionWidth();
+	}
+
+	int getHeight() {
+		return region == null ? getPixmap().getHeight() : region.getRegionHeight();
+	}
+
+	@Override
+	public void dispose() {
+		if (region == null) {
+			ImageAtlas.unregister(this);
+			getPixmap().dispose();
+			pixmap = null;
+		}
+
+		if (ownTexture)
+			region.getTexture().dispose();
+	}
+}
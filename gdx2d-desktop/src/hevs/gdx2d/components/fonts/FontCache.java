@@ -0,0 +1,167 @@
+package hevs.gdx2d.components.fonts;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Gives the {@link GlyphFont}s generated from TrueType files, one per file
+ * and size, whose glyphs are rasterized when first drawn instead of when the
+ * font is created.
+ * <p>
+ * The glyph pages are saved in a cache directory (by default
+ * {@code fontcache} in the local storage), so that the next start only reads
+ * them instead of running FreeType. When the pages use more memory than the
+ * budget, the pages of the fonts used the least recently are saved and freed.
+ * They are read again the next time the font is drawn.
+ * <p>
+ * Implements the singleton design pattern, like
+ * {@link hevs.gdx2d.components.bitmaps.ImageAtlas}.
+ *
+ * @version 1.0
+ */
+public class FontCache {
+	// Iterates from the least recently used font
+	private static final LinkedHashMap<String, GlyphFont> fonts = new LinkedHashMap<String, GlyphFont>(16, 0.75f, true);
+
+	private static FileHandle cacheDir;
+	private static long budget = 8 * GlyphFont.PAGE_BYTES;
+	private static int evictions = 0;
+
+	// Exists only to defeat normal instantiation
+	private FontCache() {
+	}
+
+	/**
+	 * @param ttf The TrueType file
+	 * @param size The size of the font, in pixels
+	 * @return The font, the same for the same file and size
+	 */
+	public static synchronized GlyphFont get(FileHandle ttf, int size) {
+		String key = ttf.path() + ":" + size;
+		GlyphFont font = fonts.get(key);
+
+		if (font == null) {
+			font = GlyphFont.create(key, ttf, size, getCacheDirectory());
+			fonts.put(key, font);
+			trim(font);
+		}
+
+		return font;
+	}
+
+	/**
+	 * @param dir Where the glyph pages are saved, null to disable saving
+	 */
+	public static synchronized void setCacheDirectory(FileHandle dir) {
+		cacheDir = dir;
+	}
+
+	public static synchronized FileHandle getCacheDirectory() {
+		if (cacheDir == null && Gdx.files.isLocalStorageAvailable())
+			cacheDir = Gdx.files.local("fontcache");
+
+		if (cacheDir != null)
+			cacheDir.mkdirs();
+
+		return cacheDir;
+	}
+
+	/**
+	 * @param bytes The memory the glyph pages may use, at least one page is
+	 *            always kept
+	 */
+	public static synchronized void setBudget(long bytes) {
+		budget = bytes;
+		trim(null);
+	}
+
+	public static synchronized long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * @return The memory used by the glyph pages, in bytes
+	 */
+	public static synchronized long getMemoryUsed() {
+		long used = 0;
+
+		for (GlyphFont f : fonts.values()) {
+			if (f.isResident())
+				used += GlyphFont.PAGE_BYTES;
+		}
+
+		return used;
+	}
+
+	/**
+	 * @return The number of pages freed because of the budget
+	 */
+	public static synchronized int getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Marks a font as used, reading its page again if it was evicted
+	 */
+	static synchronized void touch(GlyphFont font) {
+		if (fonts.get(font.key) == null)
+			return;
+
+		if (!font.isResident()) {
+			font.restore();
+			trim(font);
+		}
+	}
+
+	/**
+	 * Evicts the least recently used pages until the budget is respected
+	 * @param keep A font whose page must not be evicted
+	 */
+	private static void trim(GlyphFont keep) {
+		long used = getMemoryUsed();
+		Iterator<GlyphFont> it = fonts.values().iterator();
+
+		while (used > budget && it.hasNext()) {
+			GlyphFont f = it.next();
+
+			if (f != keep && f.isResident()) {
+				f.evict();
+				used -= GlyphFont.PAGE_BYTES;
+				evictions++;
+			}
+		}
+	}
+
+	static synchronized void remove(GlyphFont font) {
+		fonts.remove(font.key);
+	}
+
+	/**
+	 * Writes the glyphs generated since the last save to the cache directory
+	 */
+	public static synchronized void save() {
+		for (GlyphFont f : fonts.values())
+			f.save();
+	}
+
+	/**
+	 * Uploads the pages again, after the OpenGL context has been lost
+	 */
+	public static synchronized void reload() {
+		for (GlyphFont f : fonts.values())
+			f.reload();
+	}
+
+	/**
+	 * Saves and frees all the fonts
+	 */
+	public static synchronized void dispose() {
+		for (GlyphFont f : fonts.values())
+			f.free();
+
+		fonts.clear();
+	}
+}
@@ -0,0 +1,591 @@
+package hevs.gdx2d.components.fonts;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeType;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeType.Face;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeType.Library;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeBitmapFontData;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.GlyphAndBitmap;
+
+/**
+ * A font generated from a TrueType file, whose glyphs are only rasterized the
+ * first time they are drawn. The glyphs are stored in a single texture page,
+ * which is cleared when full.
+ * <p>
+ * Obtained from {@link FontCache#get(FileHandle, int)}, which saves the page
+ * and the glyph metrics to disk so that the next start does not need FreeType
+ * for the glyphs already used, and which evicts the pages of the fonts not
+ * used recently.
+ *
+ * @version 1.0
+ */
+public class GlyphFont extends BitmapFont {
+	static final int PAGE_SIZE = 512;
+	static final long PAGE_BYTES = 2L * PAGE_SIZE * PAGE_SIZE * 4; // Pixmap + texture
+	private static final int PADDING = 1;
+	private static final String HEADER = "gdx2d-glyphs 1";
+
+	final String key;
+	private final FileHandle ttf;
+	private final int size;
+	private final FileHandle imageFile, metricsFile;
+
+	// Lazily created, only needed for glyphs not in the cache
+	private FreeTypeFontGenerator generator;
+
+	// For the kerning, which the generator does not give for single glyphs
+	private Library library;
+	private Face face;
+
+	private Pixmap page;
+	private Texture pageTexture;
+	private int penX = PADDING, penY = PADDING, rowHeight = 0;
+
+	// The page holds glyphs which are not saved yet
+	private boolean dirty = false;
+
+	// Characters not in the font
+	private final BitSet missing = new BitSet();
+
+	// Incremented when glyphs are removed, see getGeneration()
+	private int generation = 0;
+
+	private GlyphFont(String key, FileHandle ttf, int size, FileHandle imageFile, FileHandle metricsFile,
+			BitmapFontData data, Pixmap page, int[] pen) {
+		super(data, new TextureRegion(new Texture(page)), false);
+		this.key = key;
+		this.ttf = ttf;
+		this.size = size;
+		this.imageFile = imageFile;
+		this.metricsFile = metricsFile;
+		this.page = page;
+		this.pageTexture = getRegion().getTexture();
+
+		if (pen != null) {
+			penX = pen[0];
+			penY = pen[1];
+			rowHeight = pen[2];
+		}
+	}
+
+	/**
+	 * Creates the font, from the files in {@code cacheDir} when they are
+	 * valid
+	 */
+	static GlyphFont create(String key, FileHandle ttf, int size, FileHandle cacheDir) {
+		String name = ttf.nameWithoutExtension() + "-" + size + "-" + Integer.toHexString(ttf.path().hashCode());
+		FileHandle imageFile = cacheDir == null ? null : cacheDir.child(name + ".cim");
+		FileHandle metricsFile = cacheDir == null ? null : cacheDir.child(name + ".txt");
+
+		BitmapFontData data = new BitmapFontData();
+		int[] pen = new int[3];
+
+		if (readMetrics(metricsFile, imageFile, ttf, size, data, pen)) {
+			Pixmap page = PixmapIO.readCIM(imageFile);
+			return new GlyphFont(key, ttf, size, imageFile, metricsFile, data, page, pen);
+		}
+
+		// Only the metrics of the font are computed, no glyph is rasterized
+		FreeTypeFontGenerator generator = new FreeTypeFontGenerator(ttf);
+		FreeTypeBitmapFontData generated = generator.generateData(size, " ", false);
+		generated.getTextureRegion().getTexture().dispose();
+		copyMetrics(generated, data);
+
+		GlyphFont font = new GlyphFont(key, ttf, size, imageFile, metricsFile, data, newPage(), null);
+		font.generator = generator;
+		font.openFace();
+		return font;
+	}
+
+	private static Pixmap newPage() {
+		Pixmap p = new Pixmap(PAGE_SIZE, PAGE_SIZE, Format.RGBA8888);
+		p.setColor(0, 0, 0, 0);
+		p.fill();
+		return p;
+	}
+
+	private static void copyMetrics(BitmapFontData from, BitmapFontData to) {
+		to.lineHeight = from.lineHeight;
+		to.capHeight = from.capHeight;
+		to.ascent = from.ascent;
+		to.descent = from.descent;
+		to.down = from.down;
+		to.spaceWidth = from.spaceWidth;
+		to.xHeight = from.xHeight;
+	}
+
+	/************************************************************************
+	 * Glyphs
+	 ************************************************************************/
+
+	/**
+	 * Rasterizes the glyphs of a text which are not in the page yet. Called
+	 * before the text is drawn or measured, must be called before a
+	 * {@link com.badlogic.gdx.graphics.g2d.BitmapFontCache} lays out a text
+	 * with this font.
+	 */
+	public void ensureGlyphs(CharSequence str, int start, int end) {
+		FontCache.touch(this);
+
+		boolean cleared = false;
+
+		for (int i = start; i < end; i++) {
+			final char c = str.charAt(i);
+
+			if (c == '\n' || c == '\r' || getData().getGlyph(c) != null || missing.get(c))
+				continue;
+
+			if (!addGlyph(c) && !cleared) {
+				// The page is full, start again with only the glyphs of this text
+				clearPage();
+				cleared = true;
+				i = start - 1;
+			}
+		}
+	}
+
+	private void openFace() {
+		library = FreeType.initFreeType();
+		face = FreeType.newFace(library, ttf, 0);
+		FreeType.setPixelSizes(face, 0, size);
+	}
+
+	private boolean addGlyph(char c) {
+		if (generator == null) {
+			generator = new FreeTypeFontGenerator(ttf);
+			openFace();
+		}
+
+		GlyphAndBitmap gb = generator.generateGlyphAndBitmap(c, size, false);
+
+		if (gb == null) {
+			missing.set(c);
+			return true;
+		}
+
+		Glyph glyph = gb.glyph;
+		final int w = glyph.width, h = glyph.height;
+
+		if (w > 0 && h > 0) {
+			if (w + 2 * PADDING > PAGE_SIZE || h + 2 * PADDING > PAGE_SIZE) {
+				missing.set(c);
+				return true;
+			}
+
+			// Next row
+			if (penX + w + PADDING > PAGE_SIZE) {
+				penX = PADDING;
+				penY += rowHeight + PADDING;
+				rowHeight = 0;
+			}
+
+			if (penY + h + PADDING > PAGE_SIZE)
+				return false;
+
+			Pixmap p = gb.bitmap.getPixmap(Format.RGBA8888);
+			page.drawPixmap(p, penX, penY);
+			pageTexture.draw(p, penX, penY);
+			p.dispose();
+
+			glyph.srcX = penX;
+			glyph.srcY = penY;
+			penX += w + PADDING;
+			rowHeight = Math.max(rowHeight, h);
+		}
+
+		setTextureCoordinates(glyph);
+		getData().setGlyph(c, glyph);
+		addKerning(c, glyph);
+		dirty = true;
+		return true;
+	}
+
+	/**
+	 * Computes the kerning between a new glyph and the glyphs already in the
+	 * page, in both orders
+	 */
+	private void addKerning(char c, Glyph glyph) {
+		if (!FreeType.hasKerning(face))
+			return;
+
+		final int index = FreeType.getCharIndex(face, c);
+		final Glyph[][] pages = getData().glyphs;
+
+		for (int p = 0; p < pages.length; p++) {
+			if (pages[p] == null)
+				continue;
+
+			for (int i = 0; i < pages[p].length; i++) {
+				Glyph other = pages[p][i];
+
+				if (other == null)
+					continue;
+
+				final int o = p * pages[p].length + i;
+				final int otherIndex = FreeType.getCharIndex(face, o);
+
+				int k = FreeType.getKerning(face, otherIndex, index, 0);
+				if (k != 0)
+					other.setKerning(c, FreeType.toInt(k));
+
+				k = FreeType.getKerning(face, index, otherIndex, 0);
+				if (k != 0)
+					glyph.setKerning(o, FreeType.toInt(k));
+			}
+		}
+	}
+
+	private static void setTextureCoordinates(Glyph glyph) {
+		final float inv = 1f / PAGE_SIZE;
+		glyph.u = glyph.srcX * inv;
+		glyph.u2 = (glyph.srcX + glyph.width) * inv;
+		glyph.v2 = glyph.srcY * inv;
+		glyph.v = (glyph.srcY + glyph.height) * inv;
+	}
+
+	/**
+	 * Removes all the glyphs. Texts already drawn in the current frame with
+	 * this font may show wrong glyphs until the next frame.
+	 */
+	private void clearPage() {
+		clearGlyphs();
+		page.setColor(0, 0, 0, 0);
+		page.fill();
+		pageTexture.draw(page, 0, 0);
+		dirty = true;
+	}
+
+	private void clearGlyphs() {
+		Arrays.fill(getData().glyphs, null);
+		penX = PADDING;
+		penY = PADDING;
+		rowHeight = 0;
+		generation++;
+	}
+
+	/**
+	 * @return A number which changes when glyphs are removed from the page.
+	 *         Texts laid out before must then be laid out again.
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * @return The number of glyphs in the page
+	 */
+	public int getGlyphCount() {
+		int n = 0;
+
+		for (Glyph[] glyphs : getData().glyphs) {
+			if (glyphs == null)
+				continue;
+
+			for (Glyph g : glyphs) {
+				if (g != null)
+					n++;
+			}
+		}
+
+		return n;
+	}
+
+	/************************************************************************
+	 * Page management, see FontCache
+	 ************************************************************************/
+
+	boolean isResident() {
+		return page != null;
+	}
+
+	/**
+	 * Frees the page, after saving it. Its glyphs are kept if it could be
+	 * saved, as the page will be read again when needed.
+	 */
+	void evict() {
+		if (page == null)
+			return;
+
+		if (!save())
+			clearGlyphs();
+
+		pageTexture.dispose();
+		page.dispose();
+		pageTexture = null;
+		page = null;
+	}
+
+	/**
+	 * Reads the page again after it has been evicted
+	 */
+	void restore() {
+		if (page != null)
+			return;
+
+		if (imageFile != null && imageFile.exists()) {
+			page = PixmapIO.readCIM(imageFile);
+		} else {
+			page = newPage();
+			clearGlyphs();
+		}
+
+		pageTexture = new Texture(page);
+		getRegion().setTexture(pageTexture);
+	}
+
+	/**
+	 * Uploads the page again, after the OpenGL context has been lost
+	 */
+	void reload() {
+		if (page == null)
+			return;
+
+		pageTexture = new Texture(page);
+		getRegion().setTexture(pageTexture);
+	}
+
+	/**
+	 * Writes the page and the metrics of its glyphs to the cache directory,
+	 * if it changed
+	 * @return true if the page is saved
+	 */
+	boolean save() {
+		if (!dirty)
+			return true;
+
+		if (metricsFile == null || page == null)
+			return false;
+
+		try {
+			StringBuilder sb = new StringBuilder();
+			BitmapFontData d = getData();
+
+			sb.append(HEADER).append(' ').append(ttf.length()).append(' ').append(size).append(' ')
+					.append(PAGE_SIZE).append('\n');
+			sb.append(d.lineHeight).append(' ').append(d.capHeight).append(' ').append(d.ascent).append(' ')
+					.append(d.descent).append(' ').append(d.down).append(' ').append(d.spaceWidth).append(' ')
+					.append(d.xHeight).append('\n');
+			sb.append(penX).append(' ').append(penY).append(' ').append(rowHeight).append('\n');
+
+			for (int page = 0; page < d.glyphs.length; page++) {
+				Glyph[] glyphs = d.glyphs[page];
+
+				if (glyphs == null)
+					continue;
+
+				for (int i = 0; i < glyphs.length; i++) {
+					Glyph g = glyphs[i];
+
+					if (g == null)
+						continue;
+
+					// Glyphs are stored by pages of characters
+					sb.append(page * glyphs.length + i).append(' ').append(g.srcX).append(' ').append(g.srcY).append(' ')
+							.append(g.width).append(' ').append(g.height).append(' ').append(g.xoffset).append(' ')
+							.append(g.yoffset).append(' ').append(g.xadvance).append('\n');
+				}
+			}
+
+			appendKerning(sb, d.glyphs);
+
+			PixmapIO.writeCIM(imageFile, page);
+			metricsFile.writeString(sb.toString(), false, "UTF-8");
+			dirty = false;
+			return true;
+		} catch (Exception e) {
+			Gdx.app.error("[GDX2DLib]", "Could not save the glyphs of " + ttf.path() + ": " + e.getMessage());
+			return false;
+		}
+	}
+
+	private static void appendKerning(StringBuilder sb, Glyph[][] pages) {
+		for (int p = 0; p < pages.length; p++) {
+			if (pages[p] == null)
+				continue;
+
+			for (int i = 0; i < pages[p].length; i++) {
+				Glyph g = pages[p][i];
+
+				if (g == null || g.kerning == null)
+					continue;
+
+				for (int kp = 0; kp < g.kerning.length; kp++) {
+					byte[] amounts = g.kerning[kp];
+
+					if (amounts == null)
+						continue;
+
+					for (int j = 0; j < amounts.length; j++) {
+						if (amounts[j] != 0) {
+							sb.append("k ").append(p * pages[p].length + i).append(' ')
+									.append(kp * amounts.length + j).append(' ').append(amounts[j]).append('\n');
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static boolean readMetrics(FileHandle metricsFile, FileHandle imageFile, FileHandle ttf, int size,
+			BitmapFontData data, int[] pen) {
+		if (metricsFile == null || !metricsFile.exists() || !imageFile.exists())
+			return false;
+
+		BufferedReader reader = new BufferedReader(metricsFile.reader("UTF-8"));
+
+		try {
+			String expected = HEADER + " " + ttf.length() + " " + size + " " + PAGE_SIZE;
+			if (!expected.equals(reader.readLine()))
+				return false;
+
+			String[] m = reader.readLine().split(" ");
+			data.lineHeight = Float.parseFloat(m[0]);
+			data.capHeight = Float.parseFloat(m[1]);
+			data.ascent = Float.parseFloat(m[2]);
+			data.descent = Float.parseFloat(m[3]);
+			data.down = Float.parseFloat(m[4]);
+			data.spaceWidth = Float.parseFloat(m[5]);
+			data.xHeight = Float.parseFloat(m[6]);
+
+			String[] p = reader.readLine().split(" ");
+			for (int i = 0; i < 3; i++)
+				pen[i] = Integer.parseInt(p[i]);
+
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] g = line.split(" ");
+
+				// Kerning, after all the glyphs
+				if (g[0].equals("k")) {
+					data.getGlyph((char) Integer.parseInt(g[1])).setKerning(Integer.parseInt(g[2]),
+							Integer.parseInt(g[3]));
+					continue;
+				}
+
+				Glyph glyph = new Glyph();
+				glyph.srcX = Integer.parseInt(g[1]);
+				glyph.srcY = Integer.parseInt(g[2]);
+				glyph.width = Integer.parseInt(g[3]);
+				glyph.height = Integer.parseInt(g[4]);
+				glyph.xoffset = Integer.parseInt(g[5]);
+				glyph.yoffset = Integer.parseInt(g[6]);
+				glyph.xadvance = Integer.parseInt(g[7]);
+				data.setGlyph(Integer.parseInt(g[0]), glyph);
+			}
+
+			return true;
+		} catch (Exception e) {
+			Gdx.app.error("[GDX2DLib]", "Ignoring the invalid glyph cache " + metricsFile.path());
+			Arrays.fill(data.glyphs, null);
+			return false;
+		} finally {
+			try {
+				reader.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	/************************************************************************
+	 * Drawing, the glyphs are rasterized first
+	 ************************************************************************/
+
+	@Override
+	public TextBounds draw(SpriteBatch spriteBatch, CharSequence str, float x, float y) {
+		ensureGlyphs(str, 0, str.length());
+		return super.draw(spriteBatch, str, x, y);
+	}
+
+	@Override
+	public TextBounds draw(SpriteBatch spriteBatch, CharSequence str, float x, float y, int start, int end) {
+		ensureGlyphs(str, start, end);
+		return super.draw(spriteBatch, str, x, y, start, end);
+	}
+
+	@Override
+	public TextBounds drawMultiLine(SpriteBatch spriteBatch, CharSequence str, float x, float y) {
+		ensureGlyphs(str, 0, str.length());
+		return super.drawMultiLine(spriteBatch, str, x, y);
+	}
+
+	@Override
+	public TextBounds drawMultiLine(SpriteBatch spriteBatch, CharSequence str, float x, float y,
+			float alignmentWidth, HAlignment alignment) {
+		ensureGlyphs(str, 0, str.length());
+		return super.drawMultiLine(spriteBatch, str, x, y, alignmentWidth, alignment);
+	}
+
+	@Override
+	public TextBounds drawWrapped(SpriteBatch spriteBatch, CharSequence str, float x, float y, float wrapWidth) {
+		ensureGlyphs(str, 0, str.length());
+		return super.drawWrapped(spriteBatch, str, x, y, wrapWidth);
+	}
+
+	@Override
+	public TextBounds drawWrapped(SpriteBatch spriteBatch, CharSequence str, float x, float y, float wrapWidth,
+			HAlignment alignment) {
+		ensureGlyphs(str, 0, str.length());
+		return super.drawWrapped(spriteBatch, str, x, y, wrapWidth, alignment);
+	}
+
+	@Override
+	public TextBounds getBounds(CharSequence str, int start, int end, TextBounds textBounds) {
+		ensureGlyphs(str, start, end);
+		return super.getBounds(str, start, end, textBounds);
+	}
+
+	@Override
+	public TextBounds getMultiLineBounds(CharSequence str, TextBounds textBounds) {
+		ensureGlyphs(str, 0, str.length());
+		return super.getMultiLineBounds(str, textBounds);
+	}
+
+	@Override
+	public TextBounds getWrappedBounds(CharSequence str, float wrapWidth, TextBounds textBounds) {
+		ensureGlyphs(str, 0, str.length());
+		return super.getWrappedBounds(str, wrapWidth, textBounds);
+	}
+
+	/**
+	 * Saves the glyphs and frees the font
+	 */
+	@Override
+	public void dispose() {
+		FontCache.remove(this);
+		free();
+	}
+
+	void free() {
+		save();
+
+		if (page != null) {
+			pageTexture.dispose();
+			page.dispose();
+			pageTexture = null;
+			page = null;
+		}
+
+		if (generator != null) {
+			generator.dispose();
+			FreeType.doneFace(face);
+			FreeType.doneFreeType(library);
+			generator = null;
+			face = null;
+			library = null;
+		}
+	}
+}
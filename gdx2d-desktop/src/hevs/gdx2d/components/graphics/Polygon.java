@@ -3,74 +3,354 @@ package hevs.gdx2d.components.graphics;
 import hevs.gdx2d.components.geometry.Vector2D;
 import hevs.gdx2d.lib.utils.Utils;
 
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
-
-
-import com.badlogic.gdx.math.EarClippingTriangulator;
-import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.MathUtils;
 
 /**
  * A polygon class for rendering stuff
- * TODO: implement {@link com.badlogic.gdx.math.Polygon} in order to be able to scale, translate and rotate the polygon
- * @author Nils Chatton (chn) 
+ * <p>
+ * The polygon is triangulated once, when created, into indices of its
+ * vertices. It can then be translated, rotated around its origin and scaled
+ * without being triangulated again: the transformed vertices are only
+ * computed when needed, after the transform has changed.
+ * <p>
+ * Note that in deferred mode, the polygon is drawn with the transform it has
+ * at the end of the frame.
+ *
+ * @author Nils Chatton (chn)
  */
 public class Polygon {
 
-	private float[] vertices;
-	private float[] triangulatedVertices;
-	public LinkedList<Vector2> vectorList;
-	private EarClippingTriangulator ect;
-	private List<Vector2> earClippedVertices;
-	private Vector2[] gdxpoints;	
-	
-	public Polygon(Vector2D[] points) {	
-		int j = 0;
+	// Vertices as given, x and y interleaved
+	private final float[] localVertices;
+
+	// Triangles, as indices of vertices
+	private final short[] triangles;
+
+	private final float[] worldVertices;
+	private final float[] triangulatedVertices;
+	private boolean dirty = true;
+	private boolean trianglesDirty = true;
+
+	private float x, y;
+	private float originX, originY;
+	private float rotation;
+	private float scaleX = 1, scaleY = 1;
+
+	public Polygon(Vector2D[] points) {
+		this(toVertices(points));
+	}
+
+	/**
+	 * @param vertices The x and y coordinates of the points, interleaved. The
+	 *            array is not copied.
+	 */
+	public Polygon(float[] vertices) {
 		Utils.callCheckExcludeGraphicRender();
-		
-		gdxpoints = new Vector2[points.length];
 
-		for (int i = 0; i < points.length; i++) {
-			gdxpoints[i] = new Vector2(points[i].x, points[i].y);
-		}
+		if (vertices.length < 6)
+			throw new IllegalArgumentException("A polygon needs at least 3 points");
+
+		if (vertices.length / 2 > Short.MAX_VALUE)
+			throw new IllegalArgumentException("Too many points for a polygon");
+
+		localVertices = vertices;
+		worldVertices = new float[vertices.length];
+		triangles = triangulate(vertices);
+		triangulatedVertices = new float[triangles.length * 2];
+	}
 
-		vectorList = new LinkedList<Vector2>(Arrays.asList(gdxpoints));
+	private static float[] toVertices(Vector2D[] points) {
+		float[] vertices = new float[points.length * 2];
 
-		vertices = new float[points.length * 2];
 		for (int i = 0; i < points.length; i++) {
 			vertices[2 * i] = points[i].x;
 			vertices[(2 * i) + 1] = points[i].y;
 		}
 
-		ect = new EarClippingTriangulator();
-		earClippedVertices = ect.computeTriangles(vectorList);
-		triangulatedVertices = new float[earClippedVertices.size() * 2];
-		
-		for (Vector2 v : earClippedVertices) {
-			triangulatedVertices[j++] = v.x;
-			triangulatedVertices[j++] = v.y;
-		}			
+		return vertices;
+	}
+
+	/************************************************************************
+	 * Triangulation
+	 ************************************************************************/
+
+	/**
+	 * Ear clipping triangulation of a simple polygon
+	 * @return The indices of the vertices of each triangle
+	 */
+	private static short[] triangulate(float[] v) {
+		final int n = v.length / 2;
+		final short[] result = new short[(n - 2) * 3];
+		int nResult = 0;
+
+		// Remaining vertices, counter-clockwise
+		final int[] remaining = new int[n];
+		final boolean ccw = area(v) >= 0;
+		for (int i = 0; i < n; i++)
+			remaining[i] = ccw ? i : n - 1 - i;
+
+		int count = n;
+		int i = 0;
+		int tries = 0;
+
+		while (count > 3) {
+			// No ear remains, which only happens with self-intersecting
+			// polygons: clip the first vertex which is not reflex
+			if (tries > count) {
+				for (int k = 0; k < count; k++) {
+					if (cross(v, remaining[(k + count - 1) % count], remaining[k], remaining[(k + 1) % count]) >= 0) {
+						i = k;
+						break;
+					}
+				}
+			}
+
+			final int prev = remaining[(i + count - 1) % count];
+			final int cur = remaining[i];
+			final int next = remaining[(i + 1) % count];
+
+			if (tries > count || isEar(v, remaining, count, prev, cur, next)) {
+				result[nResult++] = (short) prev;
+				result[nResult++] = (short) cur;
+				result[nResult++] = (short) next;
+
+				System.arraycopy(remaining, i + 1, remaining, i, count - i - 1);
+				count--;
+
+				// The neighbours of the clipped ear are the next candidates
+				i = (i + count - 1) % count;
+				tries = 0;
+			} else {
+				i = (i + 1) % count;
+				tries++;
+			}
+		}
+
+		result[nResult++] = (short) remaining[0];
+		result[nResult++] = (short) remaining[1];
+		result[nResult++] = (short) remaining[2];
+		return result;
+	}
+
+	private static float area(float[] v) {
+		float a = 0;
+
+		for (int i = 0, j = v.length - 2; i < v.length; j = i, i += 2)
+			a += v[j] * v[i + 1] - v[i] * v[j + 1];
+
+		return a / 2;
+	}
+
+	private static float cross(float[] v, int a, int b, int c) {
+		final float ax = v[2 * a], ay = v[2 * a + 1];
+		return (v[2 * b] - ax) * (v[2 * c + 1] - ay) - (v[2 * b + 1] - ay) * (v[2 * c] - ax);
+	}
+
+	private static boolean isEar(float[] v, int[] remaining, int count, int prev, int cur, int next) {
+		// Reflex or flat vertex
+		if (cross(v, prev, cur, next) <= 0)
+			return false;
+
+		// No other vertex may lie inside the ear
+		for (int k = 0; k < count; k++) {
+			final int p = remaining[k];
+
+			if (p == prev || p == cur || p == next)
+				continue;
+
+			if (cross(v, prev, cur, p) >= 0 && cross(v, cur, next, p) >= 0 && cross(v, next, prev, p) >= 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/************************************************************************
+	 * Transform
+	 ************************************************************************/
+
+	public void setPosition(float x, float y) {
+		this.x = x;
+		this.y = y;
+		dirty = true;
+	}
+
+	public void translate(float dx, float dy) {
+		x += dx;
+		y += dy;
+		dirty = true;
+	}
+
+	/**
+	 * Sets the point, in the polygon coordinates, around which it is rotated
+	 * and scaled
+	 */
+	public void setOrigin(float originX, float originY) {
+		this.originX = originX;
+		this.originY = originY;
+		dirty = true;
+	}
+
+	/**
+	 * @param degrees Counter-clockwise rotation
+	 */
+	public void setRotation(float degrees) {
+		rotation = degrees;
+		dirty = true;
+	}
+
+	public void rotate(float degrees) {
+		rotation += degrees;
+		dirty = true;
+	}
+
+	public void setScale(float scaleX, float scaleY) {
+		this.scaleX = scaleX;
+		this.scaleY = scaleY;
+		dirty = true;
+	}
+
+	public void scale(float amount) {
+		scaleX += amount;
+		scaleY += amount;
+		dirty = true;
+	}
+
+	public float getX() {
+		return x;
+	}
+
+	public float getY() {
+		return y;
+	}
+
+	public float getRotation() {
+		return rotation;
+	}
+
+	public float getScaleX() {
+		return scaleX;
 	}
-	
+
+	public float getScaleY() {
+		return scaleY;
+	}
+
+	/**
+	 * Must be called when the array given to the constructor has been
+	 * modified. The polygon is not triangulated again.
+	 */
+	public void dirty() {
+		dirty = true;
+	}
+
+	/************************************************************************
+	 * Vertices
+	 ************************************************************************/
+
+	/**
+	 * @return The vertices as given when creating the polygon, without the
+	 *         transform
+	 */
 	public float[] getVertices() {
-		return vertices;
+		return localVertices;
+	}
+
+	/**
+	 * @return The vertices with the transform applied. The array is reused,
+	 *         do not modify it.
+	 */
+	public float[] getTransformedVertices() {
+		if (!dirty)
+			return worldVertices;
+
+		dirty = false;
+		trianglesDirty = true;
+
+		final float[] local = localVertices;
+		final float[] world = worldVertices;
+		final boolean scaled = scaleX != 1 || scaleY != 1;
+		final float cos = MathUtils.cosDeg(rotation);
+		final float sin = MathUtils.sinDeg(rotation);
+
+		for (int i = 0; i < local.length; i += 2) {
+			float px = local[i] - originX;
+			float py = local[i + 1] - originY;
+
+			if (scaled) {
+				px *= scaleX;
+				py *= scaleY;
+			}
+
+			if (rotation != 0) {
+				final float oldX = px;
+				px = cos * px - sin * py;
+				py = sin * oldX + cos * py;
+			}
+
+			world[i] = px + x + originX;
+			world[i + 1] = py + y + originY;
+		}
+
+		return world;
 	}
 
+	/**
+	 * @return The indices of the vertices of each triangle, three per triangle
+	 */
+	public short[] getTriangles() {
+		return triangles;
+	}
+
+	/**
+	 * @return The x and y coordinates of the vertices of each triangle, with
+	 *         the transform applied. The array is reused, do not modify it.
+	 */
 	public float[] getEarClippedVertices() {
+		final float[] world = getTransformedVertices();
+
+		if (trianglesDirty) {
+			trianglesDirty = false;
+
+			for (int i = 0, j = 0; i < triangles.length; i++) {
+				final int index = triangles[i] * 2;
+				triangulatedVertices[j++] = world[index];
+				triangulatedVertices[j++] = world[index + 1];
+			}
+		}
+
 		return triangulatedVertices;
 	}
 
 	/**
-	 * Check if a point is in the polygon. Use the math Intersector of Gdx.
-	 * 
+	 * Check if a point is in the (transformed) polygon.
+	 *
 	 * @param p
 	 *            point coordinates
 	 * @return true if the point is in the polygon
 	 */
 	public boolean contains(Vector2D p) {
-		boolean collides = Intersector.isPointInPolygon(vectorList,	new Vector2(p.x, p.y));
-		return collides;
+		return contains(p.x, p.y);
+	}
+
+	/**
+	 * Check if a point is in the (transformed) polygon, without any allocation
+	 * @return true if the point is in the polygon
+	 */
+	public boolean contains(float px, float py) {
+		final float[] v = getTransformedVertices();
+		boolean inside = false;
+
+		for (int i = 0, j = v.length - 2; i < v.length; j = i, i += 2) {
+			final float xi = v[i], yi = v[i + 1];
+			final float xj = v[j], yj = v[j + 1];
+
+			if ((yi < py && yj >= py || yj < py && yi >= py) && (xi <= px || xj <= px)) {
+				if (xi + (py - yi) / (yj - yi) * (xj - xi) < px)
+					inside = !inside;
+			}
+		}
+
+		return inside;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package hevs.gdx2d.components.graphics;
+
+import hevs.gdx2d.lib.GdxGraphics;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ImmediateModeRenderer20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Shapes whose vertices are computed once and kept on the GPU. Useful for
+ * static shapes (backgrounds, frames, terrain outlines...) which would
+ * otherwise be computed again every frame. Shapes are added with the
+ * {@code add} methods, then {@link #build()} creates the geometry, which is
+ * drawn with {@link GdxGraphics#drawShapeGeometry(ShapeGeometry, float, float, float, float)}
+ * in at most two draw calls (filled shapes, then lines).
+ * 
+ * @version 1.0
+ */
+public class ShapeGeometry implements Disposable {
+	// x, y, packed color
+	private static final int VERTEX_SIZE = 3;
+
+	// Shared by all the geometries
+	private static ShaderProgram shader;
+
+	private final FloatArray triangles = new FloatArray();
+	private final FloatArray lines = new FloatArray();
+	private float color = Color.WHITE.toFloatBits();
+
+	private Mesh mesh;
+	private int nTriangleVertices, nLineVertices;
+
+	/**
+	 * Sets the color of the next shapes
+	 * @param c
+	 */
+	public void setColor(Color c) {
+		color = c.toFloatBits();
+	}
+
+	/************************************************************************
+	 * Filled shapes
+	 ************************************************************************/
+	public void addTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		triangles.add(x1);
+		triangles.add(y1);
+		triangles.add(color);
+		triangles.add(x2);
+		triangles.add(y2);
+		triangles.add(color);
+		triangles.add(x3);
+		triangles.add(y3);
+		triangles.add(color);
+	}
+
+	/**
+	 * @param x Left of the rectangle
+	 * @param y Bottom of the rectangle
+	 * @param w
+	 * @param h
+	 */
+	public void addFilledRectangle(float x, float y, float w, float h) {
+		addTriangle(x, y, x + w, y, x + w, y + h);
+		addTriangle(x, y, x + w, y + h, x, y + h);
+	}
+
+	/**
+	 * @param centerX
+	 * @param centerY
+	 * @param radius
+	 * @param segments The number of segments of the outline
+	 */
+	public void addFilledCircle(float centerX, float centerY, float radius, int segments) {
+		float px = centerX + radius, py = centerY;
+
+		for (int i = 1; i <= segments; i++) {
+			float a = MathUtils.PI2 * i / segments;
+			float nx = centerX + radius * MathUtils.cos(a), ny = centerY + radius * MathUtils.sin(a);
+			addTriangle(centerX, centerY, px, py, nx, ny);
+			px = nx;
+			py = ny;
+		}
+	}
+
+	/**
+	 * @param p The polygon, using its triangulation
+	 */
+	public void addFilledPolygon(Polygon p) {
+		float[] v = p.getEarClippedVertices();
+
+		for (int i = 0; i < v.length; i += 6)
+			addTriangle(v[i], v[i + 1], v[i + 2], v[i + 3], v[i + 4], v[i + 5]);
+	}
+
+	/************************************************************************
+	 * Lines
+	 ************************************************************************/
+	public void addLine(float x1, float y1, float x2, float y2) {
+		lines.add(x1);
+		lines.add(y1);
+		lines.add(color);
+		lines.add(x2);
+		lines.add(y2);
+		lines.add(color);
+	}
+
+	/**
+	 * @param vertices x and y of the successive points
+	 * @param closed If true, the last point is linked to the first one
+	 */
+	public void addPolyline(float[] vertices, boolean closed) {
+		final int n = vertices.length;
+
+		for (int i = 0; i + 3 < n; i += 2)
+			addLine(vertices[i], vertices[i + 1], vertices[i + 2], vertices[i + 3]);
+
+		if (closed && n >= 4)
+			addLine(vertices[n - 2], vertices[n - 1], vertices[0], vertices[1]);
+	}
+
+	public void addRectangle(float x, float y, float w, float h) {
+		addLine(x, y, x + w, y);
+		addLine(x + w, y, x + w, y + h);
+		addLine(x + w, y + h, x, y + h);
+		addLine(x, y + h, x, y);
+	}
+
+	public void addCircle(float centerX, float centerY, float radius, int segments) {
+		float px = centerX + radius, py = centerY;
+
+		for (int i = 1; i <= segments; i++) {
+			float a = MathUtils.PI2 * i / segments;
+			float nx = centerX + radius * MathUtils.cos(a), ny = centerY + radius * MathUtils.sin(a);
+			addLine(px, py, nx, ny);
+			px = nx;
+			py = ny;
+		}
+	}
+
+	/**
+	 * @param p The outline of the polygon
+	 */
+	public void addPolygon(Polygon p) {
+		addPolyline(p.getTransformedVertices(), true);
+	}
+
+	/************************************************************************
+	 * Geometry
+	 ************************************************************************/
+
+	/**
+	 * Sends the shapes added so far to the GPU. The shapes can not be
+	 * modified afterwards, except by building the geometry again.
+	 */
+	public void build() {
+		if (mesh != null)
+			mesh.dispose();
+
+		nTriangleVertices = triangles.size / VERTEX_SIZE;
+		nLineVertices = lines.size / VERTEX_SIZE;
+
+		mesh = new Mesh(true, Math.max(1, nTriangleVertices + nLineVertices), 0,
+				new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+				new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+
+		float[] vertices = new float[triangles.size + lines.size];
+		System.arraycopy(triangles.items, 0, vertices, 0, triangles.size);
+		System.arraycopy(lines.items, 0, vertices, triangles.size, lines.size);
+		mesh.setVertices(vertices);
+
+		triangles.clear();
+		lines.clear();
+	}
+
+	/**
+	 * Draws the geometry, use {@link GdxGraphics#drawShapeGeometry} instead
+	 * @param projModelView The complete transform
+	 */
+	public void render(Matrix4 projModelView) {
+		if (mesh == null)
+			build();
+
+		if (shader == null)
+			shader = ImmediateModeRenderer20.createDefaultShader(false, true, 0);
+
+		shader.begin();
+		shader.setUniformMatrix("u_projModelView", projModelView);
+
+		if (nTriangleVertices > 0)
+			mesh.render(shader, GL10.GL_TRIANGLES, 0, nTriangleVertices);
+
+		if (nLineVertices > 0)
+			mesh.render(shader, GL10.GL_LINES, nTriangleVertices, nLineVertices);
+
+		shader.end();
+	}
+
+	/**
+	 * @return The number of vertices on the GPU
+	 */
+	public int getVertexCount() {
+		return nTriangleVertices + nLineVertices;
+	}
+
+	@Override
+	public void dispose() {
+		if (mesh != null) {
+			mesh.dispose();
+			mesh = null;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package hevs.gdx2d.components.graphics;
+
+import hevs.gdx2d.components.fonts.GlyphFont;
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.utils.TextUtils;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+
+/**
+ * A text whose glyphs are laid out once and kept in a
+ * {@link BitmapFontCache}. The layout is only done again when the text
+ * changes, moving the label or changing its color is cheap. Counters are
+ * formatted with {@link #setNumber(CharSequence, int)}, which does not create
+ * any object. Drawn with {@link GdxGraphics#drawText(TextLabel)}.
+ *
+ * @version 1.0
+ */
+public class TextLabel {
+	private final BitmapFontCache cache;
+	private final StringBuilder text = new StringBuilder();
+	private final StringBuilder scratch = new StringBuilder();
+	private float x, y;
+	private boolean fixed = false;
+
+	// Fonts whose glyphs are rasterized on demand
+	private final GlyphFont glyphFont;
+	private int generation;
+
+	public TextLabel(BitmapFont font) {
+		cache = new BitmapFontCache(font);
+		cache.setColor(font.getColor());
+		glyphFont = font instanceof GlyphFont ? (GlyphFont) font : null;
+	}
+
+	/**
+	 * @param font
+	 * @param str The text, on one or several lines
+	 * @param x Left of the text
+	 * @param y Top of the text
+	 */
+	public TextLabel(BitmapFont font, CharSequence str, float x, float y) {
+		this(font);
+		this.x = x;
+		this.y = y;
+		setText(str);
+	}
+
+	/**
+	 * Changes the text. Nothing is done when it is the same as the current one.
+	 * @param str
+	 */
+	public void setText(CharSequence str) {
+		if (equals(text, str))
+			return;
+
+		text.setLength(0);
+		text.append(str);
+		layout();
+	}
+
+	private void layout() {
+		if (glyphFont != null) {
+			glyphFont.ensureGlyphs(text, 0, text.length());
+			generation = glyphFont.getGeneration();
+		}
+
+		// Laid out at the origin, then moved
+		cache.setMultiLineText(text, 0, 0);
+		cache.setPosition(x, y);
+	}
+
+	/**
+	 * Sets the text to {@code prefix} followed by {@code value}
+	 */
+	public void setNumber(CharSequence prefix, int value) {
+		scratch.setLength(0);
+		scratch.append(prefix);
+		TextUtils.appendInt(scratch, value, 1);
+		setText(scratch);
+	}
+
+	/**
+	 * Sets the text to {@code prefix} followed by {@code value}, with
+	 * {@code decimals} decimals
+	 */
+	public void setNumber(CharSequence prefix, float value, int decimals) {
+		scratch.setLength(0);
+		scratch.append(prefix);
+		TextUtils.appendFloat(scratch, value, decimals);
+		setText(scratch);
+	}
+
+	private static boolean equals(CharSequence a, CharSequence b) {
+		final int n = a.length();
+
+		if (n != b.length())
+			return false;
+
+		for (int i = 0; i < n; i++) {
+			if (a.charAt(i) != b.charAt(i))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param x Left of the text
+	 * @param y Top of the text
+	 */
+	public void setPosition(float x, float y) {
+		this.x = x;
+		this.y = y;
+		cache.setPosition(x, y);
+	}
+
+	public void setColor(Color c) {
+		cache.setColor(c);
+	}
+
+	/**
+	 * @param fixed If true, the label is drawn in screen coordinates and
+	 *            does not move with the camera, e.g. for a HUD
+	 */
+	public void setFixed(boolean fixed) {
+		this.fixed = fixed;
+	}
+
+	public boolean isFixed() {
+		return fixed;
+	}
+
+	public CharSequence getText() {
+		return text;
+	}
+
+	public float getWidth() {
+		return cache.getBounds().width;
+	}
+
+	public float getHeight() {
+		return cache.getBounds().height;
+	}
+
+	/**
+	 * @return The glyphs, ready to be drawn
+	 */
+	public BitmapFontCache getCache() {
+		if (glyphFont != null) {
+			// Reads the page again if it has been evicted
+			glyphFont.ensureGlyphs(text, 0, text.length());
+
+			if (glyphFont.getGeneration() != generation)
+				layout();
+		}
+
+		return cache;
+	}
+}
@@ -0,0 +1,192 @@
+package hevs.gdx2d.components.graphics;
+
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.lib.GdxGraphics;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A grid of tiles (e.g. the ground of a level) drawn from a tile set image.
+ * The tiles are grouped in square chunks whose vertices are computed only
+ * once and kept in a {@link SpriteCache}. Each frame, only the chunks
+ * visible by the camera are drawn, so the cost depends on the size of the
+ * screen and not on the size of the level.
+ * 
+ * @version 1.0
+ */
+public class TileLayer implements Disposable {
+	/**
+	 * Value of the empty cells
+	 */
+	public static final int EMPTY = -1;
+
+	private final int columns, rows;
+	private final int[] tiles;
+	private final TextureRegion[] tileSet;
+	private final float tileWidth, tileHeight;
+	private final int chunkSize;
+	private final int chunkColumns, chunkRows;
+
+	// Position of the bottom left corner of the layer, in pixels
+	private final float x, y;
+
+	private SpriteCache cache;
+	private final int[] chunkIDs;
+	private final int[] visible;
+	private boolean dirty = true;
+	private int drawnChunks = 0;
+
+	/**
+	 * A layer with chunks of 32x32 tiles
+	 * @see #TileLayer(int[], int, int, BitmapImage, int, int, float, float, int)
+	 */
+	public TileLayer(int[] tiles, int columns, int rows, BitmapImage tileSet, int tileWidth, int tileHeight, float x, float y) {
+		this(tiles, columns, rows, tileSet, tileWidth, tileHeight, x, y, 32);
+	}
+
+	/**
+	 * @param tiles The index of the tile of each cell in the tile set, or
+	 *            {@link #EMPTY}. Row by row, starting with the bottom row.
+	 * @param columns The number of columns of the grid
+	 * @param rows The number of rows of the grid
+	 * @param tileSet An image containing the tiles, from left to right then
+	 *            top to bottom
+	 * @param tileWidth The size of a tile, in pixels
+	 * @param tileHeight
+	 * @param x The position of the bottom left corner of the layer, in pixels
+	 * @param y
+	 * @param chunkSize The number of tiles per side of a chunk
+	 */
+	public TileLayer(int[] tiles, int columns, int rows, BitmapImage tileSet, int tileWidth, int tileHeight, float x, float y, int chunkSize) {
+		if (tiles.length != columns * rows)
+			throw new IllegalArgumentException("The grid must contain columns * rows tiles");
+
+		this.tiles = tiles;
+		this.columns = columns;
+		this.rows = rows;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.x = x;
+		this.y = y;
+		this.chunkSize = chunkSize;
+
+		TextureRegion[][] split = tileSet.getRegion().split(tileWidth, tileHeight);
+		this.tileSet = new TextureRegion[split.length * split[0].length];
+		for (int i = 0; i < split.length; i++)
+			System.arraycopy(split[i], 0, this.tileSet, i * split[0].length, split[0].length);
+
+		chunkColumns = (columns + chunkSize - 1) / chunkSize;
+		chunkRows = (rows + chunkSize - 1) / chunkSize;
+		chunkIDs = new int[chunkColumns * chunkRows];
+		visible = new int[chunkIDs.length];
+	}
+
+	/**
+	 * @param column
+	 * @param row
+	 * @return The tile of a cell
+	 */
+	public int getTile(int column, int row) {
+		return tiles[row * columns + column];
+	}
+
+	/**
+	 * Changes the tile of a cell. The chunks are computed again before the
+	 * next draw, which is costly, avoid doing it every frame.
+	 * @param column
+	 * @param row
+	 * @param tile
+	 */
+	public void setTile(int column, int row, int tile) {
+		tiles[row * columns + column] = tile;
+		dirty = true;
+	}
+
+	/**
+	 * Draws the chunks visible by the camera of g
+	 * @param g
+	 */
+	public void draw(GdxGraphics g) {
+		if (dirty)
+			build();
+
+		final OrthographicCamera camera = g.getCamera();
+		final float w = camera.viewportWidth * camera.zoom, h = camera.viewportHeight * camera.zoom;
+		final float chunkWidth = chunkSize * tileWidth, chunkHeight = chunkSize * tileHeight;
+
+		final int cx0 = Math.max(0, MathUtils.floor((camera.position.x - w / 2 - x) / chunkWidth));
+		final int cx1 = Math.min(chunkColumns - 1, MathUtils.floor((camera.position.x + w / 2 - x) / chunkWidth));
+		final int cy0 = Math.max(0, MathUtils.floor((camera.position.y - h / 2 - y) / chunkHeight));
+		final int cy1 = Math.min(chunkRows - 1, MathUtils.floor((camera.position.y + h / 2 - y) / chunkHeight));
+
+		int n = 0;
+		for (int cy = cy0; cy <= cy1; cy++) {
+			for (int cx = cx0; cx <= cx1; cx++) {
+				int id = chunkIDs[cy * chunkColumns + cx];
+				if (id >= 0)
+					visible[n++] = id;
+			}
+		}
+
+		drawnChunks = n;
+		if (n > 0)
+			g.drawSpriteCache(cache, visible, n);
+	}
+
+	/**
+	 * @return The number of chunks drawn by the last {@link #draw(GdxGraphics)}
+	 */
+	public int getDrawnChunks() {
+		return drawnChunks;
+	}
+
+	/**
+	 * Computes the vertices of all the chunks
+	 */
+	private void build() {
+		int nTiles = 0;
+		for (int t : tiles) {
+			if (t != EMPTY)
+				nTiles++;
+		}
+
+		if (cache != null)
+			cache.dispose();
+		cache = new SpriteCache(Math.max(1, nTiles), false);
+
+		for (int cy = 0; cy < chunkRows; cy++) {
+			for (int cx = 0; cx < chunkColumns; cx++) {
+				boolean empty = true;
+				cache.beginCache();
+
+				for (int row = cy * chunkSize; row < Math.min(rows, (cy + 1) * chunkSize); row++) {
+					for (int col = cx * chunkSize; col < Math.min(columns, (cx + 1) * chunkSize); col++) {
+						int t = tiles[row * columns + col];
+						if (t != EMPTY) {
+							cache.add(tileSet[t], x + col * tileWidth, y + row * tileHeight, tileWidth, tileHeight);
+							empty = false;
+						}
+					}
+				}
+
+				int id = cache.endCache();
+				chunkIDs[cy * chunkColumns + cx] = empty ? -1 : id;
+			}
+		}
+
+		dirty = false;
+	}
+
+	@Override
+	public void dispose() {
+		if (cache != null) {
+			cache.dispose();
+			cache = null;
+		}
+		dirty = true;
+	}
+}
@@ -0,0 +1,232 @@
+package hevs.gdx2d.components.particles;
+
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.lib.GdxGraphics;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * A particle system for large numbers of short-lived particles (sparks,
+ * smoke...). Particles follow a simple ballistic motion (gravity and damping)
+ * without collisions, which is much cheaper than a physics body per particle.
+ * <p>
+ * The state of the particles is kept in arrays of floats and dead particles
+ * are recycled through a free list, so nothing is allocated after creation.
+ * All the particles are drawn with the same image, in a single batch.
+ * 
+ * @version 1.0
+ */
+public class ParticleEmitter {
+	// Number of floats per sprite in the sprite batch (4 vertices x, y, color, u, v)
+	private static final int SPRITE_SIZE = 20;
+
+	// Number of sprites sent at once to the sprite batch
+	private static final int CHUNK = 256;
+
+	private final int capacity;
+
+	// State of the particles, life <= 0 means the particle is dead
+	private final float[] x, y, vx, vy, age, life;
+
+	// Indices of the dead particles
+	private final int[] free;
+	private int nFree = 0;
+
+	// Particles above this index are all dead
+	private int highWater = 0;
+	private int count = 0;
+
+	private final float[] vertices = new float[CHUNK * SPRITE_SIZE];
+	private final BitmapImage image;
+
+	/**
+	 * Gravity, in pixels / s^2
+	 */
+	public float gravityX = 0, gravityY = -60f;
+
+	/**
+	 * Velocity lost per second, between 0 and 1
+	 */
+	public float damping = 0;
+
+	/**
+	 * The scale of the image of the particles
+	 */
+	public float scale = 1;
+
+	/**
+	 * If true, the particles are drawn with additive blending, which makes
+	 * overlapping particles brighter
+	 */
+	public boolean additive = true;
+
+	/**
+	 * Color of the particles, they fade out with age
+	 */
+	public final Color color = new Color(Color.WHITE);
+
+	/**
+	 * @param image The image of each particle
+	 * @param capacity The maximum number of particles alive at once
+	 */
+	public ParticleEmitter(BitmapImage image, int capacity) {
+		this.image = image;
+		this.capacity = capacity;
+		x = new float[capacity];
+		y = new float[capacity];
+		vx = new float[capacity];
+		vy = new float[capacity];
+		age = new float[capacity];
+		life = new float[capacity];
+		free = new int[capacity];
+	}
+
+	/**
+	 * Creates a new particle
+	 * @param posX Position, in pixels
+	 * @param posY
+	 * @param velX Velocity, in pixels / s
+	 * @param velY
+	 * @param lifeTime Life time of the particle, in seconds
+	 * @return False if there are already too many particles, or if the life
+	 *         time is not positive
+	 */
+	public boolean emit(float posX, float posY, float velX, float velY, float lifeTime) {
+		final int i;
+
+		// Would be dead at once, and never recycled
+		if (!(lifeTime > 0))
+			return false;
+
+		if (nFree > 0)
+			i = free[--nFree];
+		else if (highWater < capacity)
+			i = highWater;
+		else
+			return false;
+
+		if (i >= highWater)
+			highWater = i + 1;
+
+		x[i] = posX;
+		y[i] = posY;
+		vx[i] = velX;
+		vy[i] = velY;
+		age[i] = 0;
+		life[i] = lifeTime;
+		count++;
+		return true;
+	}
+
+	/**
+	 * Moves the particles and removes the dead ones
+	 * @param dt Elapsed time, in seconds
+	 */
+	public void update(float dt) {
+		final float gx = gravityX * dt, gy = gravityY * dt;
+		final float d = damping > 0 ? Math.max(0, 1 - damping * dt) : 1;
+
+		for (int i = 0; i < highWater; i++) {
+			if (life[i] <= 0)
+				continue;
+
+			age[i] += dt;
+
+			if (age[i] >= life[i]) {
+				life[i] = 0;
+				free[nFree++] = i;
+				count--;
+				continue;
+			}
+
+			vx[i] = (vx[i] + gx) * d;
+			vy[i] = (vy[i] + gy) * d;
+			x[i] += vx[i] * dt;
+			y[i] += vy[i] * dt;
+		}
+
+		// Forget the dead particles at the end, they are reused from the free list
+		while (highWater > 0 && life[highWater - 1] <= 0)
+			highWater--;
+	}
+
+	/**
+	 * Draws all the particles
+	 * @param g
+	 */
+	public void render(GdxGraphics g) {
+		if (count == 0)
+			return;
+
+		// Commands drawn before must not be drawn with the blending of the particles
+		g.flushDeferred();
+
+		final SpriteBatch batch = g.spriteBatch;
+		final TextureRegion region = image.getRegion();
+		final Texture texture = region.getTexture();
+		final float u = region.getU(), v = region.getV2(), u2 = region.getU2(), v2 = region.getV();
+		final float w = region.getRegionWidth() * scale, h = region.getRegionHeight() * scale;
+		final float hw = w / 2, hh = h / 2;
+		final float r = color.r, gr = color.g, b = color.b, a = color.a;
+
+		if (additive)
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+
+		int n = 0;
+		for (int i = 0; i < highWater; i++) {
+			if (life[i] <= 0)
+				continue;
+
+			final float x1 = x[i] - hw, y1 = y[i] - hh, x2 = x1 + w, y2 = y1 + h;
+			final float c = Color.toFloatBits(r, gr, b, a * (1 - age[i] / life[i]));
+			final float[] vert = vertices;
+			int k = n * SPRITE_SIZE;
+
+			vert[k++] = x1; vert[k++] = y1; vert[k++] = c; vert[k++] = u; vert[k++] = v;
+			vert[k++] = x1; vert[k++] = y2; vert[k++] = c; vert[k++] = u; vert[k++] = v2;
+			vert[k++] = x2; vert[k++] = y2; vert[k++] = c; vert[k++] = u2; vert[k++] = v2;
+			vert[k++] = x2; vert[k++] = y1; vert[k++] = c; vert[k++] = u2; vert[k] = v;
+
+			if (++n == CHUNK) {
+				g.drawSprites(texture, vertices, 0, n * SPRITE_SIZE);
+				n = 0;
+			}
+		}
+
+		if (n > 0)
+			g.drawSprites(texture, vertices, 0, n * SPRITE_SIZE);
+
+		if (additive)
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+	}
+
+	/**
+	 * Removes all the particles
+	 */
+	public void clear() {
+		for (int i = 0; i < highWater; i++)
+			life[i] = 0;
+
+		nFree = 0;
+		highWater = 0;
+		count = 0;
+	}
+
+	/**
+	 * @return The number of particles alive
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return The maximum number of particles alive at once
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+}
@@ -1,6 +1,7 @@
 package hevs.gdx2d.components.physics;
 
 import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Shape.Type;
@@ -25,4 +26,11 @@ public class PhysicsBox extends AbstractPhysicsObject {
 		super(Type.Polygon, name, position, width, height, density, restitution, friction, true);
 	}	
 	
+	/**
+	 * A box simulated in a given world
+	 */
+	public PhysicsBox(PhysicsWorld world, String name, Vector2 position, float width, float height, float density, float restitution, float friction, float angle) {
+		super(world, Type.Polygon, name, position, width, height, density, restitution, friction, angle, true);
+	}
+	
 }
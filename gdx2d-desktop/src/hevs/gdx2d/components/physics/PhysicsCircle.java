@@ -1,6 +1,7 @@
 package hevs.gdx2d.components.physics;
 
 import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Shape.Type;
@@ -19,4 +20,11 @@ public class PhysicsCircle extends AbstractPhysicsObject{
 	public PhysicsCircle(String name, Vector2 position, float radius, float density, float restitution, float friction) {
 		super(Type.Circle, name, position, radius, radius, density, restitution, friction, true);					
 	}
+	
+	/**
+	 * A circle simulated in a given world
+	 */
+	public PhysicsCircle(PhysicsWorld world, String name, Vector2 position, float radius, float density, float restitution, float friction) {
+		super(world, Type.Circle, name, position, radius, radius, density, restitution, friction, 0, true);
+	}
 }
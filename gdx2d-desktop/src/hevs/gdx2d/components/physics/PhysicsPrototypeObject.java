@@ -0,0 +1,25 @@
+package hevs.gdx2d.components.physics;
+
+import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
+import hevs.gdx2d.lib.physics.BodyPrototype;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * A body created by a {@link BodyPrototype}, so that it takes part in the
+ * collisions, queries and activity management like the other objects. See
+ * {@link AbstractPhysicsObject}
+ * @version 1.0
+ */
+public class PhysicsPrototypeObject extends AbstractPhysicsObject {
+
+	/**
+	 * @param world The world of the body
+	 * @param name
+	 * @param body A body with at least one fixture
+	 */
+	public PhysicsPrototypeObject(PhysicsWorld world, String name, Body body) {
+		super(world, name, body);
+	}
+}
@@ -1,6 +1,7 @@
 package hevs.gdx2d.components.physics;
 
 import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Shape.Type;
@@ -35,4 +36,17 @@ public class PhysicsStaticBox extends AbstractPhysicsObject {
 	public PhysicsStaticBox(String name, Vector2 position, float width, float height, float angle) {
 		super(Type.Polygon, name, position, width, height, angle, 0.1f, 0.3f, angle, false);
 	}
+	
+	/**
+	 * A static box in a given world
+	 * @param world
+	 * @param name
+	 * @param position
+	 * @param width
+	 * @param height
+	 * @param angle
+	 */
+	public PhysicsStaticBox(PhysicsWorld world, String name, Vector2 position, float width, float height, float angle) {
+		super(world, Type.Polygon, name, position, width, height, 20, 0.1f, 0.3f, angle, false);
+	}
 }
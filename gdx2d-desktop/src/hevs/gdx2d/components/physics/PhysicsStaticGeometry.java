@@ -0,0 +1,24 @@
+package hevs.gdx2d.components.physics;
+
+import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+import hevs.gdx2d.lib.physics.StaticGeometryBuilder;
+
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * The static geometry of a level, made of edges, built by a
+ * {@link StaticGeometryBuilder}. See {@link AbstractPhysicsObject}
+ * @version 1.0
+ */
+public class PhysicsStaticGeometry extends AbstractPhysicsObject {
+
+	/**
+	 * @param world The world of the body
+	 * @param name
+	 * @param body A static body with at least one fixture
+	 */
+	public PhysicsStaticGeometry(PhysicsWorld world, String name, Body body) {
+		super(world, name, body);
+	}
+}
@@ -19,8 +19,12 @@ public class PhysicsConstants {
 	// For conversions
 	public static float METERS_TO_PIXELS = 75;
 	public static float PIXEL_TO_METERS  = 1/METERS_TO_PIXELS;
+	// A faster simulation than real time, see PhysicsWorld.setTimeScale()
 	public static final int SPEEDUP = 2;
 	
+	// Maximum number of steps per update, beyond the simulation slows down
+	public static final int MAX_SUBSTEPS = 8;
+	
 	// Math constants
 	public static final float RAD_TO_DEG = (float)(180.0 / Math.PI);
 	public static final float DEG_TO_RAD = (float)(Math.PI / 180.0);
@@ -1,22 +1,36 @@
 package hevs.gdx2d.components.physics.utils;
 
-import hevs.gdx2d.components.physics.PhysicsStaticBox;
-
-import com.badlogic.gdx.math.Vector2;
+import hevs.gdx2d.components.physics.PhysicsStaticGeometry;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+import hevs.gdx2d.lib.physics.StaticGeometryBuilder;
 
 /**
  * Creates solid boundaries around the screen so everything will stay inside it for physics
- * simulation.
+ * simulation. The four sides are a single loop of edges.
  * 
  * @author Pierre-André Mudry (mui)
- * @version 1.0
+ * @version 1.1
  */
 public class PhysicsScreenBoundaries {
+	
+	/**
+	 * The object colliding with what touches the boundaries
+	 */
+	public final PhysicsStaticGeometry boundaries;
 
 	public PhysicsScreenBoundaries(float width, float height) {
-		new PhysicsStaticBox("ground", new Vector2(0, 0), width, .5f);
-		new PhysicsStaticBox("leftwall", new Vector2(0,0), .5f, height);
-		new PhysicsStaticBox("rightwall", new Vector2(width, 0), .5f, height);
-		new PhysicsStaticBox("ceiling", new Vector2(0,height), width, .5f);
+		this(PhysicsWorld.getDefault(), width, height);
+	}
+	
+	/**
+	 * Boundaries in a given world
+	 * @param world
+	 * @param width
+	 * @param height
+	 */
+	public PhysicsScreenBoundaries(PhysicsWorld world, float width, float height) {
+		boundaries = new StaticGeometryBuilder()
+			.addPolyline(new float[] { 0, 0, width, 0, width, height, 0, height }, true)
+			.build(world, "boundaries");
 	}
 }
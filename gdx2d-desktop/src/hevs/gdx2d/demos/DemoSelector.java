@@ -123,6 +123,7 @@ public class DemoSelector extends JFrame {
 
 		tests.put("Simple shapes", "simple.DemoSimpleShapes");
 		tests.put("Basic animation", "simple.DemoSimpleAnimation");
+		tests.put("Logic thread", "simple.DemoLogicThread");
 		tests.put("Image drawing", "image_drawing.DemoSimpleImage");
 		tests.put("Mirroring image", "image_drawing.DemoMirrorImage");
 		tests.put("Alpha transparency", "image_drawing.DemoAlphaImage");
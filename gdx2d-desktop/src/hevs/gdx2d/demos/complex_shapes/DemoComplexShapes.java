@@ -2,6 +2,7 @@ package hevs.gdx2d.demos.complex_shapes;
 
 import hevs.gdx2d.components.bitmaps.BitmapImage;
 import hevs.gdx2d.components.colors.PaletteGenerator;
+import hevs.gdx2d.lib.Game2D;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
 
@@ -28,7 +29,7 @@ public class DemoComplexShapes extends PortableApplication {
 	private float angle = 0;
 
 	private enum type_shape {
-		CIRCLE, IMAGE, RECT
+		CIRCLE, BORDERED_CIRCLE, IMAGE, RECT
 	};
 
 	private type_shape shape_type = type_shape.CIRCLE;
@@ -107,7 +108,7 @@ public class DemoComplexShapes extends PortableApplication {
 		for (int i = 0; i < shapes.size(); i++) {
 			final DrawableShape r = shapes.get(i);
 
-			if (r.x > screenWidth + imageBmp.getImage().getWidth() / 2 || r.x < 0) {
+			if (r.x > screenWidth + imageBmp.getWidth() / 2 || r.x < 0) {
 				int val = directions.get(i);
 				directions.setElementAt(-val, i);
 			}
@@ -123,6 +124,12 @@ public class DemoComplexShapes extends PortableApplication {
 				g.drawFilledCircle(i.x, i.y, i.width, i.c);
 			}
 			break;
+		case BORDERED_CIRCLE:
+			g.clear(Color.BLACK);
+			for (DrawableShape i : shapes){
+				g.drawFilledBorderedCircle(i.x, i.y, i.width, i.c, Color.WHITE);
+			}
+			break;
 		case IMAGE:
 			g.clear(new Color(0.9f, 0.9f, 0.9f, 1));
 			for (DrawableShape i : shapes)
@@ -149,6 +156,12 @@ public class DemoComplexShapes extends PortableApplication {
 			Gdx.app.log("[DemoComplexShapes]", "N shapes " + shapes.size());
 			break;
 
+		case Input.Keys.D:
+			// Compare the immediate and deferred rendering modes
+			Game2D.g.setDeferredRendering(!Game2D.g.isDeferredRendering());
+			Gdx.app.log("[DemoComplexShapes]", "Deferred rendering " + Game2D.g.isDeferredRendering());
+			break;
+			
 		case Input.Keys.MINUS:
 			if(shapes.size() > 100){
 				Gdx.app.log("[DemoComplexShapes]", "N shapes " + shapes.size());
@@ -164,6 +177,8 @@ public class DemoComplexShapes extends PortableApplication {
 	 */
 	public void onClick(int x, int y, int button) {
 		if (shape_type == type_shape.CIRCLE)
+			shape_type = type_shape.BORDERED_CIRCLE;
+		else if (shape_type == type_shape.BORDERED_CIRCLE)
 			shape_type = type_shape.RECT;
 		else if (shape_type == type_shape.RECT)
 			shape_type = type_shape.IMAGE;
@@ -1,5 +1,6 @@
 package hevs.gdx2d.demos.fonts;
 
+import hevs.gdx2d.components.fonts.FontCache;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
 
@@ -7,11 +8,11 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 
 /**
  * A demo that shows how to generate different fonts for 
- * rendering
+ * rendering. The glyphs are generated when first drawn and saved by the
+ * {@link FontCache}, the next starts only read them.
  * 
  * @author Pierre-Andre Mudry (mui)
  * @version 1.0
@@ -33,28 +34,21 @@ public class DemoFontGeneration extends PortableApplication{
 		FileHandle icePixelF = Gdx.files.internal("font/ice_pixel-7.ttf");
 		
 		/**
-		 * Generates the fonts images from the TTF file
+		 * Gets the fonts from the TTF files, their glyphs will be generated
+		 * when drawn
 		 */
-		FreeTypeFontGenerator generator = new FreeTypeFontGenerator(optimusF);
-		optimus40 = generator.generateFont(40);
+		optimus40 = FontCache.get(optimusF, 40);
 		optimus40.setColor(Color.BLUE);
-		optimus60 = generator.generateFont(60);
-		generator.dispose();
+		optimus60 = FontCache.get(optimusF, 60);
 		
-		generator = new FreeTypeFontGenerator(timelessF);
-		timeless40 = generator.generateFont(40);
+		timeless40 = FontCache.get(timelessF, 40);
 		timeless40.setColor(Color.RED);
-		generator.dispose();
 		
-		generator = new FreeTypeFontGenerator(starjediF);
-		starjedi40 = generator.generateFont(40);
+		starjedi40 = FontCache.get(starjediF, 40);
 		starjedi40.setColor(Color.GREEN);
-		generator.dispose();
 
-		generator = new FreeTypeFontGenerator(icePixelF);
-		int s = generator.scaleForPixelHeight(50);
-		icepixel40 = generator.generateFont(s);
-		generator.dispose();
+		// Size for a height of 50 pixels with this font
+		icepixel40 = FontCache.get(icePixelF, 49);
 	}
 	
 	@Override
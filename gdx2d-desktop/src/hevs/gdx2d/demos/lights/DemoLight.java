@@ -54,6 +54,9 @@ public class DemoLight extends PortableApplication {
 		height = Gdx.graphics.getHeight();
 		setTitle("Shadows and lights, mui 2013");
 		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
+		
 		Gdx.app.log("[DemoLights]", "Left click to create a new light");
 		Gdx.app.log("[DemoLights]", "Right click disables normal light");
 		
@@ -51,6 +51,9 @@ public class DemoRotateLight extends PortableApplication {
 	@Override
 	public void onInit() {
 		this.setTitle("Rotate light demo, mui 2013");
+		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
 		Gdx.app.log("[DemoLights]", "Left click to move the light source");
 		
 		world = PhysicsWorld.getInstance();				
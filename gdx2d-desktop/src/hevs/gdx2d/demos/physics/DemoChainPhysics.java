@@ -2,6 +2,7 @@ package hevs.gdx2d.demos.physics;
 
 import hevs.gdx2d.components.colors.Palette;
 import hevs.gdx2d.components.physics.PhysicsChain;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
 import hevs.gdx2d.lib.physics.PhysicsWorld;
@@ -41,6 +42,9 @@ public class DemoChainPhysics extends PortableApplication {
 	public void onInit() {
 		this.setTitle("Physics objects in well demo, mui 2013");
 		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
+		
 		Gdx.app.log("[DemoChainPhysics]", "Left click to generate balls");
 		Gdx.app.log("[DemoChainPhysics]", "Right click to generate random terrain");
 		Gdx.app.log("[DemoChainPhysics]", "Middle click to generate Catmull-Rom terrain");
@@ -2,6 +2,7 @@ package hevs.gdx2d.demos.physics;
 
 import hevs.gdx2d.components.bitmaps.BitmapImage;
 import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
@@ -41,6 +42,9 @@ public class DemoPhysicsBalls extends PortableApplication {
 	@Override
 	public void onInit() {			
 		setTitle("Physics demo with box2d, mui 2013");
+		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
 		hasAccelerometers = Gdx.input.isPeripheralAvailable(Peripheral.Accelerometer);
 		
 		world.setGravity(new Vector2(0, -10));
@@ -7,6 +7,7 @@ import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
+import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
 import hevs.gdx2d.lib.physics.DebugRenderer;
 import hevs.gdx2d.lib.physics.PhysicsWorld;
 
@@ -17,8 +18,6 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
-import com.badlogic.gdx.physics.box2d.Fixture;
-import com.badlogic.gdx.physics.box2d.QueryCallback;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.physics.box2d.joints.MouseJoint;
 import com.badlogic.gdx.physics.box2d.joints.MouseJointDef;
@@ -26,7 +25,7 @@ import com.badlogic.gdx.physics.box2d.joints.MouseJointDef;
 /** 
  * A demo on how to use the mouse to move objects with box2d 
  * @author Pierre-André Mudry, mui 2013
- * @version 1.1
+ * @version 1.2
  */
 public class DemoPhysicsMouse extends PortableApplication {
 	World world = PhysicsWorld.getInstance();
@@ -45,6 +44,9 @@ public class DemoPhysicsMouse extends PortableApplication {
 	@Override
 	public void onInit() {
 		setTitle("Mouse interactions in box2d, mui 2013");
+		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
 
 		// we also need an invisible zero size ground body
 		// to which we can connect the mouse joint
@@ -89,11 +91,12 @@ public class DemoPhysicsMouse extends PortableApplication {
 	protected MouseJoint mouseJoint = null;
 
 	/**
-	 * we instantiate this vector and the callback here so we don't irritate the
+	 * we instantiate these vectors and the array here so we don't irritate the
 	 * GC
 	 **/
 	Vector2 testPoint = new Vector2();
 	Vector2 target = new Vector2();
+	AbstractPhysicsObject[] picked = new AbstractPhysicsObject[1];
 
 	@Override
 	public void onDrag(int x, int y) {		
@@ -115,32 +118,15 @@ public class DemoPhysicsMouse extends PortableApplication {
 		}
 	}
 
-	// Called for AABB lookup
-	QueryCallback callback = new QueryCallback() {
-		@Override
-		public boolean reportFixture(Fixture fixture) {
-			// if the hit point is inside the fixture of the body we report it
-			if (fixture.testPoint(testPoint.x, testPoint.y)) {
-				hitBody = fixture.getBody();
-				return false;
-			} else
-				return true;
-		}
-	};
-
 	public void onClick(int x, int y, int button) {
 		// translate the mouse coordinates to world coordinates
-		// cam.unproject(testPoint.set(x, y, 0));
-		testPoint.x = x;
-		testPoint.y = y;
-		
-		testPoint.scl(PhysicsConstants.PIXEL_TO_METERS);
+		testPoint.set(x, y).scl(PhysicsConstants.PIXEL_TO_METERS);
 		
-		// ask the world which bodies are within the given
-		// bounding box around the mouse pointer
+		// ask the world which object is under the mouse pointer
 		hitBody = null;
 
-		world.QueryAABB(callback, testPoint.x - 5, testPoint.y - 5, testPoint.x + 5, testPoint.y + 5);		
+		if (PhysicsWorld.getDefault().queryPoint(x, y, picked) > 0)
+			hitBody = picked[0].getBody();
 		
 		// ignore kinematic bodies, they don't work with the mouse joint
 		if (hitBody == null || hitBody.getType() == BodyType.KinematicBody)
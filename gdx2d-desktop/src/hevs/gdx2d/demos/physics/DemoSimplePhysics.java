@@ -3,6 +3,7 @@ package hevs.gdx2d.demos.physics;
 import hevs.gdx2d.components.physics.PhysicsBox;
 import hevs.gdx2d.components.physics.PhysicsCircle;
 import hevs.gdx2d.components.physics.PhysicsStaticBox;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
@@ -35,6 +36,9 @@ public class DemoSimplePhysics extends PortableApplication{
 	public void onInit() {
 		setTitle("Simple physics simulation, mui 2013");					
 		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
+		
 		int w = getWindowWidth(), h = getWindowHeight();
 		
 		// Build the walls around the screen
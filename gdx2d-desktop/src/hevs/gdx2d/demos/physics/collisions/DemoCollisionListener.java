@@ -1,5 +1,6 @@
 package hevs.gdx2d.demos.physics.collisions;
 
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
@@ -29,6 +30,9 @@ public class DemoCollisionListener extends PortableApplication{
 		dbgRenderer = new DebugRenderer();
 		setTitle("Collision demo for box2d, mui 2013");
 		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
+		
 		new PhysicsScreenBoundaries(getWindowWidth(), getWindowHeight());
 		
 		// A BumpyBall has redefined its collision method.
@@ -1,42 +1,40 @@
 package hevs.gdx2d.demos.physics.particle;
 
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.components.particles.ParticleEmitter;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
-import hevs.gdx2d.lib.physics.DebugRenderer;
-import hevs.gdx2d.lib.physics.PhysicsWorld;
 
-import java.util.Iterator;
 import java.util.Random;
-import java.util.Vector;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.Body;
-import com.badlogic.gdx.physics.box2d.World;
 
 /**
  * Demo for particle physics. There are no collisions in the physics and
- * no boundaries.
+ * no boundaries, so the particles are simulated by a
+ * {@link ParticleEmitter} instead of physics bodies.
  * 
  * @author Pierre-Andre Mudry (mui)
- * @version 1.1
+ * @version 1.2
  */
 public class DemoParticlePhysics extends PortableApplication {
-	DebugRenderer dbgRenderer;
-	World world = PhysicsWorld.getInstance();
+	ParticleEmitter emitter;
 
 	// Particle creation related
 	boolean mouseActive = false;
 	public int CREATION_RATE = 3;
 	public final int MAX_AGE = 35;
+	public static final int MAX_PARTICLES = 60000;
 	Vector2 position;
 
 	@Override
 	public void onInit() {
 		setTitle("Particle physics, mui 2013");
-		dbgRenderer = new DebugRenderer();
-		world.setGravity(new Vector2(0,-0.6f));
+		emitter = new ParticleEmitter(new BitmapImage("data/images/texture.png"), MAX_PARTICLES);
+		emitter.color.set(.5f, 0.7f, 0.9f, 1.0f);
+		emitter.gravityY = -60;
 		Gdx.app.log("[DemoParticlePhysics]", "Click on screen to create particles");
 		Gdx.app.log("[DemoParticlePhysics]", "a/s change the creation rate of particles");
 	}
@@ -45,36 +43,12 @@ public class DemoParticlePhysics extends PortableApplication {
 	public void onGraphicRender(GdxGraphics g) {
 		g.clear();
  
-		Vector<Particle> toBeRemoved = new Vector<Particle>();
-		Iterator<Body> it = world.getBodies();
-
-		while (it.hasNext()) {
-			Body p = it.next();
-
-			if (p.getUserData() instanceof Particle) {
-				Particle particle = (Particle) p.getUserData();
-				particle.step();
-				particle.render(g);
-
-				if(particle.shouldbeDestroyed()){
-					toBeRemoved.add(particle);
-				}
-			}
-		}
-
-		// Destroy the particles from the world
-		for (Particle particle : toBeRemoved) {
-			particle.destroy();
-		}
-
-		// Remove the particles that shall be destroyed
-		toBeRemoved.clear();
-
 		if (mouseActive){
 			createParticles();			
 		}
-			
-		PhysicsWorld.updatePhysics(Gdx.graphics.getDeltaTime());
+		
+		emitter.update(Gdx.graphics.getDeltaTime());
+		emitter.render(g);
 		
 		g.drawSchoolLogo();
 		g.drawFPS();
@@ -84,13 +58,11 @@ public class DemoParticlePhysics extends PortableApplication {
 	
 	void createParticles() {				
 		for(int i = 0; i < CREATION_RATE; i++){
-			Particle c = new Particle(position, 5, MAX_AGE + rand.nextInt(MAX_AGE / 2));
-			
-			// Apply a vertical force with some random horizontal component
-			Vector2 force = new Vector2();			
-			force.x = rand.nextFloat() * 0.00095f * (rand.nextBoolean() == true ? -1 : 1);
-			force.y = rand.nextFloat() * 0.00095f * (rand.nextBoolean() == true ? -1 : 1);
-			c.applyBodyLinearImpulse(force, position, true);
+			// A random velocity, and a life time in frames at 60 fps
+			float vx = (rand.nextFloat() * 2 - 1) * 150f;
+			float vy = (rand.nextFloat() * 2 - 1) * 150f;
+			float life = (MAX_AGE + rand.nextInt(MAX_AGE / 2)) / 60f;
+			emitter.emit(position.x, position.y, vx, vy, life);
 		}
 	}
 	
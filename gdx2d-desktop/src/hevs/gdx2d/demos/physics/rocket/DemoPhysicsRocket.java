@@ -1,6 +1,7 @@
 package hevs.gdx2d.demos.physics.rocket;
 
 import hevs.gdx2d.components.physics.PhysicsStaticBox;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
@@ -32,6 +33,9 @@ public class DemoPhysicsRocket extends PortableApplication {
 	@Override
 	public void onInit() {
 		Logger.log("Use the arrows to move the spaceship");
+		
+		// Tuned for a simulation twice as fast as real time
+		PhysicsWorld.getDefault().setTimeScale(PhysicsConstants.SPEEDUP);
 
 		// No gravity in this world
 		world.setGravity(new Vector2(0, 0));
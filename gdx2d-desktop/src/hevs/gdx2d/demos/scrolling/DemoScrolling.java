@@ -1,5 +1,7 @@
 package hevs.gdx2d.demos.scrolling;
 
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.components.graphics.TileLayer;
 import hevs.gdx2d.demos.scrolling.objects.Brick;
 import hevs.gdx2d.demos.scrolling.objects.Cloud;
 import hevs.gdx2d.demos.scrolling.objects.Coin;
@@ -7,26 +9,29 @@ import hevs.gdx2d.demos.scrolling.objects.Pipe;
 import hevs.gdx2d.demos.scrolling.objects.Sky;
 import hevs.gdx2d.lib.GdxGraphics;
 import hevs.gdx2d.lib.PortableApplication;
+import hevs.gdx2d.lib.Scene;
 import hevs.gdx2d.lib.interfaces.DrawableObject;
 
-import java.util.Vector;
-
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 
 /**
  * Demonstrates how to scroll and zoom on a scene. 
  * Also demonstrates how to delegate render to other
- * objects through the {@link DrawableObject} interface.
+ * objects through the {@link DrawableObject} interface. Only the objects
+ * visible by the camera are drawn, thanks to the {@link Scene}. The ground
+ * is a {@link TileLayer}.
  * 
  * TODO still stutters... Idea : use tweening or interpolator
  * for translation
  * @author Pierre-André Mudry (mui)
- * @version 1.01 
+ * @version 1.1 
  */
 public class DemoScrolling extends PortableApplication {
 	
-	Vector<DrawableObject> toDraw = new Vector<DrawableObject>(); 	
+	Scene toDraw = new Scene(); 	
+	Sky sky;
+	TileLayer ground;
 	
 	// Default zoom factor
 	double zoom = 1.0;
@@ -38,30 +43,38 @@ public class DemoScrolling extends PortableApplication {
 	public void onInit() {		
 		setTitle("Scrolling demo, mui 2013");
 		
-		toDraw.add(new Sky());
+		// The sky follows the camera, it is always drawn
+		sky = new Sky();
 		
 		// Some pipe for a nice 'Mario' like atmosphere
-		toDraw.add(new Pipe(100, 60));
-		toDraw.add(new Pipe(600, 80));
+		add(new Pipe(100, 60), 100, 60, Pipe.img);
+		add(new Pipe(600, 80), 600, 80, Pipe.img);
 
-		// First layer (bottom)
-		for(int i = 0; i < 25; i++){
-			toDraw.add(new Brick(-500+64*i, 20));
-		}
+		// First layer (bottom), a row of 25 bricks centered from x = -500
+		int[] bricks = new int[25];
+		ground = new TileLayer(bricks, 25, 1, Brick.img, Brick.img.getWidth(), Brick.img.getHeight(),
+				-500 - Brick.img.getWidth() / 2, 20 - Brick.img.getHeight() / 2);
 		
 		// Coins
 		for(int i = 0; i < 5; i++){
-			toDraw.add(new Coin(250+64*i, 120));
+			add(new Coin(250+64*i, 120), 250+64*i, 120, Coin.img);
 		}
 			
 		// Some clouds
-		toDraw.add(new Cloud(100, 450));			
-		toDraw.add(new Cloud(250, 600));
-		toDraw.add(new Cloud(450, 250));
-		toDraw.add(new Cloud(700, 350));
-		toDraw.add(new Cloud(1000, 370));			
+		add(new Cloud(100, 450), 100, 450, Cloud.cloudImage);			
+		add(new Cloud(250, 600), 250, 600, Cloud.cloudImage);
+		add(new Cloud(450, 250), 450, 250, Cloud.cloudImage);
+		add(new Cloud(700, 350), 700, 350, Cloud.cloudImage);
+		add(new Cloud(1000, 370), 1000, 370, Cloud.cloudImage);			
 	};
 	
+	/**
+	 * Adds an object drawn as an image centered on (x, y)
+	 */
+	void add(DrawableObject obj, int x, int y, BitmapImage img){
+		toDraw.add(obj, x - img.getWidth() / 2, y - img.getHeight() / 2, img.getWidth(), img.getHeight());
+	}
+	
 	float travelSpeed = 2f;
 	boolean scrolling = true;
 	
@@ -94,11 +107,10 @@ public class DemoScrolling extends PortableApplication {
 			g.scroll(travelSpeed, 0);				
 		}
 		
-		// 		
-		// Draw all objects
-		for(DrawableObject obj : toDraw){
-			obj.draw(g);
-		}
+		// Draw the visible objects
+		sky.draw(g);
+		toDraw.draw(g);
+		ground.draw(g);
 					
 		g.drawSchoolLogoUpperRight();		
 		g.drawFPS();
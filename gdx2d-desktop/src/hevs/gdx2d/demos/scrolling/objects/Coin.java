@@ -12,7 +12,7 @@ public class Coin implements DrawableObject {
 
 	int posx, posy;	
 	float scale = 0.4f, direction = 0.01f;	
-	static final BitmapImage img = new BitmapImage("data/images/retro-coin.png");
+	public static final BitmapImage img = new BitmapImage("data/images/retro-coin.png");
 	
 	public Coin(int x, int y){
 		posx = x;
@@ -0,0 +1,130 @@
+package hevs.gdx2d.demos.simple;
+
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.PortableApplication;
+import hevs.gdx2d.lib.SnapshotBuffer;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Balls moved by the game logic, on its own thread at 30 updates per second,
+ * and drawn at the frame rate by interpolating the positions published by the
+ * logic. Click to make every tenth update slow: the logic slows down, the
+ * rendering does not.
+ *
+ * @version 1.0
+ */
+public class DemoLogicThread extends PortableApplication {
+	static final int N_BALLS = 200;
+	static final int LOGIC_RATE = 30;
+	static final float RADIUS = 8;
+
+	/**
+	 * What the logic publishes, the positions before and after an update and
+	 * when that update started
+	 */
+	static class State {
+		final float[] previous = new float[2 * N_BALLS];
+		final float[] current = new float[2 * N_BALLS];
+		long tickTime;
+	}
+
+	final SnapshotBuffer<State> states = new SnapshotBuffer<State>(new State(), new State(), new State());
+
+	// Owned by the logic thread
+	final float[] positions = new float[2 * N_BALLS];
+	final float[] speeds = new float[2 * N_BALLS];
+	int width, height;
+	long updates = 0;
+
+	volatile boolean slowLogic = false;
+
+	public DemoLogicThread(boolean onAndroid) {
+		super(onAndroid);
+	}
+
+	@Override
+	public void onInit() {
+		setTitle("Logic on its own thread, mui 2013");
+		width = getWindowWidth();
+		height = getWindowHeight();
+
+		for (int i = 0; i < N_BALLS; i++) {
+			positions[2 * i] = MathUtils.random(RADIUS, width - RADIUS);
+			positions[2 * i + 1] = MathUtils.random(RADIUS, height - RADIUS);
+			speeds[2 * i] = MathUtils.random(-200f, 200f);
+			speeds[2 * i + 1] = MathUtils.random(-200f, 200f);
+		}
+
+		// The logic starts once the application is loaded, the balls are
+		// drawn where they are until its first update
+		final State s = states.getWriteBuffer();
+		System.arraycopy(positions, 0, s.previous, 0, positions.length);
+		System.arraycopy(positions, 0, s.current, 0, positions.length);
+		s.tickTime = System.nanoTime();
+		states.publish();
+
+		setLogicRate(LOGIC_RATE);
+	}
+
+	/**
+	 * Called on the logic thread
+	 */
+	@Override
+	public void onGameLogicUpdate() {
+		final State s = states.getWriteBuffer();
+		final float dt = 1f / LOGIC_RATE;
+
+		System.arraycopy(positions, 0, s.previous, 0, positions.length);
+
+		for (int i = 0; i < 2 * N_BALLS; i += 2) {
+			positions[i] += speeds[i] * dt;
+			positions[i + 1] += speeds[i + 1] * dt;
+
+			if (positions[i] < RADIUS || positions[i] > width - RADIUS)
+				speeds[i] = -speeds[i];
+			if (positions[i + 1] < RADIUS || positions[i + 1] > height - RADIUS)
+				speeds[i + 1] = -speeds[i + 1];
+		}
+
+		System.arraycopy(positions, 0, s.current, 0, positions.length);
+		s.tickTime = getLogicThread().getTickTime();
+		states.publish();
+
+		// Simulates a heavy update (path finding, AI...)
+		if (slowLogic && ++updates % 10 == 0) {
+			try {
+				Thread.sleep(150);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public void onGraphicRender(GdxGraphics g) {
+		g.clear();
+
+		final State s = states.getReadBuffer();
+		final float alpha = getLogicThread().getAlpha(s.tickTime);
+
+		for (int i = 0; i < 2 * N_BALLS; i += 2) {
+			float x = s.previous[i] + (s.current[i] - s.previous[i]) * alpha;
+			float y = s.previous[i + 1] + (s.current[i + 1] - s.previous[i + 1]) * alpha;
+			g.drawFilledCircle(x, y, RADIUS, Color.YELLOW);
+		}
+
+		g.drawString(10, height - 10, slowLogic ? "Slow logic (click to change)" : "Normal logic (click to change)");
+		g.drawFPS();
+	}
+
+	@Override
+	public void onClick(int x, int y, int button) {
+		slowLogic = !slowLogic;
+	}
+
+	public static void main(String[] args) {
+		new DemoLogicThread(false);
+	}
+}
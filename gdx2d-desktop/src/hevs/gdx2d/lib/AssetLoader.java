@@ -0,0 +1,207 @@
+package hevs.gdx2d.lib;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Loads the assets asynchronously while the application is initializing.
+ * Files are decoded on a pool of worker threads, then the OpenGL objects are
+ * created on the rendering thread, a few per frame, so that a loading screen
+ * can be displayed (see {@link PortableApplication#onLoadingRender}).
+ * <p>
+ * Outside of the loading phase, tasks are simply executed immediately.
+ * 
+ * @version 1.0
+ */
+public class AssetLoader {
+
+	/**
+	 * An asset loaded in two steps
+	 */
+	public interface Task {
+		/**
+		 * Reads and decodes the asset, called on a worker thread. Must not
+		 * use OpenGL.
+		 */
+		void decode();
+
+		/**
+		 * Creates the OpenGL objects of the asset, called on the rendering
+		 * thread once decoded
+		 */
+		void upload();
+	}
+
+	private static class Job {
+		final Task task;
+		final Future<?> future;
+
+		Job(Task task, Future<?> future) {
+			this.task = task;
+			this.future = future;
+		}
+	}
+
+	private static ExecutorService pool;
+	private static final Array<Job> jobs = new Array<Job>();
+	private static boolean loading = false;
+
+	// Jobs are uploaded in the order they were submitted
+	private static int uploaded = 0;
+
+	// Exists only to defeat normal instantiation
+	private AssetLoader() {
+	}
+
+	/**
+	 * Starts the loading phase, tasks submitted afterwards are decoded in
+	 * parallel
+	 */
+	public static void begin() {
+		loading = true;
+	}
+
+	/**
+	 * @return True during the loading phase
+	 */
+	public static boolean isLoading() {
+		return loading;
+	}
+
+	/**
+	 * Submits an asset to be loaded
+	 * @param task
+	 * @return The decoding of the task, to be waited for with
+	 *         {@link #await(Future)}. Null when the task has been executed
+	 *         immediately.
+	 */
+	public static Future<?> submit(final Task task) {
+		if (!loading) {
+			task.decode();
+			task.upload();
+			return null;
+		}
+
+		Future<?> f = getPool().submit(new Runnable() {
+			@Override
+			public void run() {
+				task.decode();
+			}
+		});
+		jobs.add(new Job(task, f));
+		return f;
+	}
+
+	/**
+	 * Waits until a task is decoded
+	 * @param decoding As returned by {@link #submit(Task)}, may be null
+	 */
+	public static void await(Future<?> decoding) {
+		if (decoding == null)
+			return;
+
+		try {
+			decoding.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new GdxRuntimeException("Error while loading asset", e.getCause());
+		}
+	}
+
+	/**
+	 * Uploads the decoded tasks, called by {@link Game2D} each frame during
+	 * the loading phase
+	 * @param maxUploads The maximum number of tasks uploaded
+	 * @return True when all the tasks have been uploaded
+	 */
+	public static boolean update(int maxUploads) {
+		int n = 0;
+
+		while (uploaded < jobs.size && n < maxUploads) {
+			Job job = jobs.get(uploaded);
+
+			if (!job.future.isDone())
+				break;
+
+			await(job.future);
+			job.task.upload();
+			uploaded++;
+			n++;
+		}
+
+		return uploaded == jobs.size;
+	}
+
+	/**
+	 * @return The progress of the loading phase, between 0 and 1
+	 */
+	public static float getProgress() {
+		if (jobs.size == 0)
+			return 1;
+
+		int decoded = uploaded;
+		for (int i = uploaded; i < jobs.size; i++) {
+			if (jobs.get(i).future.isDone())
+				decoded++;
+		}
+
+		return (decoded + uploaded) / (2f * jobs.size);
+	}
+
+	/**
+	 * Waits for all the tasks and uploads them
+	 */
+	public static void finish() {
+		for (int i = uploaded; i < jobs.size; i++)
+			await(jobs.get(i).future);
+
+		update(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finishes the loading phase, tasks submitted afterwards are executed
+	 * immediately
+	 */
+	public static void end() {
+		finish();
+		jobs.clear();
+		uploaded = 0;
+		loading = false;
+	}
+
+	/**
+	 * Stops the worker threads
+	 */
+	public static void dispose() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+
+		jobs.clear();
+		uploaded = 0;
+		loading = false;
+	}
+
+	private static ExecutorService getPool() {
+		if (pool == null) {
+			int n = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			pool = Executors.newFixedThreadPool(n, new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "gdx2d loader");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+}
@@ -0,0 +1,185 @@
+package hevs.gdx2d.lib;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A central cache for the assets (images, sounds) indexed by their
+ * path. Loading twice the same file returns the same asset, which is
+ * reference counted. When an asset is not referenced anymore it stays in
+ * the cache until the memory used by the cache exceeds its budget, then the
+ * least recently used assets are disposed first.
+ * <p>
+ * Implements the singleton design pattern, like
+ * {@link hevs.gdx2d.lib.physics.PhysicsWorld}.
+ * 
+ * @version 1.0
+ */
+public class AssetRegistry {
+
+	/**
+	 * Loads an asset of a given kind
+	 */
+	public interface Loader<T extends Disposable> {
+		/**
+		 * @param path
+		 * @return The loaded asset
+		 */
+		T load(String path);
+
+		/**
+		 * @param path
+		 * @param asset
+		 * @return An estimation of the memory used by the asset, in bytes
+		 */
+		long size(String path, T asset);
+	}
+
+	private static class Entry {
+		final Disposable asset;
+		final long bytes;
+		int refs = 0;
+
+		Entry(Disposable asset, long bytes) {
+			this.asset = asset;
+			this.bytes = bytes;
+		}
+	}
+
+	// Iterates from the least recently used entry
+	private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+	private static long budget = 64 * 1024 * 1024;
+	private static long memory = 0;
+	private static int hits = 0, misses = 0;
+
+	// Exists only to defeat normal instantiation
+	private AssetRegistry() {
+	}
+
+	/**
+	 * Gets an asset, loading it if it is not in the cache. Each call must be
+	 * matched by a call to {@link #release(String, String)}.
+	 * @param kind The kind of asset (e.g. "image"), a path can be loaded as
+	 *            different kinds
+	 * @param path The path of the file
+	 * @param loader Used if the asset is not in the cache
+	 * @return The asset
+	 */
+	@SuppressWarnings("unchecked")
+	public static synchronized <T extends Disposable> T acquire(String kind, String path, Loader<T> loader) {
+		String key = kind + ":" + path;
+		Entry e = entries.get(key);
+
+		if (e == null) {
+			T asset = loader.load(path);
+			e = new Entry(asset, loader.size(path, asset));
+			entries.put(key, e);
+			memory += e.bytes;
+			misses++;
+		} else {
+			hits++;
+		}
+
+		e.refs++;
+		trim();
+		return (T) e.asset;
+	}
+
+	/**
+	 * Releases an asset obtained with
+	 * {@link #acquire(String, String, Loader)}. It is disposed once not
+	 * referenced anymore and if the cache is over budget.
+	 * @param kind
+	 * @param path
+	 */
+	public static synchronized void release(String kind, String path) {
+		Entry e = entries.get(kind + ":" + path);
+
+		if (e == null || e.refs == 0) {
+			Gdx.app.error("[GDX2DLib]", "Asset released too many times " + kind + ":" + path);
+			return;
+		}
+
+		e.refs--;
+		trim();
+	}
+
+	/**
+	 * Disposes the least recently used assets which are not referenced anymore
+	 * until the memory used is within the budget
+	 */
+	public static synchronized void trim() {
+		Iterator<Entry> it = entries.values().iterator();
+
+		while (memory > budget && it.hasNext()) {
+			Entry e = it.next();
+
+			if (e.refs == 0) {
+				e.asset.dispose();
+				memory -= e.bytes;
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Sets the memory budget of the cache. With a budget of 0, assets are
+	 * disposed as soon as they are not referenced anymore.
+	 * @param bytes
+	 */
+	public static synchronized void setBudget(long bytes) {
+		budget = bytes;
+		trim();
+	}
+
+	/**
+	 * @return The memory budget of the cache, in bytes
+	 */
+	public static synchronized long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * @return The estimated memory used by the cached assets, in bytes
+	 */
+	public static synchronized long getMemoryUsed() {
+		return memory;
+	}
+
+	/**
+	 * @return The number of assets in the cache (referenced or not)
+	 */
+	public static synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return The number of requests served from the cache
+	 */
+	public static synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return The number of requests that required loading
+	 */
+	public static synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Disposes all the assets, referenced or not. Called when the application
+	 * terminates.
+	 */
+	public static synchronized void dispose() {
+		for (Entry e : entries.values())
+			e.asset.dispose();
+
+		entries.clear();
+		memory = 0;
+	}
+}
@@ -0,0 +1,136 @@
+package hevs.gdx2d.lib;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Storage for the draw commands recorded by {@link GdxGraphics} in deferred
+ * mode. The commands are kept in parallel arrays which are reused from one
+ * frame to the next, so recording does not allocate once the queue has grown
+ * to its working size.
+ * <p>
+ * {@link #sort()} orders the commands by layer, then by rendering mode, then
+ * by texture. The sort is stable, so commands sharing the same layer, mode
+ * and texture are drawn in the order they were issued.
+ * 
+ * @version 1.0
+ */
+class DrawQueue {
+	static final int PARAMS = 7;
+
+	// Bits of the sort key, from the most significant
+	private static final int LAYER_SHIFT = 47;
+	private static final int MODE_SHIFT = 44;
+	private static final int TEXTURE_SHIFT = 32;
+	private static final int MAX_TEXTURES = 0xfff;
+
+	int size = 0;
+	int[] types = new int[64];
+	int[] modes = new int[64];
+	int[] layers = new int[64];
+	float[] params = new float[64 * PARAMS];
+	Color[] colors = new Color[64];
+	Object[] refs = new Object[64];
+	CharSequence[] texts = new CharSequence[64];
+	Texture[] textures = new Texture[64];
+
+	private long[] keys = new long[64];
+	private final ObjectIntMap<Texture> textureSlots = new ObjectIntMap<Texture>();
+
+	/**
+	 * Appends a command
+	 * @return The index of the command, for setting its parameters
+	 */
+	int add(int type, int mode, int layer, Texture texture, Color color, Object ref, CharSequence text) {
+		if (size == types.length)
+			grow();
+
+		int i = size++;
+		types[i] = type;
+		modes[i] = mode;
+		layers[i] = layer;
+		textures[i] = texture;
+		refs[i] = ref;
+		texts[i] = text;
+
+		if (colors[i] == null)
+			colors[i] = new Color();
+		colors[i].set(color);
+		return i;
+	}
+
+	void setParams(int i, float p0, float p1, float p2, float p3, float p4, float p5, float p6) {
+		int o = i * PARAMS;
+		params[o] = p0;
+		params[o + 1] = p1;
+		params[o + 2] = p2;
+		params[o + 3] = p3;
+		params[o + 4] = p4;
+		params[o + 5] = p5;
+		params[o + 6] = p6;
+	}
+
+	float param(int i, int p) {
+		return params[i * PARAMS + p];
+	}
+
+	/**
+	 * Sorts the commands, use {@link #get(int)} to iterate in sorted order
+	 */
+	void sort() {
+		textureSlots.clear();
+
+		for (int i = 0; i < size; i++) {
+			long texSlot = 0;
+
+			if (textures[i] != null) {
+				texSlot = textureSlots.get(textures[i], -1);
+				if (texSlot < 0) {
+					texSlot = Math.min(textureSlots.size + 1, MAX_TEXTURES);
+					textureSlots.put(textures[i], (int) texSlot);
+				}
+			}
+
+			keys[i] = ((long) (layers[i] + Short.MAX_VALUE + 1) << LAYER_SHIFT) | ((long) modes[i] << MODE_SHIFT)
+					| (texSlot << TEXTURE_SHIFT) | i;
+		}
+
+		// The index in the lower bits makes the ordering stable
+		Arrays.sort(keys, 0, size);
+	}
+
+	/**
+	 * @param n
+	 * @return The index of the n-th command once sorted
+	 */
+	int get(int n) {
+		return (int) (keys[n] & 0xffffffffL);
+	}
+
+	/**
+	 * Empties the queue, keeping the allocated storage
+	 */
+	void clear() {
+		// Release the references so that they can be collected
+		Arrays.fill(refs, 0, size, null);
+		Arrays.fill(texts, 0, size, null);
+		Arrays.fill(textures, 0, size, null);
+		size = 0;
+	}
+
+	private void grow() {
+		int n = types.length * 2;
+		types = Arrays.copyOf(types, n);
+		modes = Arrays.copyOf(modes, n);
+		layers = Arrays.copyOf(layers, n);
+		params = Arrays.copyOf(params, n * PARAMS);
+		colors = Arrays.copyOf(colors, n);
+		refs = Arrays.copyOf(refs, n);
+		texts = Arrays.copyOf(texts, n);
+		textures = Arrays.copyOf(textures, n);
+		keys = Arrays.copyOf(keys, n);
+	}
+}
@@ -0,0 +1,380 @@
+package hevs.gdx2d.lib;
+
+import hevs.gdx2d.components.graphics.TextLabel;
+import hevs.gdx2d.lib.utils.TextUtils;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Measures the time spent in each phase of the frames: input dispatch, game
+ * logic, physics, drawing and batch flushes. The rest of the frame (buffer
+ * swap, waiting for the vertical synchronization...) is counted as
+ * {@link #OTHER}.
+ * <p>
+ * The times of the last frames are kept in ring buffers, from which the
+ * percentiles are computed, e.g. the 99th percentile shows the stalls that
+ * the mean frame rate hides. They can be shown as an overlay (see
+ * {@link #setOverlayVisible(boolean)}) and written to a CSV file when the
+ * application exits (see {@link #setCsvFile(String)}, or run with
+ * {@code -Dgdx2d.profile=profile.csv}).
+ * <p>
+ * {@link Game2D} times input, drawing, physics and flushes itself. The game
+ * logic is timed by surrounding it with {@code begin(FrameProfiler.LOGIC)}
+ * and {@code end(FrameProfiler.LOGIC)}. Phases can be nested, the time of the
+ * inner phase is not counted in the outer one. Only the rendering thread is
+ * timed, calls from other threads are ignored.
+ * <p>
+ * Implements the singleton design pattern, does nothing until enabled.
+ *
+ * @version 1.0
+ */
+public class FrameProfiler {
+	/**
+	 * Enables the profiler and gives the CSV file written on exit
+	 */
+	public static final String CSV_PROPERTY = "gdx2d.profile";
+
+	public static final int INPUT = 0;
+	public static final int LOGIC = 1;
+	public static final int PHYSICS = 2;
+	public static final int DRAW = 3;
+	public static final int FLUSH = 4;
+	public static final int OTHER = 5;
+	/** The whole frame */
+	public static final int FRAME = 6;
+
+	public static final String[] NAMES = { "input", "logic", "physics", "draw", "flush", "other", "frame" };
+
+	private static final int PHASES = FRAME;
+	private static final int MAX_DEPTH = 16;
+
+	private static final Color[] COLORS = { Color.CYAN, Color.GREEN, Color.ORANGE, Color.MAGENTA, Color.RED,
+			Color.GRAY };
+
+	private static boolean enabled = false;
+	private static boolean overlay = false;
+	private static String csvFile = null;
+	private static Thread thread = null;
+
+	// Nested phases being timed and when the current one started
+	private static final int[] stack = new int[MAX_DEPTH];
+	private static int depth = 0;
+	private static long phaseStart;
+
+	// Time spent in each phase during the current frame
+	private static final long[] current = new long[PHASES];
+	private static long frameStart = 0;
+
+	// Last frames, in milliseconds, one ring buffer per phase
+	private static int window = 600;
+	private static float[][] samples = new float[FRAME + 1][window];
+	private static int next = 0, count = 0;
+	private static long frames = 0;
+
+	// Sorted copy of the samples, for the percentiles
+	private static float[][] sorted = new float[FRAME + 1][window];
+	private static final long[] sortedAt = new long[FRAME + 1];
+
+	// Overlay labels, updated a few times per second
+	private static final int OVERLAY_PERIOD = 15;
+	private static TextLabel[] labels;
+	private static final StringBuilder text = new StringBuilder();
+
+	// Exists only to defeat normal instantiation
+	private FrameProfiler() {
+	}
+
+	/**
+	 * @param enabled If false, the timing methods return immediately
+	 */
+	public static void setEnabled(boolean enabled) {
+		FrameProfiler.enabled = enabled;
+		depth = 0;
+		frameStart = 0;
+		Arrays.fill(current, 0);
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param visible If true (and the profiler is enabled), {@link Game2D}
+	 *            draws the graph of the last frames on top of each frame
+	 */
+	public static void setOverlayVisible(boolean visible) {
+		overlay = visible;
+	}
+
+	public static boolean isOverlayVisible() {
+		return overlay && enabled;
+	}
+
+	/**
+	 * @param path The CSV file written with the percentiles when the
+	 *            application exits, null for none
+	 */
+	public static void setCsvFile(String path) {
+		csvFile = path;
+	}
+
+	/**
+	 * @param frames The number of frames kept for the percentiles
+	 */
+	public static void setWindow(int frames) {
+		window = frames;
+		samples = new float[FRAME + 1][frames];
+		sorted = new float[FRAME + 1][frames];
+		reset();
+	}
+
+	/**
+	 * Forgets the frames recorded so far
+	 */
+	public static void reset() {
+		next = 0;
+		count = 0;
+		Arrays.fill(sortedAt, -1);
+	}
+
+	/**
+	 * Enables the profiler if requested by the {@link #CSV_PROPERTY} system
+	 * property
+	 */
+	static void configure() {
+		String path = System.getProperty(CSV_PROPERTY);
+
+		if (path != null) {
+			setCsvFile(path);
+			setEnabled(true);
+		}
+	}
+
+	/************************************************************************
+	 * Timing
+	 ************************************************************************/
+
+	/**
+	 * Starts timing a phase, the phase being timed so far is suspended
+	 * @param phase One of the constants, e.g. {@link #LOGIC}
+	 */
+	public static void begin(int phase) {
+		if (!enabled || Thread.currentThread() != thread || depth == MAX_DEPTH)
+			return;
+
+		final long now = System.nanoTime();
+
+		if (depth > 0)
+			current[stack[depth - 1]] += now - phaseStart;
+
+		stack[depth++] = phase;
+		phaseStart = now;
+	}
+
+	/**
+	 * Stops timing the current phase, the previous one is resumed
+	 * @param phase The phase given to {@link #begin(int)}
+	 */
+	public static void end(int phase) {
+		if (!enabled || Thread.currentThread() != thread || depth == 0)
+			return;
+
+		final long now = System.nanoTime();
+		current[stack[--depth]] += now - phaseStart;
+		phaseStart = now;
+	}
+
+	/**
+	 * Records the frame which ends, called by {@link Game2D} after drawing.
+	 * A frame lasts from the end of the previous one, so that it includes the
+	 * input processed before drawing.
+	 */
+	static void endFrame() {
+		thread = Thread.currentThread();
+
+		if (!enabled)
+			return;
+
+		final long now = System.nanoTime();
+		depth = 0;
+
+		// The first frame has no beginning
+		if (frameStart != 0) {
+			final long total = now - frameStart;
+			long phases = 0;
+
+			for (int p = 0; p < PHASES; p++) {
+				if (p != OTHER) {
+					samples[p][next] = current[p] / 1e6f;
+					phases += current[p];
+				}
+			}
+
+			samples[OTHER][next] = Math.max(0, total - phases) / 1e6f;
+			samples[FRAME][next] = total / 1e6f;
+			next = (next + 1) % window;
+			count = Math.min(count + 1, window);
+			frames++;
+		}
+
+		Arrays.fill(current, 0);
+		frameStart = now;
+	}
+
+	/************************************************************************
+	 * Results
+	 ************************************************************************/
+
+	/**
+	 * @return The number of frames the percentiles are computed on
+	 */
+	public static int getFrameCount() {
+		return count;
+	}
+
+	/**
+	 * @param phase One of the constants, e.g. {@link #PHYSICS} or
+	 *            {@link #FRAME}
+	 * @param percentile Between 0 and 100, e.g. 99 for the time exceeded by
+	 *            one frame out of 100
+	 * @return The time spent in the phase, in milliseconds
+	 */
+	public static float getPercentile(int phase, float percentile) {
+		if (count == 0)
+			return 0;
+
+		// Sorted at most once per frame and phase
+		final float[] s = sorted[phase];
+		if (sortedAt[phase] != frames) {
+			System.arraycopy(samples[phase], 0, s, 0, count);
+			Arrays.sort(s, 0, count);
+			sortedAt[phase] = frames;
+		}
+
+		final int i = (int) Math.ceil(percentile / 100 * count) - 1;
+		return s[Math.max(0, Math.min(count - 1, i))];
+	}
+
+	/**
+	 * @return The time spent in the phase during the last frame, in
+	 *         milliseconds
+	 */
+	public static float getLast(int phase) {
+		return count == 0 ? 0 : samples[phase][(next + window - 1) % window];
+	}
+
+	/**
+	 * Prints the percentiles of each phase, in milliseconds, comma separated
+	 */
+	public static void printCsv(PrintStream out) {
+		out.println("phase,p50,p95,p99,max");
+
+		for (int p = 0; p <= FRAME; p++) {
+			out.print(NAMES[p]);
+			out.print("," + getPercentile(p, 50));
+			out.print("," + getPercentile(p, 95));
+			out.print("," + getPercentile(p, 99));
+			out.println("," + getPercentile(p, 100));
+		}
+	}
+
+	/**
+	 * Writes the CSV file if one has been given, called when the application
+	 * exits
+	 */
+	static void dispose() {
+		if (enabled && csvFile != null && count > 0) {
+			try {
+				PrintStream out = new PrintStream(csvFile);
+				printCsv(out);
+				out.close();
+			} catch (FileNotFoundException e) {
+				Gdx.app.error("[GDX2DLib]", "Unable to write the frame profile", e);
+			}
+		}
+
+		labels = null;
+	}
+
+	/************************************************************************
+	 * Overlay
+	 ************************************************************************/
+
+	/**
+	 * Draws the time of the last frames as stacked bars, one color per phase,
+	 * with the lines of 60 and 30 frames per second
+	 * @param r A renderer begun with filled shapes, in screen coordinates
+	 */
+	static void drawGraph(ShapeRenderer r, float x, float y, float width, float height) {
+		// 2 pixels per frame, 40 ms at the top
+		final int n = Math.min(count, (int) (width / 2));
+		final float scale = height / 40f;
+
+		r.setColor(0, 0, 0, 0.6f);
+		r.rect(x, y, width, height);
+
+		for (int i = 0; i < n; i++) {
+			final int f = (next + window - n + i) % window;
+			final float bx = x + width - 2 * (n - i);
+			float by = y;
+
+			for (int p = 0; p < PHASES; p++) {
+				final float h = Math.min(samples[p][f] * scale, y + height - by);
+
+				if (h > 0) {
+					r.setColor(COLORS[p]);
+					r.rect(bx, by, 2, h);
+					by += h;
+				}
+			}
+		}
+
+		r.setColor(Color.WHITE);
+		r.rect(x, y + 1000 / 60f * scale, width, 1);
+		r.rect(x, y + 1000 / 30f * scale, width, 1);
+	}
+
+	/**
+	 * Draws the percentiles of each phase, in the color of the phase
+	 * @param batch A begun sprite batch, in screen coordinates
+	 * @param x Left of the text
+	 * @param y Top of the text
+	 */
+	static void drawLabels(SpriteBatch batch, BitmapFont font, float x, float y) {
+		if (labels == null) {
+			labels = new TextLabel[FRAME + 1];
+
+			for (int p = 0; p <= FRAME; p++) {
+				labels[p] = new TextLabel(font);
+				labels[p].setColor(p < COLORS.length ? COLORS[p] : Color.WHITE);
+			}
+		}
+
+		final float lineHeight = font.getLineHeight();
+
+		for (int p = 0; p <= FRAME; p++) {
+			if (frames % OVERLAY_PERIOD == 0 || labels[p].getText().length() == 0) {
+				text.setLength(0);
+				text.append(NAMES[p]).append("  p50 ");
+				TextUtils.appendFloat(text, getPercentile(p, 50), 2);
+				text.append("  p95 ");
+				TextUtils.appendFloat(text, getPercentile(p, 95), 2);
+				text.append("  p99 ");
+				TextUtils.appendFloat(text, getPercentile(p, 99), 2);
+				text.append(" ms");
+				labels[p].setText(text);
+			}
+
+			labels[p].setPosition(x, y - (FRAME - p) * lineHeight);
+			labels[p].getCache().draw(batch);
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package hevs.gdx2d.lib;
 
+import hevs.gdx2d.components.bitmaps.ImageAtlas;
+import hevs.gdx2d.components.fonts.FontCache;
 import hevs.gdx2d.lib.physics.PhysicsWorld;
 
 import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
@@ -32,6 +35,12 @@ public class Game2D implements ApplicationListener {
 	protected ShapeRenderer shapeRenderer;
 	protected int angle;
 	protected SpriteBatch batch;
+	
+	// Number of assets uploaded per frame while loading
+	protected static final int UPLOADS_PER_FRAME = 4;
+	
+	// True while the assets created in onInit are loading
+	protected boolean loading = false;
 
 	/**
 	 * Default constructor
@@ -50,6 +59,7 @@ public class Game2D implements ApplicationListener {
 		// Log level for the application
 		Gdx.app.setLogLevel(Application.LOG_DEBUG);
 		Gdx.app.log("[GDX2Dlib]", "Version " + Version.version + " / mui, chn");
+		FrameProfiler.configure();
 
 		camera = new OrthographicCamera();
 		camera.setToOrtho(false, Gdx.graphics.getWidth(),
@@ -62,7 +72,7 @@ public class Game2D implements ApplicationListener {
 		// shapeRenderer.setProjectionMatrix(camera.combined);
 
 		// Let's have multiple input processors
-		InputMultiplexer multiplexer = new InputMultiplexer();
+		InputMultiplexer multiplexer = new ProfiledInputMultiplexer();
 		multiplexer.addProcessor(new GestureDetector(new GestureListener() {
 
 			@Override
@@ -163,8 +173,12 @@ public class Game2D implements ApplicationListener {
 
 		Gdx.input.setInputProcessor(multiplexer);
 
-		// Initialize app
+		// Initialize app, the images it creates are decoded in parallel
+		// and packed together once loaded
+		ImageAtlas.beginCollecting();
+		AssetLoader.begin();
 		app.onInit();
+		loading = true;
 	}
 
 	/**
@@ -172,7 +186,36 @@ public class Game2D implements ApplicationListener {
 	 */
 	@Override
 	public void render() {
+		if (loading) {
+			if (AssetLoader.update(UPLOADS_PER_FRAME)) {
+				AssetLoader.end();
+				ImageAtlas.endCollecting();
+				loading = false;
+				
+				// The logic starts once everything is loaded
+				if(app.getLogicThread() != null)
+					app.getLogicThread().start();
+			} else {
+				app.onLoadingRender(g, AssetLoader.getProgress());
+				g.flushDeferred();
+				return;
+			}
+		}
+		
+		if(app.getLogicThread() != null)
+			app.getLogicThread().checkError();
+		
+		FrameProfiler.begin(FrameProfiler.DRAW);
 		app.onGraphicRender(g);
+		
+		// Submits what has been drawn in deferred mode
+		g.flushDeferred();
+		FrameProfiler.end(FrameProfiler.DRAW);
+		
+		if(FrameProfiler.isOverlayVisible())
+			g.drawProfiler();
+		
+		FrameProfiler.endFrame();
 	}
 
 	/**
@@ -187,6 +230,8 @@ public class Game2D implements ApplicationListener {
 	 */
 	@Override
 	public void pause() {
+		if(app.getLogicThread() != null)
+			app.getLogicThread().setPaused(true);
 		app.onPause();
 	}
 
@@ -195,7 +240,14 @@ public class Game2D implements ApplicationListener {
 	 */
 	@Override
 	public void resume() {
+		// Textures created from images and glyphs are lost with the GL context
+		if(Gdx.app.getType() == ApplicationType.Android){
+			ImageAtlas.reload();
+			FontCache.reload();
+		}
 		app.onResume();
+		if(app.getLogicThread() != null)
+			app.getLogicThread().setPaused(false);
 	}
 
 	/**
@@ -203,9 +255,87 @@ public class Game2D implements ApplicationListener {
 	 */
 	@Override
 	public void dispose() {
+		// No logic update must run while the objects are destroyed
+		if(app.getLogicThread() != null)
+			app.getLogicThread().stop();
 		g.dispose();
 		app.onDispose();
 		PhysicsWorld.dispose();
+		AssetLoader.dispose();
+		AssetRegistry.dispose();
+		ImageAtlas.dispose();
+		FontCache.dispose();
+		FrameProfiler.dispose();
 		Gdx.app.debug("[GDX2DLib]", "Game2D disposing");
 	}
+	
+	/**
+	 * Counts the time spent dispatching the input events in the
+	 * {@link FrameProfiler#INPUT} phase
+	 */
+	private static class ProfiledInputMultiplexer extends InputMultiplexer {
+		@Override
+		public boolean keyDown(int keycode) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.keyDown(keycode);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean keyUp(int keycode) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.keyUp(keycode);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean keyTyped(char character) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.keyTyped(character);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.touchDown(screenX, screenY, pointer, button);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.touchUp(screenX, screenY, pointer, button);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean touchDragged(int screenX, int screenY, int pointer) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.touchDragged(screenX, screenY, pointer);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean mouseMoved(int screenX, int screenY) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.mouseMoved(screenX, screenY);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+
+		@Override
+		public boolean scrolled(int amount) {
+			FrameProfiler.begin(FrameProfiler.INPUT);
+			boolean handled = super.scrolled(amount);
+			FrameProfiler.end(FrameProfiler.INPUT);
+			return handled;
+		}
+	}
 }
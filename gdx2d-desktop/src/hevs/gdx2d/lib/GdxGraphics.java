@@ -2,6 +2,10 @@ package hevs.gdx2d.lib;
 
 import hevs.gdx2d.components.bitmaps.BitmapImage;
 import hevs.gdx2d.components.graphics.Polygon;
+import hevs.gdx2d.components.graphics.ShapeGeometry;
+import hevs.gdx2d.components.graphics.TextLabel;
+
+import java.util.Arrays;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
@@ -9,10 +13,14 @@ import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.HAlignment;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Disposable;
 
@@ -39,11 +47,37 @@ public class GdxGraphics implements Disposable
 	// The standard font
 	protected BitmapFont font;
 	
+	// The FPS text, laid out again only when the value changes
+	private final TextLabel fpsLabel;
+	private int lastFps = -1;
+	
 	// For optimizing the current rendering mode and minimizing the number of
 	// calls to begin() and end() in spriteBatch
-	private enum t_rendering_mode {SHAPE_FILLED, SHAPE_LINE, SHAPE_POINT, SPRITE}; 
+	// NONE is used while rendering with other objects, e.g. a SpriteCache
+	private enum t_rendering_mode {SHAPE_FILLED, SHAPE_LINE, SHAPE_POINT, SPRITE, NONE}; 
 	private t_rendering_mode rendering_mode = t_rendering_mode.SPRITE; 
 
+	// Rendering statistics, see resetStatistics()
+	protected int modeTransitions = 0, shapeBatches = 0;
+
+	// Deferred rendering, see setDeferredRendering()
+	private boolean deferred = false;
+	private int layer = 0;
+	private final DrawQueue queue = new DrawQueue();
+	
+	// Order of the rendering modes inside a layer when deferred
+	private static final t_rendering_mode[] DEFERRED_MODES = { t_rendering_mode.SPRITE,
+			t_rendering_mode.SHAPE_FILLED, t_rendering_mode.SHAPE_LINE, t_rendering_mode.SHAPE_POINT };
+	private static final int D_SPRITE = 0, D_FILLED = 1, D_LINE = 2, D_POINT = 3;
+	
+	// Deferred commands
+	private static final int CMD_POINT = 0, CMD_LINE = 1, CMD_RECT = 2, CMD_FILLED_RECT = 3, CMD_CIRCLE = 4,
+			CMD_FILLED_CIRCLE = 5, CMD_STRING = 6, CMD_PICTURE = 7, CMD_SIZED_PICTURE = 8, CMD_POLYGON = 9,
+			CMD_FILLED_POLYGON = 10;
+	
+	// Last color given to the shape renderer
+	private Color shapeColor = Color.WHITE;
+
 	// For sprite-based circles
 	final Sprite circleSprite;					
 	
@@ -56,6 +90,7 @@ public class GdxGraphics implements Disposable
 	 * when using box2dlight), call this method to render shapes correctly
 	 */
 	public void resetRenderingMode(){
+		flushDeferred();
 		checkmode(t_rendering_mode.SPRITE);
 		checkmode(t_rendering_mode.SHAPE_LINE);
 	}
@@ -65,6 +100,10 @@ public class GdxGraphics implements Disposable
 		this.spriteBatch = spriteBatch;
 		this.font = new BitmapFont();
 		this.camera = camera;
+		
+		fpsLabel = new TextLabel(font);
+		fpsLabel.setColor(Color.WHITE);
+		fpsLabel.setPosition(5, 15);
 			
 		// A camera that never moves
 		this.fixedcamera = new OrthographicCamera();
@@ -91,35 +130,139 @@ public class GdxGraphics implements Disposable
 	 * Draws frame per second (FPS) information
 	 */
 	public void drawFPS(){
-		spriteBatch.setProjectionMatrix(fixedcamera.combined);
-		Color oldColor = font.getColor();
-		font.setColor(Color.WHITE);		
-		drawString(5, 15, "FPS: " + Gdx.graphics.getFramesPerSecond());
-		font.setColor(oldColor);
-		spriteBatch.setProjectionMatrix(camera.combined);
+		flushDeferred();
+		checkmode(t_rendering_mode.SPRITE);
+		useFixedCamera();
+		
+		int fps = Gdx.graphics.getFramesPerSecond();
+		if(fps != lastFps){
+			lastFps = fps;
+			fpsLabel.setNumber("FPS: ", fps);
+		}
+		
+		fpsLabel.getCache().draw(spriteBatch);
+		restoreCamera();
+	}
+	
+	/**
+	 * Draws the graph of the last frames and the percentiles of each phase
+	 * measured by the {@link FrameProfiler}, in the lower left corner. Drawn
+	 * by {@link Game2D} when the overlay is visible.
+	 */
+	public void drawProfiler(){
+		flushDeferred();
+		checkmode(t_rendering_mode.SHAPE_FILLED);
+		FrameProfiler.drawGraph(shapeRenderer, 5, 5, 300, 100);
+		
+		checkmode(t_rendering_mode.SPRITE);
+		useFixedCamera();
+		FrameProfiler.drawLabels(spriteBatch, font, 5, 105 + 7 * font.getLineHeight());
+		restoreCamera();
+	}
+	
+	/**
+	 * Draws a text prepared in advance, see {@link TextLabel}. Drawn
+	 * immediately, even in deferred mode.
+	 * @param label
+	 */
+	public void drawText(TextLabel label){
+		flushDeferred();
+		checkmode(t_rendering_mode.SPRITE);
+		
+		if(label.isFixed())
+			useFixedCamera();
+		
+		label.getCache().draw(spriteBatch);
+		
+		if(label.isFixed())
+			restoreCamera();
+	}
+	
+	/**
+	 * Draws with the camera which never moves. The projection of the sprite
+	 * batch is only changed (which flushes it) if it is different.
+	 */
+	private void useFixedCamera(){
+		if(!Arrays.equals(spriteBatch.getProjectionMatrix().val, fixedcamera.combined.val))
+			spriteBatch.setProjectionMatrix(fixedcamera.combined);
+	}
+	
+	private void restoreCamera(){
+		if(!Arrays.equals(spriteBatch.getProjectionMatrix().val, camera.combined.val))
+			spriteBatch.setProjectionMatrix(camera.combined);
+	}
+	
+	/**
+	 * @return The number of switches between shape and sprite rendering
+	 *         since the last {@link #resetStatistics()}
+	 */
+	public int getModeTransitions(){
+		return modeTransitions;
+	}
+	
+	/**
+	 * @return The number of {@link ShapeRenderer} begin/end pairs since the
+	 *         last {@link #resetStatistics()}
+	 */
+	public int getShapeBatches(){
+		return shapeBatches;
+	}
+	
+	/**
+	 * @return The number of {@link SpriteBatch} flushes (render calls) since
+	 *         the last {@link #resetStatistics()}
+	 */
+	public int getSpriteFlushes(){
+		return spriteBatch.totalRenderCalls;
+	}
+	
+	/**
+	 * Resets the rendering statistics counters, typically at each frame
+	 */
+	public void resetStatistics(){
+		modeTransitions = 0;
+		shapeBatches = 0;
+		spriteBatch.totalRenderCalls = 0;
 	}
 	
 	/**
 	 * Draws school logo
 	 */
 	public void drawSchoolLogo(){
+		flushDeferred();
 		checkmode(t_rendering_mode.SPRITE);
-		spriteBatch.setProjectionMatrix(fixedcamera.combined);
+		useFixedCamera();
 		spriteBatch.draw(logoTex, getScreenWidth() - logoTex.getWidth(), 0);
-		spriteBatch.setProjectionMatrix(camera.combined);
+		restoreCamera();
 	}
 	
 	public void checkmode(t_rendering_mode mode) {
 		if(mode == rendering_mode)
 			return;
 	
-		if(rendering_mode != t_rendering_mode.SPRITE){
+		modeTransitions++;
+		
+		if(rendering_mode != t_rendering_mode.SPRITE && rendering_mode != t_rendering_mode.NONE){
+			FrameProfiler.begin(FrameProfiler.FLUSH);
 			shapeRenderer.end();
+			FrameProfiler.end(FrameProfiler.FLUSH);
 		}
 	
-		if(rendering_mode == t_rendering_mode.SPRITE)
+		if(rendering_mode == t_rendering_mode.SPRITE && spriteDrawing)
 		{
+			FrameProfiler.begin(FrameProfiler.FLUSH);
 			spriteBatch.end();
+			FrameProfiler.end(FrameProfiler.FLUSH);
+			spriteDrawing = false;
+		}
+		
+		if(mode != t_rendering_mode.SPRITE && mode != t_rendering_mode.NONE){
+			shapeBatches++;
+			
+			// Shapes are always drawn in world coordinates. Resetting the
+			// transform here is free, whereas doing it for each shape would
+			// flush the renderer every time
+			shapeRenderer.identity();
 		}
 		
 		switch (mode) {
@@ -140,8 +283,13 @@ public class GdxGraphics implements Disposable
 			
 		case SPRITE:	
 			spriteBatch.begin();
+			spriteDrawing = true;
 			rendering_mode = t_rendering_mode.SPRITE;
 			break;
+			
+		case NONE:
+			rendering_mode = t_rendering_mode.NONE;
+			break;
 		}	
 		
 	}
@@ -150,13 +298,14 @@ public class GdxGraphics implements Disposable
 	 * Draws the school logo in the upper right corner of the screen
 	 */
 	public void drawSchoolLogoUpperRight(){
+		flushDeferred();
 		checkmode(t_rendering_mode.SPRITE);
 		int width = Gdx.graphics.getWidth();
 		int height = Gdx.graphics.getHeight();
 
-		spriteBatch.setProjectionMatrix(fixedcamera.combined);
+		useFixedCamera();
 		spriteBatch.draw(logoTex, width - logoTex.getWidth(), height - logoTex.getHeight());
-		spriteBatch.setProjectionMatrix(camera.combined);
+		restoreCamera();
 	}
 	
 	/**
@@ -170,6 +319,7 @@ public class GdxGraphics implements Disposable
 		 * any solution
 		 */
 		// Mode should be put on sprite, this is not a mistake
+		flushDeferred();
 		checkmode(t_rendering_mode.SPRITE);
 		Gdx.gl20.glLineWidth(width);
 	}	
@@ -196,13 +346,42 @@ public class GdxGraphics implements Disposable
 	 * @param angle in degrees
 	 */
 	public void drawRectangle(float x, float y, float w, float h, float angle) {
+		if(deferred){
+			enqueue(CMD_RECT, D_LINE, null, currentColor, null, null, x, y, w, h, angle, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SHAPE_LINE);
-		shapeRenderer.setColor(currentColor);
-//		shapeRenderer.identity();
-		shapeRenderer.translate(x + w / 2, y + w / 2, 0);		
-		if(angle != 0)
-			shapeRenderer.rotate(0, 0, 1, angle);		
-		shapeRenderer.rect(-w / 2, -w / 2, w, h);
+		setShapeColor(currentColor);
+		computeRectangle(x, y, w, h, angle);
+		float[] v = rectVertices;
+		shapeRenderer.line(v[0], v[1], v[2], v[3]);
+		shapeRenderer.line(v[2], v[3], v[4], v[5]);
+		shapeRenderer.line(v[4], v[5], v[6], v[7]);
+		shapeRenderer.line(v[6], v[7], v[0], v[1]);
+	}
+	
+	private final float[] rectVertices = new float[8];
+	
+	/**
+	 * Computes the corners of a rotated rectangle in {@link #rectVertices}.
+	 * Rotating the vertices here instead of using the shape renderer transform
+	 * avoids flushing the renderer for each rectangle.
+	 */
+	private void computeRectangle(float x, float y, float w, float h, float angle) {
+		final float cx = x + w / 2, cy = y + w / 2;
+		final float cos = angle == 0 ? 1 : MathUtils.cosDeg(angle);
+		final float sin = angle == 0 ? 0 : MathUtils.sinDeg(angle);
+		final float x0 = -w / 2, y0 = -w / 2, x1 = x0 + w, y1 = y0 + h;
+		
+		rectVertices[0] = cx + x0 * cos - y0 * sin;
+		rectVertices[1] = cy + x0 * sin + y0 * cos;
+		rectVertices[2] = cx + x1 * cos - y0 * sin;
+		rectVertices[3] = cy + x1 * sin + y0 * cos;
+		rectVertices[4] = cx + x1 * cos - y1 * sin;
+		rectVertices[5] = cy + x1 * sin + y1 * cos;
+		rectVertices[6] = cx + x0 * cos - y1 * sin;
+		rectVertices[7] = cy + x0 * sin + y1 * cos;
 	}
 
 	/**
@@ -212,23 +391,28 @@ public class GdxGraphics implements Disposable
 		clear(Color.BLACK);
 	}
 
-	boolean first = true;
+	// The sprite batch is not begun before the first frame
+	private boolean spriteDrawing = false;
 	
 	/**
 	 * Clears the screen with a given color
 	 * @param c
 	 */
 	public void clear(Color c) {
+		// Commands of the previous frame which have not been submitted are lost
+		queue.clear();
 		Gdx.gl.glClearColor(c.r, c.g, c.b, c.a);
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
 		
-		if(!first && rendering_mode == t_rendering_mode.SPRITE)
-			spriteBatch.end();
-		else
-			first = !first;
-		
-		if(rendering_mode == t_rendering_mode.SPRITE)
+		if(rendering_mode == t_rendering_mode.SPRITE) {
+			if(spriteDrawing){
+				FrameProfiler.begin(FrameProfiler.FLUSH);
+				spriteBatch.end();
+				FrameProfiler.end(FrameProfiler.FLUSH);
+			}
 			spriteBatch.begin();
+			spriteDrawing = true;
+		}
 	}
 
 	/**
@@ -245,10 +429,7 @@ public class GdxGraphics implements Disposable
 	 * @param y
 	 */
 	public void setPixel(float x, float y) {
-		checkmode(t_rendering_mode.SHAPE_POINT);
-		shapeRenderer.identity();
-		shapeRenderer.setColor(currentColor);
-		shapeRenderer.point(x, y, 0);
+		setPixel(x, y, currentColor);
 	}
 
 	/**
@@ -258,60 +439,82 @@ public class GdxGraphics implements Disposable
 	 * @param c
 	 */
 	public void setPixel(float x, float y, Color c) {
+		if(deferred){
+			enqueue(CMD_POINT, D_POINT, null, c, null, null, x, y, 0, 0, 0, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SHAPE_POINT);
-		shapeRenderer.identity();
-		shapeRenderer.setColor(c);
+		setShapeColor(c);
 		shapeRenderer.point(x, y, 0);
 	}
 		
 	public void clearPixel(float x, float y) {
-		checkmode(t_rendering_mode.SHAPE_POINT);
-		shapeRenderer.identity();
-		shapeRenderer.setColor(backgroundColor);
-		shapeRenderer.point(x, y, 0);
+		setPixel(x, y, backgroundColor);
 	}
 
 	public void drawLine(float p1x, float p1y, float p2x, float p2y) {
+		if(deferred){
+			enqueue(CMD_LINE, D_LINE, null, currentColor, null, null, p1x, p1y, p2x, p2y, 0, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SHAPE_LINE);
-		shapeRenderer.setColor(currentColor);
+		setShapeColor(currentColor);
 		shapeRenderer.line(p1x, p1y, p2x, p2y);		
 	}
 
 	public void drawLine(float p1x, float p1y, float p2x, float p2y, Color c) {
-		shapeRenderer.setColor(c);
+		setShapeColor(c);
 		drawLine(p1x, p1y, p2x, p2y);		
 	}
 
 	public void drawFilledRectangle(float x, float y, float w, float h, float angle) {
+		if(deferred){
+			enqueue(CMD_FILLED_RECT, D_FILLED, null, shapeColor, null, null, x, y, w, h, angle, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SHAPE_FILLED);
-		shapeRenderer.identity();			
-		shapeRenderer.translate(x + w / 2, y + w / 2, 0);
-		shapeRenderer.rotate(0, 0, 1, angle);
-		shapeRenderer.rect(-w / 2, -w / 2, w, h);		
+		computeRectangle(x, y, w, h, angle);
+		float[] v = rectVertices;
+		shapeRenderer.triangle(v[0], v[1], v[2], v[3], v[4], v[5]);
+		shapeRenderer.triangle(v[4], v[5], v[6], v[7], v[0], v[1]);
 	}
 	
 	public void drawFilledRectangle(float x, float y, float w, float h, float angle, Color c) {
-		shapeRenderer.setColor(c);		
+		setShapeColor(c);		
 		drawFilledRectangle(x, y, w, h, angle);
 	}
 
 	public void drawCircle(float centerX, float centerY, float radius, Color c) {
-		shapeRenderer.setColor(c);
+		setShapeColor(c);
 		drawCircle(centerX, centerY, radius);
 	}
 	
 	public void drawCircle(float centerX, float centerY, float radius) {
+		if(deferred){
+			enqueue(CMD_CIRCLE, D_LINE, null, shapeColor, null, null, centerX, centerY, radius, 0, 0, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SHAPE_LINE);		
-		shapeRenderer.identity(); // Useless ?		
 		shapeRenderer.circle(centerX, centerY, radius);
 	}
 
 	public void drawFilledCircle(float centerX, float centerY, float radius, Color c) {		
+		if(deferred){
+			if(radius > 64)
+				enqueue(CMD_FILLED_CIRCLE, D_FILLED, null, c, null, null, centerX, centerY, radius, 0, 0, 0, 0);
+			else
+				enqueue(CMD_FILLED_CIRCLE, D_SPRITE, circleTex, c, null, null, centerX, centerY, radius, 0, 0, 0, 0);
+			return;
+		}
+		
 		if(radius > 64)
 		{
 			checkmode(t_rendering_mode.SHAPE_FILLED);
-				shapeRenderer.setColor(c);
-				shapeRenderer.identity();
+				setShapeColor(c);
 				shapeRenderer.circle(centerX, centerY, radius);
 		}
 		else
@@ -326,8 +529,6 @@ public class GdxGraphics implements Disposable
 	}
 	
 	public void drawFilledBorderedCircle(float centerX, float centerY, float radius, Color inner, Color outer) {		
-			checkmode(t_rendering_mode.SPRITE);			
-
 			// This was slow...
 //			// Use a circleSprite-based approach to rendering circle			
 //			circleSprite.setPosition(centerX-64, centerY-64);
@@ -343,19 +544,25 @@ public class GdxGraphics implements Disposable
 	}
 
 
-	public void drawString(float posX, float posY, String str) {
-		checkmode(t_rendering_mode.SPRITE);
-		font.drawMultiLine(spriteBatch, str, posX, posY);
+	public void drawString(float posX, float posY, CharSequence str) {
+		drawString(posX, posY, str, font);
 	}
 	
 	/**
-	 * Draws a string with a specific font
+	 * Draws a string with a specific font. The glyphs are laid out at each
+	 * call, use a {@link TextLabel} for texts which rarely change.
 	 * @param posX
 	 * @param posY
-	 * @param str
+	 * @param str In deferred mode, a copy of it is drawn if it is not a String
 	 * @param f
 	 */
-	public void drawString(float posX, float posY, String str, BitmapFont f){
+	public void drawString(float posX, float posY, CharSequence str, BitmapFont f){
+		if(deferred){
+			CharSequence text = str instanceof String ? str : str.toString();
+			enqueue(CMD_STRING, D_SPRITE, f.getRegion().getTexture(), f.getColor(), f, text, posX, posY, 0, 0, 0, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SPRITE);
 		f.drawMultiLine(spriteBatch, str, posX, posY);
 	}
@@ -366,9 +573,16 @@ public class GdxGraphics implements Disposable
 	 * @param str
 	 * @param f
 	 */
-	public void drawStringCentered(float posY, String str, BitmapFont f){
-		float w = f.getBounds(str).width;
-		drawString((getScreenWidth() - w )/ 2.0f, posY, str, f);
+	public void drawStringCentered(float posY, CharSequence str, BitmapFont f){
+		if(deferred){
+			float w = f.getBounds(str).width;
+			drawString((getScreenWidth() - w )/ 2.0f, posY, str, f);
+			return;
+		}
+		
+		// Centered while being laid out
+		checkmode(t_rendering_mode.SPRITE);
+		f.drawMultiLine(spriteBatch, str, 0, posY, getScreenWidth(), HAlignment.CENTER);
 	}
 	
 	
@@ -379,7 +593,13 @@ public class GdxGraphics implements Disposable
 	 * @param j y coordinate in the screen space
 	 */
 	public void drawBackground(BitmapImage t, float i, float j){
-		drawBackground(t.getImage(), i, j);
+		flushDeferred();
+		checkmode(t_rendering_mode.SPRITE);
+		useFixedCamera();		
+		spriteBatch.disableBlending();
+		spriteBatch.draw(t.getRegion(), i, j);
+		spriteBatch.enableBlending();
+		restoreCamera();
 	}
 	
 	/**
@@ -389,14 +609,75 @@ public class GdxGraphics implements Disposable
 	 * @param j y coordinate in the screen space
 	 */
 	public void drawBackground(Texture t, float i, float j){
+		flushDeferred();
 		checkmode(t_rendering_mode.SPRITE);
-		spriteBatch.setProjectionMatrix(fixedcamera.combined);		
+		useFixedCamera();		
 		spriteBatch.disableBlending();
 		spriteBatch.draw(t, i, j);
 		spriteBatch.enableBlending();
-		spriteBatch.setProjectionMatrix(camera.combined);
+		restoreCamera();
 	}
 
+	/**
+	 * Draws sprites whose vertices have already been computed, see
+	 * {@link SpriteBatch#draw(Texture, float[], int, int)}. Used to draw many
+	 * sprites at once, for instance particles. Drawn immediately, even in
+	 * deferred mode.
+	 */
+	public void drawSprites(Texture t, float[] spriteVertices, int offset, int length) {
+		flushDeferred();
+		checkmode(t_rendering_mode.SPRITE);
+		spriteBatch.draw(t, spriteVertices, offset, length);
+	}
+	
+	/**
+	 * Draws caches of a {@link SpriteCache}, with the camera. Used for large
+	 * static sets of sprites, for instance tiles. Drawn immediately, even in
+	 * deferred mode.
+	 * @param cache
+	 * @param cacheIDs The caches to draw, as returned by {@link SpriteCache#endCache()}
+	 * @param count The number of caches to draw
+	 */
+	public void drawSpriteCache(SpriteCache cache, int[] cacheIDs, int count) {
+		flushDeferred();
+		checkmode(t_rendering_mode.NONE);
+		cache.setProjectionMatrix(camera.combined);
+		
+		// The sprite batch disables blending when it ends
+		Gdx.gl.glEnable(GL10.GL_BLEND);
+		Gdx.gl.glBlendFunc(GL10.GL_SRC_ALPHA, GL10.GL_ONE_MINUS_SRC_ALPHA);
+		cache.begin();
+		for (int i = 0; i < count; i++)
+			cache.draw(cacheIDs[i]);
+		cache.end();
+	}
+	
+	private final Matrix4 geometryTransform = new Matrix4();
+	
+	/**
+	 * Draws shapes prepared in advance, with a transform. Drawn immediately,
+	 * even in deferred mode.
+	 * @param geometry
+	 * @param x Translation of the geometry
+	 * @param y
+	 * @param angle Rotation around (x, y), in degrees
+	 * @param scale
+	 */
+	public void drawShapeGeometry(ShapeGeometry geometry, float x, float y, float angle, float scale) {
+		flushDeferred();
+		checkmode(t_rendering_mode.NONE);
+		geometryTransform.set(camera.combined).translate(x, y, 0);
+		
+		if(angle != 0)
+			geometryTransform.rotate(0, 0, 1, angle);
+		if(scale != 1)
+			geometryTransform.scale(scale, scale, 1);
+		
+		Gdx.gl.glEnable(GL10.GL_BLEND);
+		Gdx.gl.glBlendFunc(GL10.GL_SRC_ALPHA, GL10.GL_ONE_MINUS_SRC_ALPHA);
+		geometry.render(geometryTransform);
+	}
+	
 	/**
 	 * Draws a picture at position ({@code posX, posY}).  
 	 */
@@ -409,13 +690,18 @@ public class GdxGraphics implements Disposable
 	 * middle of the image. 
 	 */
 	public void drawTransformedPicture(float posX, float posY, float angle, float scale, BitmapImage bitmap) {
-		drawTransformedPicture(posX, posY, bitmap.getImage().getWidth() / 2, bitmap.getImage().getHeight() / 2, angle, scale, bitmap);
+		drawTransformedPicture(posX, posY, bitmap.getWidth() / 2, bitmap.getHeight() / 2, angle, scale, bitmap);
 	}
 	
 	/**
 	 * Draws a picture at position ({@code posX, posY}) with a fixed width and height (not the one of the {@link BitmapImage} itself).
 	 */
 	public void drawTransformedPicture(float posX, float posY, float angle, float width, float height, BitmapImage bitmap) {
+		if(deferred){
+			enqueue(CMD_SIZED_PICTURE, D_SPRITE, bitmap.getRegion().getTexture(), spriteBatch.getColor(), bitmap, null, posX, posY, angle, width, height, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SPRITE);
 		spriteBatch.draw(bitmap.getRegion(), (float)posX-width, (float)posY-height, width, height, width*2, height*2, 1.0f, 1.0f,(float) angle);
 	}
@@ -433,8 +719,13 @@ public class GdxGraphics implements Disposable
 	 * @param bitmap
 	 */
 	public void drawTransformedPicture(float posX, float posY, float centerX, float centerY, float angle, float scale, BitmapImage bitmap) {
+		if(deferred){
+			enqueue(CMD_PICTURE, D_SPRITE, bitmap.getRegion().getTexture(), spriteBatch.getColor(), bitmap, null, posX, posY, centerX, centerY, angle, scale, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SPRITE);
-		spriteBatch.draw(bitmap.getRegion(), posX-bitmap.getRegion().getRegionWidth()/2, posY-bitmap.getRegion().getRegionHeight()/2, centerX, centerY, (float) bitmap.getImage().getWidth(), (float) bitmap.getImage().getHeight(), (float) scale, (float) scale,(float) angle);
+		spriteBatch.draw(bitmap.getRegion(), posX-bitmap.getWidth()/2, posY-bitmap.getHeight()/2, centerX, centerY, (float) bitmap.getWidth(), (float) bitmap.getHeight(), (float) scale, (float) scale,(float) angle);
 	}
 
 	/**
@@ -448,11 +739,11 @@ public class GdxGraphics implements Disposable
 	}
 
 	public void drawAlphaPicture(float posX, float posY, float scale, float alpha, BitmapImage img){
-		drawAlphaPicture(posX, posY, img.getImage().getWidth() / 2, img.getImage().getHeight() / 2, 0, 1.0f, alpha, img);
+		drawAlphaPicture(posX, posY, img.getWidth() / 2, img.getHeight() / 2, 0, 1.0f, alpha, img);
 	}
 	
 	public void drawAlphaPicture(float posX, float posY, float alpha, BitmapImage img){
-		drawAlphaPicture(posX, posY, img.getImage().getWidth() / 2, img.getImage().getHeight() / 2, 0, 1.0f, alpha, img);
+		drawAlphaPicture(posX, posY, img.getWidth() / 2, img.getHeight() / 2, 0, 1.0f, alpha, img);
 	}
 	
 	public void drawAlphaPicture(float posX, float posY, float centerX, float centerY, float angle, float scale, float alpha, BitmapImage img){		
@@ -463,23 +754,177 @@ public class GdxGraphics implements Disposable
 	}
 	
 	public void drawPolygon(Polygon p) {
+		if(deferred){
+			enqueue(CMD_POLYGON, D_LINE, null, currentColor, p, null, 0, 0, 0, 0, 0, 0, 0);
+			return;
+		}
+		
 		checkmode(t_rendering_mode.SHAPE_LINE);
-		shapeRenderer.setColor(currentColor);
-		shapeRenderer.identity();		
-		shapeRenderer.polygon(p.getVertices());
+		setShapeColor(currentColor);
+		shapeRenderer.polygon(p.getTransformedVertices());
 	}
 
 	public void drawFilledPolygon(Polygon polygon, Color c) {		
+		if(deferred){
+			enqueue(CMD_FILLED_POLYGON, D_FILLED, null, c, polygon, null, 0, 0, 0, 0, 0, 0, 0);
+			return;
+		}
+		
 		float[] vertices =  polygon.getEarClippedVertices();
 		checkmode(t_rendering_mode.SHAPE_FILLED);
-		shapeRenderer.setColor(c);
-		shapeRenderer.identity();
+		setShapeColor(c);
 
 		for (int i = 0; i < vertices.length; i+=6) {
 			shapeRenderer.triangle(vertices[i], vertices[i+1], vertices[i+2], vertices[i+3], vertices[i+4], vertices[i+5]);
 		}		
 	}
 	
+	/****************************************************
+	 * Deferred rendering
+	 ****************************************************/
+	
+	/**
+	 * In deferred mode, the drawing methods only record what has to be drawn.
+	 * The commands are submitted at the end of the frame (or when
+	 * {@link #flushDeferred()} is called), grouped by layer, then by rendering
+	 * mode (sprites, filled shapes, lines, points), then by texture. This
+	 * minimizes the number of batches and of switches between the sprite
+	 * batch and the shape renderer.
+	 * <p>
+	 * Layers are drawn in increasing order (see {@link #setLayer(int)}). Inside
+	 * a layer, commands of the same mode and texture keep the order in which
+	 * they were issued, but there is no guarantee between commands of
+	 * different modes: use different layers when overlap matters.
+	 * <p>
+	 * Methods drawing with the fixed camera ({@link #drawFPS()},
+	 * {@link #drawBackground(Texture, float, float)}, the logos...) are not
+	 * deferred, they submit the pending commands before drawing.
+	 * 
+	 * @param enabled
+	 */
+	public void setDeferredRendering(boolean enabled) {
+		if(!enabled)
+			flushDeferred();
+		deferred = enabled;
+	}
+	
+	/**
+	 * @return True if the drawing commands are deferred
+	 */
+	public boolean isDeferredRendering() {
+		return deferred;
+	}
+	
+	/**
+	 * Sets the layer of the next deferred commands. Layers with a lower value
+	 * are drawn first, the default layer is 0.
+	 * @param layer between {@link Short#MIN_VALUE} and {@link Short#MAX_VALUE}
+	 */
+	public void setLayer(int layer) {
+		this.layer = MathUtils.clamp(layer, Short.MIN_VALUE, Short.MAX_VALUE);
+	}
+	
+	/**
+	 * @return The layer used for deferred commands
+	 */
+	public int getLayer() {
+		return layer;
+	}
+	
+	/**
+	 * Submits all the pending deferred commands. Called automatically at the
+	 * end of each frame. The replay counts as drawing for the
+	 * {@link FrameProfiler}, only the batches it submits count as flushes.
+	 */
+	public void flushDeferred() {
+		if(queue.size == 0)
+			return;
+		
+		final boolean wasDeferred = deferred;
+		final Color oldColor = currentColor, oldShapeColor = shapeColor;
+		deferred = false;
+		queue.sort();
+		
+		for (int n = 0; n < queue.size; n++) {
+			final int i = queue.get(n);
+			final Color c = queue.colors[i];
+			final float p0 = queue.param(i, 0), p1 = queue.param(i, 1), p2 = queue.param(i, 2);
+			
+			switch (queue.types[i]) {
+			case CMD_POINT:
+				setPixel(p0, p1, c);
+				break;
+			case CMD_LINE:
+				currentColor = c;
+				drawLine(p0, p1, p2, queue.param(i, 3));
+				break;
+			case CMD_RECT:
+				currentColor = c;
+				drawRectangle(p0, p1, p2, queue.param(i, 3), queue.param(i, 4));
+				break;
+			case CMD_FILLED_RECT:
+				drawFilledRectangle(p0, p1, p2, queue.param(i, 3), queue.param(i, 4), c);
+				break;
+			case CMD_CIRCLE:
+				drawCircle(p0, p1, p2, c);
+				break;
+			case CMD_FILLED_CIRCLE:
+				drawFilledCircle(p0, p1, p2, c);
+				break;
+			case CMD_STRING: {
+				BitmapFont f = (BitmapFont) queue.refs[i];
+				Color old = f.getColor();
+				float r = old.r, g = old.g, b = old.b, a = old.a;
+				f.setColor(c);
+				drawString(p0, p1, queue.texts[i], f);
+				f.setColor(r, g, b, a);
+				break;
+			}
+			case CMD_PICTURE:
+			case CMD_SIZED_PICTURE: {
+				Color old = spriteBatch.getColor();
+				float r = old.r, g = old.g, b = old.b, a = old.a;
+				spriteBatch.setColor(c);
+				
+				if(queue.types[i] == CMD_PICTURE)
+					drawTransformedPicture(p0, p1, p2, queue.param(i, 3), queue.param(i, 4), queue.param(i, 5), (BitmapImage) queue.refs[i]);
+				else
+					drawTransformedPicture(p0, p1, p2, queue.param(i, 3), queue.param(i, 4), (BitmapImage) queue.refs[i]);
+				
+				spriteBatch.setColor(r, g, b, a);
+				break;
+			}
+			case CMD_POLYGON:
+				currentColor = c;
+				drawPolygon((Polygon) queue.refs[i]);
+				break;
+			case CMD_FILLED_POLYGON:
+				drawFilledPolygon((Polygon) queue.refs[i], c);
+				break;
+			}
+		}
+		
+		// The commands colors are reused, do not keep references to them
+		currentColor = oldColor;
+		setShapeColor(oldShapeColor);
+		queue.clear();
+		deferred = wasDeferred;
+	}
+	
+	private void enqueue(int type, int mode, Texture t, Color c, Object ref, CharSequence text, float p0, float p1, float p2, float p3, float p4, float p5, float p6) {
+		int i = queue.add(type, mode, layer, t, c, ref, text);
+		queue.setParams(i, p0, p1, p2, p3, p4, p5, p6);
+	}
+	
+	/**
+	 * Sets the color of the shape renderer, remembering it for deferred
+	 * commands which do not specify a color
+	 */
+	private void setShapeColor(Color c) {
+		shapeColor = c;
+		shapeRenderer.setColor(c);
+	}
+	
 	/****************************************************
 	 * Camera stuff
 	 ****************************************************/
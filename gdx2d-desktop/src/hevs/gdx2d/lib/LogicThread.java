@@ -0,0 +1,176 @@
+package hevs.gdx2d.lib;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Calls {@link PortableApplication#onGameLogicUpdate()} at a fixed rate, on
+ * its own thread, so that slow logic updates do not delay the rendering and
+ * run on another core. Created by
+ * {@link PortableApplication#setLogicRate(int)}, started by {@link Game2D}
+ * once the application is loaded.
+ * <p>
+ * The logic must not share mutable objects with the rendering: it publishes
+ * its results in a {@link SnapshotBuffer} read by
+ * {@link PortableApplication#onGraphicRender(GdxGraphics)}. Input events are
+ * still delivered on the rendering thread. To interpolate, the state
+ * published carries the {@link #getTickTime()} of its update, from which the
+ * rendering computes {@link #getAlpha(long)}.
+ *
+ * @version 1.0
+ */
+public class LogicThread implements Runnable {
+	// Ticks skipped at once when late, instead of catching up
+	private static final int MAX_LATE_TICKS = 5;
+
+	private final PortableApplication app;
+	private final int rate;
+	private final long period;
+
+	private Thread thread;
+	private volatile boolean running = false;
+	private volatile boolean paused = false;
+	private volatile Throwable error = null;
+
+	private volatile long ticks = 0;
+	private volatile long tickTime;
+	private volatile long lastDuration = 0;
+
+	LogicThread(PortableApplication app, int ticksPerSecond) {
+		if (ticksPerSecond <= 0)
+			throw new IllegalArgumentException("The logic rate must be positive");
+
+		this.app = app;
+		this.rate = ticksPerSecond;
+		this.period = 1000000000L / ticksPerSecond;
+	}
+
+	void start() {
+		if (thread != null)
+			return;
+
+		running = true;
+		thread = new Thread(this, "gdx2d logic");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops the thread and waits for the current update to finish
+	 */
+	void stop() {
+		running = false;
+
+		if (thread != null) {
+			thread.interrupt();
+
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			thread = null;
+		}
+	}
+
+	void setPaused(boolean paused) {
+		this.paused = paused;
+	}
+
+	/**
+	 * Throws on the rendering thread the error of the logic thread, if any
+	 */
+	void checkError() {
+		if (error != null)
+			throw new GdxRuntimeException("Error in onGameLogicUpdate", error);
+	}
+
+	@Override
+	public void run() {
+		long next = System.nanoTime() + period;
+
+		while (running) {
+			long wait = next - System.nanoTime();
+
+			if (wait > 0) {
+				try {
+					Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+				} catch (InterruptedException e) {
+					break;
+				}
+				continue;
+			}
+
+			if (!paused) {
+				final long start = System.nanoTime();
+				tickTime = start;
+
+				try {
+					app.onGameLogicUpdate();
+				} catch (Throwable t) {
+					Gdx.app.error("[GDX2DLib]", "Error in onGameLogicUpdate", t);
+					error = t;
+					running = false;
+					break;
+				}
+
+				lastDuration = System.nanoTime() - start;
+				ticks++;
+			}
+
+			// Much too late (e.g. long update), the logic slows down instead
+			// of running many updates in a row to catch up
+			next += period;
+			if (System.nanoTime() - next > MAX_LATE_TICKS * period)
+				next = System.nanoTime() + period;
+		}
+	}
+
+	/**
+	 * @return The number of calls to
+	 *         {@link PortableApplication#onGameLogicUpdate()} per second
+	 */
+	public int getRate() {
+		return rate;
+	}
+
+	/**
+	 * @return The number of logic updates done so far
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * @return The time at which the current update started, in nanoseconds
+	 *         (see {@link System#nanoTime()}). To store in the state published
+	 *         by {@link PortableApplication#onGameLogicUpdate()}.
+	 */
+	public long getTickTime() {
+		return tickTime;
+	}
+
+	/**
+	 * @param tickTime The {@link #getTickTime()} of the update which
+	 *            published the state being drawn
+	 * @return The time elapsed since the beginning of that update, as a
+	 *         fraction of the period, between 0 and 1. Used to interpolate
+	 *         the two positions of the state.
+	 */
+	public float getAlpha(long tickTime) {
+		return MathUtils.clamp((System.nanoTime() - tickTime) / (float) period, 0f, 1f);
+	}
+
+	/**
+	 * @return The duration of the last update, in milliseconds
+	 */
+	public float getLastDuration() {
+		return lastDuration / 1e6f;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+}
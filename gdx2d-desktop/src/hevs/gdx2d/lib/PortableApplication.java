@@ -1,5 +1,7 @@
 package hevs.gdx2d.lib;
 
+import hevs.gdx2d.lib.headless.FrameStatistics;
+import hevs.gdx2d.lib.headless.HeadlessApplication;
 import hevs.gdx2d.lib.interfaces.AndroidResolver;
 import hevs.gdx2d.lib.interfaces.GameInterface;
 import hevs.gdx2d.lib.interfaces.KeyboardInterface;
@@ -9,11 +11,15 @@ import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.badlogic.gdx.input.GestureDetector.GestureListener;
 import com.badlogic.gdx.math.Vector2;
 
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
 /**
  * The base class that should be sub-classed by all
  * gdx2d applications. To get the functionalities you simply have
@@ -30,6 +36,19 @@ public abstract class PortableApplication implements TouchInterface,
 
 	private AndroidResolver resolver = null;
 	
+	/**
+	 * When this system property is set (e.g. {@code -Dgdx2d.headless=600}),
+	 * the application is run without window nor GPU for that number of frames
+	 * and the rendering statistics are printed
+	 */
+	public static final String HEADLESS_FRAMES_PROPERTY = "gdx2d.headless";
+	
+	/**
+	 * Optional file in which the per-frame statistics of a headless run
+	 * are written, as CSV
+	 */
+	public static final String HEADLESS_CSV_PROPERTY = "gdx2d.headless.csv";
+	
 	/**
 	 * Changes the title of the window (Desktop only)
 	 * 
@@ -64,6 +83,47 @@ public abstract class PortableApplication implements TouchInterface,
 	public void onGameLogicUpdate() {				
 	}
 	
+	private LogicThread logic = null;
+	
+	/**
+	 * Calls {@link #onGameLogicUpdate()} at a fixed rate on its own thread,
+	 * instead of never. Must be called in {@link #onInit()} at the latest, the
+	 * updates start once the application is loaded. The logic publishes its
+	 * results to the rendering with a {@link SnapshotBuffer}.
+	 * 
+	 * @param ticksPerSecond The number of logic updates per second
+	 */
+	public void setLogicRate(int ticksPerSecond) {
+		if (logic != null && logic.isRunning())
+			throw new IllegalStateException("The logic thread is already running");
+		
+		logic = new LogicThread(this, ticksPerSecond);
+	}
+	
+	/**
+	 * @return The thread calling {@link #onGameLogicUpdate()}, or null if
+	 *         {@link #setLogicRate(int)} has not been called
+	 */
+	public LogicThread getLogicThread() {
+		return logic;
+	}
+	
+	/**
+	 * Invoked instead of {@link #onGraphicRender(GdxGraphics)} while the
+	 * images created in {@link #onInit()} are loading. Draws a progress bar
+	 * by default.
+	 * 
+	 * @param g
+	 * @param progress Between 0 and 1
+	 */
+	public void onLoadingRender(GdxGraphics g, float progress) {
+		final int w = g.getScreenWidth(), h = g.getScreenHeight();
+		g.clear();
+		g.setColor(Color.WHITE);
+		g.drawRectangle(w / 4, h / 2 - 5, w / 2, 10, 0);
+		g.drawFilledRectangle(w / 4, h / 2 - 5, w / 2 * progress, 10, 0);
+	}
+	
 	/**
 	 * Invoked when the pointer is depressed (once)
 	 */
@@ -214,7 +274,22 @@ public abstract class PortableApplication implements TouchInterface,
 	public PortableApplication(boolean onAndroid, int width, int height) {
 		this.onAndroid = onAndroid;
 		
-		if (!onAndroid)			
+		if (!onAndroid && System.getProperty(HEADLESS_FRAMES_PROPERTY) != null)
+		{
+			final int nFrames = Integer.parseInt(System.getProperty(HEADLESS_FRAMES_PROPERTY));
+			
+			// Like the desktop back-end, the natives and Gdx fields are set
+			// now, for the fields of the sub-class, and frames are run on
+			// their own thread
+			final HeadlessApplication headless = new HeadlessApplication(new Game2D(this), width, height);
+			new Thread("gdx2d headless") {
+				@Override
+				public void run() {
+					runHeadless(headless, nFrames);
+				}
+			}.start();
+		}
+		else if (!onAndroid)			
 		{
 			// Not sure if usable
 			Thread.currentThread().setPriority(Thread.MAX_PRIORITY);
@@ -244,6 +319,30 @@ public abstract class PortableApplication implements TouchInterface,
 		}
 	}
 	
+	/**
+	 * Runs the application for a fixed number of frames with the headless
+	 * back-end and reports the rendering counters of each frame
+	 * @param headless The headless back-end running the application
+	 * @param nFrames The number of frames to render
+	 * @return The rendering counters
+	 */
+	protected FrameStatistics runHeadless(HeadlessApplication headless, int nFrames) {
+		FrameStatistics stats = headless.run(nFrames);
+		stats.printSummary(System.out);
+		
+		String csv = System.getProperty(HEADLESS_CSV_PROPERTY);
+		if(csv != null){
+			try {
+				PrintStream out = new PrintStream(csv);
+				stats.printFrames(out);
+				out.close();
+			} catch (FileNotFoundException e) {
+				Gdx.app.error("[GDX2DLib]", "Unable to write headless statistics", e);
+			}
+		}
+		return stats;
+	}
+	
 	/**
 	 * Creates an application using gdx2d
 	 * @param onAndroid True if running on Android
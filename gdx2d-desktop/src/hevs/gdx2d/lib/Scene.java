@@ -0,0 +1,276 @@
+package hevs.gdx2d.lib;
+
+import hevs.gdx2d.lib.interfaces.DrawableObject;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A container of {@link DrawableObject}s which only draws the objects visible
+ * by the camera. The objects are stored with their bounding box in a uniform
+ * grid, so that finding the visible objects does not depend on the size of
+ * the scene. Objects are drawn in the order in which they were added. An
+ * object is in the scene at most once, adding it again replaces it.
+ * 
+ * @version 1.1
+ */
+public class Scene {
+
+	private static class Item {
+		final DrawableObject object;
+		final Rectangle bounds = new Rectangle();
+		int order;
+
+		// Without bounds, in always instead of the cells
+		final boolean always;
+
+		// Last frame in which the item was found visible, for objects in
+		// several cells
+		int frame = -1;
+
+		Item(DrawableObject object, boolean always) {
+			this.object = object;
+			this.always = always;
+		}
+	}
+
+	private static final Comparator<Item> byOrder = new Comparator<Item>() {
+		@Override
+		public int compare(Item a, Item b) {
+			return a.order - b.order;
+		}
+	};
+
+	private final float cellSize;
+	private final LongMap<Array<Item>> cells = new LongMap<Array<Item>>();
+	private final ObjectMap<DrawableObject, Item> items = new ObjectMap<DrawableObject, Item>();
+
+	// Objects without bounds, always drawn
+	private final Array<Item> always = new Array<Item>();
+
+	private final Array<Item> visible = new Array<Item>();
+	private final Rectangle view = new Rectangle();
+	private int nextOrder = 0;
+	private int frame = 0;
+	private int drawn = 0, culled = 0;
+
+	/**
+	 * Creates a scene with cells of 256 pixels
+	 */
+	public Scene() {
+		this(256);
+	}
+
+	/**
+	 * @param cellSize The size of the cells of the grid, in pixels. Should
+	 *            be a bit larger than the typical object.
+	 */
+	public Scene(float cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Adds an object which is always drawn (e.g. a background). If it is
+	 * already in the scene, it is replaced and drawn after the others.
+	 * @param object
+	 */
+	public void add(DrawableObject object) {
+		remove(object);
+
+		Item item = new Item(object, true);
+		item.order = nextOrder++;
+		items.put(object, item);
+		always.add(item);
+	}
+
+	/**
+	 * Adds an object, drawn only if its bounds are visible. If it is already
+	 * in the scene, it is replaced and drawn after the others.
+	 * @param object
+	 * @param x Left of the bounds, in pixels
+	 * @param y Bottom of the bounds
+	 * @param width
+	 * @param height
+	 */
+	public void add(DrawableObject object, float x, float y, float width, float height) {
+		remove(object);
+
+		Item item = new Item(object, false);
+		item.order = nextOrder++;
+		item.bounds.set(x, y, width, height);
+		items.put(object, item);
+		insert(item);
+	}
+
+	/**
+	 * Changes the bounds of an object which moved
+	 * @param object
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	public void move(DrawableObject object, float x, float y, float width, float height) {
+		Item item = items.get(object);
+
+		if (item == null || item.always)
+			return;
+
+		erase(item);
+		item.bounds.set(x, y, width, height);
+		insert(item);
+	}
+
+	/**
+	 * Removes an object from the scene
+	 * @param object
+	 */
+	public void remove(DrawableObject object) {
+		Item item = items.remove(object);
+
+		if (item == null)
+			return;
+
+		if (item.always)
+			always.removeValue(item, true);
+		else
+			erase(item);
+	}
+
+	/**
+	 * Removes all the objects
+	 */
+	public void clear() {
+		cells.clear();
+		items.clear();
+		always.clear();
+		nextOrder = 0;
+	}
+
+	/**
+	 * @return The number of objects in the scene
+	 */
+	public int size() {
+		return items.size;
+	}
+
+	/**
+	 * Draws the objects visible by the camera of g
+	 * @param g
+	 */
+	public void draw(GdxGraphics g) {
+		draw(g, g.getCamera());
+	}
+
+	/**
+	 * Draws the objects visible by a camera
+	 * @param g
+	 * @param camera
+	 */
+	public void draw(GdxGraphics g, OrthographicCamera camera) {
+		final float w = camera.viewportWidth * camera.zoom, h = camera.viewportHeight * camera.zoom;
+		view.set(camera.position.x - w / 2, camera.position.y - h / 2, w, h);
+		draw(g, view);
+	}
+
+	/**
+	 * Draws the objects intersecting a rectangle
+	 * @param g
+	 * @param area In pixels
+	 */
+	public void draw(GdxGraphics g, Rectangle area) {
+		frame++;
+		visible.clear();
+		visible.addAll(always);
+
+		final int x0 = cell(area.x), x1 = cell(area.x + area.width);
+		final int y0 = cell(area.y), y1 = cell(area.y + area.height);
+
+		for (int cx = x0; cx <= x1; cx++) {
+			for (int cy = y0; cy <= y1; cy++) {
+				Array<Item> cell = cells.get(key(cx, cy));
+
+				if (cell == null)
+					continue;
+
+				for (int i = 0; i < cell.size; i++) {
+					Item item = cell.get(i);
+
+					if (item.frame != frame && item.bounds.overlaps(area)) {
+						item.frame = frame;
+						visible.add(item);
+					}
+				}
+			}
+		}
+
+		visible.sort(byOrder);
+
+		for (int i = 0; i < visible.size; i++)
+			visible.get(i).object.draw(g);
+
+		drawn = visible.size;
+		culled = items.size - drawn;
+		visible.clear();
+	}
+
+	/**
+	 * @return The number of objects drawn by the last {@link #draw(GdxGraphics)}
+	 */
+	public int getDrawnCount() {
+		return drawn;
+	}
+
+	/**
+	 * @return The number of objects not drawn by the last
+	 *         {@link #draw(GdxGraphics)} because not visible
+	 */
+	public int getCulledCount() {
+		return culled;
+	}
+
+	private int cell(float v) {
+		return MathUtils.floor(v / cellSize);
+	}
+
+	private static long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+
+	private void insert(Item item) {
+		final Rectangle b = item.bounds;
+
+		for (int cx = cell(b.x); cx <= cell(b.x + b.width); cx++) {
+			for (int cy = cell(b.y); cy <= cell(b.y + b.height); cy++) {
+				long k = key(cx, cy);
+				Array<Item> cell = cells.get(k);
+
+				if (cell == null) {
+					cell = new Array<Item>(false, 8);
+					cells.put(k, cell);
+				}
+
+				cell.add(item);
+			}
+		}
+	}
+
+	private void erase(Item item) {
+		final Rectangle b = item.bounds;
+
+		for (int cx = cell(b.x); cx <= cell(b.x + b.width); cx++) {
+			for (int cy = cell(b.y); cy <= cell(b.y + b.height); cy++) {
+				Array<Item> cell = cells.get(key(cx, cy));
+
+				if (cell != null)
+					cell.removeValue(item, true);
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package hevs.gdx2d.lib;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes the state computed by the logic thread (see
+ * {@link PortableApplication#setLogicRate(int)}) to the rendering thread,
+ * without locks and without copies.
+ * <p>
+ * The buffer holds three instances of the state: the logic thread writes into
+ * one ({@link #getWriteBuffer()}) and publishes it when complete
+ * ({@link #publish()}), the rendering thread reads the last published one
+ * ({@link #getReadBuffer()}), the third one is exchanged between them. A
+ * thread never waits for the other one, and the state being read is never
+ * modified.
+ * <p>
+ * The states must be written completely at each publication, as a buffer
+ * given to write contains the state published two times before.
+ *
+ * @version 1.0
+ * @param <T> The state, e.g. an array of positions
+ */
+public class SnapshotBuffer<T> {
+	// Set in the shared index when it has been published and not read yet
+	private static final int FRESH = 4;
+
+	private final T[] buffers;
+	private final AtomicInteger shared = new AtomicInteger(1);
+	private int write = 0;
+	private int read = 2;
+
+	/**
+	 * @param a
+	 * @param b
+	 * @param c Three distinct instances of the state
+	 */
+	public SnapshotBuffer(T a, T b, T c) {
+		@SuppressWarnings("unchecked")
+		T[] buffers = (T[]) new Object[] { a, b, c };
+		this.buffers = buffers;
+	}
+
+	/**
+	 * @return The state to fill, for the logic thread only
+	 */
+	public T getWriteBuffer() {
+		return buffers[write];
+	}
+
+	/**
+	 * Makes the state filled since the last call available to the reader
+	 */
+	public void publish() {
+		write = shared.getAndSet(write | FRESH) & ~FRESH;
+	}
+
+	/**
+	 * @return The last published state, for the rendering thread only. It is
+	 *         valid until the next call.
+	 */
+	public T getReadBuffer() {
+		if ((shared.get() & FRESH) != 0)
+			read = shared.getAndSet(read) & ~FRESH;
+
+		return buffers[read];
+	}
+
+	/**
+	 * @return True if a state has been published since the last
+	 *         {@link #getReadBuffer()}
+	 */
+	public boolean hasNewState() {
+		return (shared.get() & FRESH) != 0;
+	}
+}
@@ -0,0 +1,106 @@
+package hevs.gdx2d.lib.headless;
+
+import java.lang.reflect.Method;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * A GL20 implementation that does not render anything but counts
+ * the calls made to it. Shaders always compile, textures and buffers
+ * get unique handles so that the libgdx classes ({@code SpriteBatch},
+ * {@code ShapeRenderer}, {@code Texture}...) can be used without a GPU.
+ * 
+ * @version 1.0
+ */
+public class CountingGL extends NullHandler {
+	private final GL20 gl;
+
+	// Handle generator for textures, buffers, shaders and programs
+	private int handles = 1;
+
+	private int calls, drawCalls, textureBinds, vertices;
+
+	public CountingGL() {
+		gl = stub(GL20.class, this);
+	}
+
+	/**
+	 * @return The GL20 implementation to install in {@code Gdx.gl}
+	 */
+	public GL20 getGL20() {
+		return gl;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class)
+			return objectMethod(proxy, method, args);
+
+		calls++;
+		String name = method.getName();
+
+		if (name.equals("glDrawArrays")) {
+			drawCalls++;
+			vertices += (Integer) args[2];
+		} else if (name.equals("glDrawElements")) {
+			drawCalls++;
+			vertices += (Integer) args[1];
+		} else if (name.equals("glBindTexture")) {
+			textureBinds++;
+		} else if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+			// Everything compiles and links, nothing is active
+			int pname = (Integer) args[1];
+			IntBuffer params = (IntBuffer) args[2];
+			boolean ok = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+			params.put(params.position(), ok ? 1 : 0);
+		} else if (name.equals("glGenTextures") || name.equals("glGenBuffers")
+				|| name.equals("glGenFramebuffers") || name.equals("glGenRenderbuffers")) {
+			IntBuffer ids = (IntBuffer) args[1];
+			for (int i = 0; i < (Integer) args[0]; i++)
+				ids.put(ids.position() + i, handles++);
+		} else if (name.startsWith("glGen") || name.startsWith("glCreate")) {
+			if (method.getReturnType() == int.class)
+				return handles++;
+		}
+
+		return defaultValue(method.getReturnType());
+	}
+
+	/**
+	 * @return The total number of GL calls since the last {@link #reset()}
+	 */
+	public int getCalls() {
+		return calls;
+	}
+
+	/**
+	 * @return The number of glDrawArrays / glDrawElements since the last
+	 *         {@link #reset()}
+	 */
+	public int getDrawCalls() {
+		return drawCalls;
+	}
+
+	/**
+	 * @return The number of texture binds since the last {@link #reset()}
+	 */
+	public int getTextureBinds() {
+		return textureBinds;
+	}
+
+	/**
+	 * @return The number of vertices (or indices) submitted since the last
+	 *         {@link #reset()}
+	 */
+	public int getVertices() {
+		return vertices;
+	}
+
+	/**
+	 * Resets all counters
+	 */
+	public void reset() {
+		calls = drawCalls = textureBinds = vertices = 0;
+	}
+}
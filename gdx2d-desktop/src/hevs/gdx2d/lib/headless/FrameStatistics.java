@@ -0,0 +1,106 @@
+package hevs.gdx2d.lib.headless;
+
+import java.io.PrintStream;
+
+/**
+ * Per-frame rendering counters collected by a {@link HeadlessApplication}
+ * run: GL draw calls, GL calls, {@code SpriteBatch} flushes,
+ * {@code ShapeRenderer} begin/end pairs and shape/sprite mode transitions.
+ * 
+ * @version 1.0
+ */
+public class FrameStatistics {
+	public static final String[] COLUMNS = { "drawCalls", "glCalls", "spriteFlushes", "shapeBatches",
+			"modeTransitions" };
+
+	public static final int DRAW_CALLS = 0;
+	public static final int GL_CALLS = 1;
+	public static final int SPRITE_FLUSHES = 2;
+	public static final int SHAPE_BATCHES = 3;
+	public static final int MODE_TRANSITIONS = 4;
+
+	// One line per frame, one column per counter
+	private final int[][] values;
+	private int frames = 0;
+
+	public FrameStatistics(int maxFrames) {
+		values = new int[maxFrames][COLUMNS.length];
+	}
+
+	/**
+	 * Records the counters of the next frame
+	 */
+	void record(int drawCalls, int glCalls, int spriteFlushes, int shapeBatches, int modeTransitions) {
+		int[] v = values[frames++];
+		v[DRAW_CALLS] = drawCalls;
+		v[GL_CALLS] = glCalls;
+		v[SPRITE_FLUSHES] = spriteFlushes;
+		v[SHAPE_BATCHES] = shapeBatches;
+		v[MODE_TRANSITIONS] = modeTransitions;
+	}
+
+	/**
+	 * @return The number of recorded frames
+	 */
+	public int getFrames() {
+		return frames;
+	}
+
+	/**
+	 * @param frame
+	 * @param counter One of the constants, e.g. {@link #DRAW_CALLS}
+	 * @return The value of a counter for a frame
+	 */
+	public int get(int frame, int counter) {
+		return values[frame][counter];
+	}
+
+	/**
+	 * @return The mean value of a counter over all the frames
+	 */
+	public float mean(int counter) {
+		if (frames == 0)
+			return 0;
+
+		long sum = 0;
+		for (int i = 0; i < frames; i++)
+			sum += values[i][counter];
+		return sum / (float) frames;
+	}
+
+	/**
+	 * @return The maximum value of a counter over all the frames
+	 */
+	public int max(int counter) {
+		int max = 0;
+		for (int i = 0; i < frames; i++)
+			max = Math.max(max, values[i][counter]);
+		return max;
+	}
+
+	/**
+	 * Prints one line per frame, comma separated
+	 */
+	public void printFrames(PrintStream out) {
+		out.print("frame");
+		for (String c : COLUMNS)
+			out.print("," + c);
+		out.println();
+
+		for (int i = 0; i < frames; i++) {
+			out.print(i);
+			for (int v : values[i])
+				out.print("," + v);
+			out.println();
+		}
+	}
+
+	/**
+	 * Prints the mean and max of each counter
+	 */
+	public void printSummary(PrintStream out) {
+		out.println("Headless run of " + frames + " frames");
+		for (int c = 0; c < COLUMNS.length; c++)
+			out.println(String.format("  %-16s mean %10.1f  max %8d", COLUMNS[c], mean(c), max(c)));
+	}
+}
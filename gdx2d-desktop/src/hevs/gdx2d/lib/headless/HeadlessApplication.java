@@ -0,0 +1,238 @@
+package hevs.gdx2d.lib.headless;
+
+import hevs.gdx2d.lib.Game2D;
+import hevs.gdx2d.lib.GdxGraphics;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.Net;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.backends.lwjgl.LwjglPreferences;
+import com.badlogic.gdx.utils.Clipboard;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * An {@link Application} which runs without window, GPU nor sound. The
+ * GL calls are counted by a {@link CountingGL} instead of being executed,
+ * which makes it suitable for benchmarks and for servers without display.
+ * Creating an instance installs it in the {@link Gdx} static fields.
+ * <p>
+ * With a listener, {@link #run(int)} drives it for a fixed number of frames
+ * and records the rendering counters of each frame.
+ * 
+ * @version 1.0
+ */
+public class HeadlessApplication implements Application {
+	protected final CountingGL countingGL;
+	protected final HeadlessGraphics graphics;
+	protected final Files files;
+	protected final Input input;
+	protected ApplicationListener listener;
+	protected int logLevel = LOG_INFO;
+
+	/**
+	 * Installs the headless back-end with a surface of the given size
+	 * @param width
+	 * @param height
+	 */
+	public HeadlessApplication(int width, int height) {
+		GdxNativesLoader.load();
+
+		countingGL = new CountingGL();
+		graphics = new HeadlessGraphics(countingGL.getGL20(), width, height);
+		files = new LwjglFiles();
+		input = NullHandler.stub(Input.class, new NullHandler());
+
+		Gdx.app = this;
+		Gdx.graphics = graphics;
+		Gdx.files = files;
+		Gdx.input = input;
+		Gdx.audio = null;
+		Gdx.net = null;
+		Gdx.gl = countingGL.getGL20();
+		Gdx.gl20 = countingGL.getGL20();
+		Gdx.gl10 = null;
+		Gdx.gl11 = null;
+	}
+
+	/**
+	 * Installs the headless back-end for a listener (typically a
+	 * {@link Game2D}), see {@link #run(int)}
+	 * @param listener
+	 * @param width
+	 * @param height
+	 */
+	public HeadlessApplication(ApplicationListener listener, int width, int height) {
+		this(width, height);
+		this.listener = listener;
+	}
+
+	/**
+	 * Creates the listener, renders a fixed number of frames and disposes it
+	 * @param nFrames
+	 * @return The counters of each frame
+	 */
+	public FrameStatistics run(int nFrames) {
+		FrameStatistics stats = new FrameStatistics(nFrames);
+		listener.create();
+		listener.resize(graphics.getWidth(), graphics.getHeight());
+
+		for (int i = 0; i < nFrames; i++) {
+			GdxGraphics g = Game2D.g;
+			if (g != null)
+				g.resetStatistics();
+			countingGL.reset();
+
+			listener.render();
+			graphics.nextFrame();
+
+			if (g != null)
+				stats.record(countingGL.getDrawCalls(), countingGL.getCalls(), g.getSpriteFlushes(),
+						g.getShapeBatches(), g.getModeTransitions());
+			else
+				stats.record(countingGL.getDrawCalls(), countingGL.getCalls(), 0, 0, 0);
+		}
+
+		listener.pause();
+		listener.dispose();
+		return stats;
+	}
+
+	/**
+	 * @return The GL implementation counting the calls
+	 */
+	public CountingGL getCountingGL() {
+		return countingGL;
+	}
+
+	@Override
+	public ApplicationListener getApplicationListener() {
+		return listener;
+	}
+
+	@Override
+	public HeadlessGraphics getGraphics() {
+		return graphics;
+	}
+
+	@Override
+	public Audio getAudio() {
+		return null;
+	}
+
+	@Override
+	public Input getInput() {
+		return input;
+	}
+
+	@Override
+	public Files getFiles() {
+		return files;
+	}
+
+	@Override
+	public Net getNet() {
+		return null;
+	}
+
+	@Override
+	public void log(String tag, String message) {
+		if (logLevel >= LOG_INFO)
+			System.out.println(tag + ": " + message);
+	}
+
+	@Override
+	public void log(String tag, String message, Exception exception) {
+		if (logLevel >= LOG_INFO) {
+			System.out.println(tag + ": " + message);
+			exception.printStackTrace(System.out);
+		}
+	}
+
+	@Override
+	public void error(String tag, String message) {
+		if (logLevel >= LOG_ERROR)
+			System.err.println(tag + ": " + message);
+	}
+
+	@Override
+	public void error(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_ERROR) {
+			System.err.println(tag + ": " + message);
+			exception.printStackTrace(System.err);
+		}
+	}
+
+	@Override
+	public void debug(String tag, String message) {
+		if (logLevel >= LOG_DEBUG)
+			System.out.println(tag + ": " + message);
+	}
+
+	@Override
+	public void debug(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_DEBUG) {
+			System.out.println(tag + ": " + message);
+			exception.printStackTrace(System.out);
+		}
+	}
+
+	@Override
+	public void setLogLevel(int logLevel) {
+		this.logLevel = logLevel;
+	}
+
+	@Override
+	public ApplicationType getType() {
+		return ApplicationType.Desktop;
+	}
+
+	@Override
+	public int getVersion() {
+		return 0;
+	}
+
+	@Override
+	public long getJavaHeap() {
+		return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+	}
+
+	@Override
+	public long getNativeHeap() {
+		return getJavaHeap();
+	}
+
+	@Override
+	public Preferences getPreferences(String name) {
+		return new LwjglPreferences(name);
+	}
+
+	@Override
+	public Clipboard getClipboard() {
+		return null;
+	}
+
+	@Override
+	public void postRunnable(Runnable runnable) {
+		runnable.run();
+	}
+
+	@Override
+	public void exit() {
+	}
+
+	@Override
+	public void addLifecycleListener(LifecycleListener listener) {
+	}
+
+	@Override
+	public void removeLifecycleListener(LifecycleListener listener) {
+	}
+}
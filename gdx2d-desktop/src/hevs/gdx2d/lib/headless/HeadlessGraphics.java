@@ -0,0 +1,195 @@
+package hevs.gdx2d.lib.headless;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+
+/**
+ * A {@link Graphics} implementation without any window. Time does
+ * not flow by itself: each call to {@link #nextFrame()} advances it by
+ * a fixed delta, which makes runs reproducible.
+ * 
+ * @version 1.0
+ */
+public class HeadlessGraphics implements Graphics {
+	private final GL20 gl;
+	private final int width, height;
+	private float deltaTime = 1 / 60f;
+	private long frameId = 0;
+
+	public HeadlessGraphics(GL20 gl, int width, int height) {
+		this.gl = gl;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Sets the simulated time between two frames
+	 * @param dt in seconds
+	 */
+	public void setDeltaTime(float dt) {
+		deltaTime = dt;
+	}
+
+	/**
+	 * Advances the simulated time by one frame
+	 */
+	public void nextFrame() {
+		frameId++;
+	}
+
+	/**
+	 * @return The number of frames simulated so far
+	 */
+	public long getFrameId() {
+		return frameId;
+	}
+
+	@Override
+	public boolean isGL11Available() {
+		return false;
+	}
+
+	@Override
+	public boolean isGL20Available() {
+		return true;
+	}
+
+	@Override
+	public GLCommon getGLCommon() {
+		return gl;
+	}
+
+	@Override
+	public GL10 getGL10() {
+		return null;
+	}
+
+	@Override
+	public GL11 getGL11() {
+		return null;
+	}
+
+	@Override
+	public GL20 getGL20() {
+		return gl;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public float getDeltaTime() {
+		return deltaTime;
+	}
+
+	@Override
+	public float getRawDeltaTime() {
+		return deltaTime;
+	}
+
+	@Override
+	public int getFramesPerSecond() {
+		return Math.round(1 / deltaTime);
+	}
+
+	@Override
+	public GraphicsType getType() {
+		return GraphicsType.LWJGL;
+	}
+
+	@Override
+	public float getPpiX() {
+		return 96;
+	}
+
+	@Override
+	public float getPpiY() {
+		return 96;
+	}
+
+	@Override
+	public float getPpcX() {
+		return 96 / 2.54f;
+	}
+
+	@Override
+	public float getPpcY() {
+		return 96 / 2.54f;
+	}
+
+	@Override
+	public float getDensity() {
+		return 1;
+	}
+
+	@Override
+	public boolean supportsDisplayModeChange() {
+		return false;
+	}
+
+	@Override
+	public DisplayMode[] getDisplayModes() {
+		return new DisplayMode[0];
+	}
+
+	@Override
+	public DisplayMode getDesktopDisplayMode() {
+		return null;
+	}
+
+	@Override
+	public boolean setDisplayMode(DisplayMode displayMode) {
+		return false;
+	}
+
+	@Override
+	public boolean setDisplayMode(int width, int height, boolean fullscreen) {
+		return false;
+	}
+
+	@Override
+	public void setTitle(String title) {
+	}
+
+	@Override
+	public void setVSync(boolean vsync) {
+	}
+
+	@Override
+	public BufferFormat getBufferFormat() {
+		return new BufferFormat(8, 8, 8, 8, 0, 0, 0, false);
+	}
+
+	@Override
+	public boolean supportsExtension(String extension) {
+		return false;
+	}
+
+	@Override
+	public void setContinuousRendering(boolean isContinuous) {
+	}
+
+	@Override
+	public boolean isContinuousRendering() {
+		return true;
+	}
+
+	@Override
+	public void requestRendering() {
+	}
+
+	@Override
+	public boolean isFullscreen() {
+		return false;
+	}
+}
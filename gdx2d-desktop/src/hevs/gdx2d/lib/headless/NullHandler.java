@@ -0,0 +1,69 @@
+package hevs.gdx2d.lib.headless;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * An invocation handler which does nothing and returns default
+ * values (0, false, empty strings). Used to stub the large libgdx
+ * interfaces (GL, input...) that are not meaningful without a display.
+ * 
+ * @version 1.0
+ */
+class NullHandler implements InvocationHandler {
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class)
+			return objectMethod(proxy, method, args);
+
+		return defaultValue(method.getReturnType());
+	}
+
+	/**
+	 * Handles equals, hashCode and toString so that proxies can be stored in
+	 * collections
+	 */
+	protected Object objectMethod(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+
+		if (name.equals("equals"))
+			return proxy == args[0];
+		if (name.equals("hashCode"))
+			return System.identityHashCode(proxy);
+		return getClass().getSimpleName();
+	}
+
+	static Object defaultValue(Class<?> type) {
+		if (type == void.class)
+			return null;
+		if (type == boolean.class)
+			return false;
+		if (type == int.class)
+			return 0;
+		if (type == float.class)
+			return 0f;
+		if (type == long.class)
+			return 0L;
+		if (type == double.class)
+			return 0d;
+		if (type == short.class)
+			return (short) 0;
+		if (type == byte.class)
+			return (byte) 0;
+		if (type == char.class)
+			return (char) 0;
+		if (type == String.class)
+			return "";
+		return null;
+	}
+
+	/**
+	 * Creates a stub implementing an interface using this handler
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T stub(Class<T> itf, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(itf.getClassLoader(), new Class<?>[] { itf }, handler);
+	}
+}
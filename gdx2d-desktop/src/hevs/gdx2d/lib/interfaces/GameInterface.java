@@ -32,7 +32,9 @@ public interface GameInterface {
 	public void onGraphicRender(GdxGraphics g);
 	
 	/**
-	 * Called when the logic has to be updated. Might not be called
+	 * Called at a fixed rate on a dedicated thread when enabled with
+	 * {@link hevs.gdx2d.lib.PortableApplication#setLogicRate(int)}, never
+	 * called otherwise
 	 */
 	public abstract void onGameLogicUpdate();
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package hevs.gdx2d.lib.perf_tests;
+
+/**
+ * A single benchmark run by the {@link Benchmarker}. Subclasses implement
+ * {@link #run()}, which is called repeatedly and timed. The work done
+ * should be folded into {@link #sink} so that the JIT can not remove it.
+ * 
+ * @version 1.0
+ */
+public abstract class Benchmark {
+	protected final String name;
+
+	// Accumulates results so that dead-code elimination can not kick in
+	protected int sink;
+
+	public Benchmark(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Called once before the warm-up, not timed
+	 */
+	public void setUp() {
+	}
+
+	/**
+	 * One operation of the benchmark, timed
+	 */
+	public abstract void run();
+
+	/**
+	 * Called once after the measurements, not timed
+	 */
+	public void tearDown() {
+	}
+
+	/**
+	 * @return Extra information printed along the timings (may be empty)
+	 */
+	public String getDetails() {
+		return "";
+	}
+
+	/**
+	 * @return The accumulated results, printed to keep them alive
+	 */
+	public int getSink() {
+		return sink;
+	}
+}
@@ -1,14 +1,118 @@
 package hevs.gdx2d.lib.perf_tests;
 
+import hevs.gdx2d.lib.perf_tests.GraphicsBenchmark.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * TODO implement this
+ * Runs the CPU-side benchmarks of the library without any display. Each
+ * benchmark is warmed up, then timed over several samples and the time per
+ * operation is reported (mean, standard deviation and best sample).
+ * <p>
+ * Usage: {@code Benchmarker [filter]}, only the benchmarks whose name
+ * contains {@code filter} are run. Must be launched from the project
+ * directory so that the {@code data} folder is found.
+ * 
  * @author Pierre-André Mudry (mui)
- * @version 0
+ * @version 1.0
  */
 public class Benchmarker {
+	// Duration of the warm-up and of each sample, in nanoseconds
+	static final long WARMUP_NS = 2000000000L;
+	static final long SAMPLE_NS = 500000000L;
+	static final int SAMPLES = 10;
 
-	public static void main(String[] args) {
+	/**
+	 * @return All the available benchmarks
+	 */
+	public static List<Benchmark> allBenchmarks() {
+		List<Benchmark> list = new ArrayList<Benchmark>();
+		list.add(new ColorUtilsBenchmark());
+		list.add(new CatmullRomBenchmark(1000, 8));
+		list.add(new CatmullRomBenchmark(1000, 8, true));
+		list.add(new PolygonBenchmark(16));
+		list.add(new PolygonBenchmark(256));
+		list.add(new PolygonBenchmark(256, true));
+		list.add(new PhysicsBenchmark(100));
+		list.add(new PhysicsBenchmark(1000));
+		list.add(new PhysicsSpawnBenchmark(500, 50));
+		list.add(new PhysicsCreationBenchmark(10000, false));
+		list.add(new PhysicsCreationBenchmark(10000, true));
+		list.add(new StaticGeometryBenchmark(300, false));
+		list.add(new StaticGeometryBenchmark(300, true));
+		list.add(new RayCastBenchmark(1000, false));
+		list.add(new RayCastBenchmark(1000, true));
+		list.add(new PhysicsActivityBenchmark(4000, false));
+		list.add(new PhysicsActivityBenchmark(4000, true));
+		list.add(new PhysicsSchedulerBenchmark(16, 200, false));
+		list.add(new PhysicsSchedulerBenchmark(16, 200, true));
+		list.add(new GraphicsBenchmark(Scene.FILLED_CIRCLES, 500));
+		list.add(new GraphicsBenchmark(Scene.BORDERED_CIRCLES, 500));
+		list.add(new GraphicsBenchmark(Scene.BORDERED_CIRCLES, 500, true));
+		list.add(new GraphicsBenchmark(Scene.RECTANGLES, 500));
+		list.add(new GraphicsBenchmark(Scene.PICTURES, 500));
+		list.add(new ShapeGeometryBenchmark(500, false));
+		list.add(new ShapeGeometryBenchmark(500, true));
+		list.add(new TextBenchmark(50, false));
+		list.add(new TextBenchmark(50, true));
+		list.add(new ParticleBenchmark(50000));
+		list.add(new SceneBenchmark(100000));
+		list.add(new TileLayerBenchmark(2000, 100));
+		return list;
+	}
+
+	/**
+	 * Runs a benchmark and prints its timings
+	 * @param b
+	 */
+	public static void measure(Benchmark b) {
+		b.setUp();
+
+		// Warm-up, also used to find how many operations fit in a sample
+		long ops = 0;
+		long start = System.nanoTime();
+		while (System.nanoTime() - start < WARMUP_NS) {
+			b.run();
+			ops++;
+		}
+		long opsPerSample = Math.max(1, ops * SAMPLE_NS / WARMUP_NS);
+
+		double[] nsPerOp = new double[SAMPLES];
+		for (int s = 0; s < SAMPLES; s++) {
+			long t0 = System.nanoTime();
+			for (long i = 0; i < opsPerSample; i++)
+				b.run();
+			nsPerOp[s] = (System.nanoTime() - t0) / (double) opsPerSample;
+		}
 
+		double mean = 0, best = Double.MAX_VALUE;
+		for (double v : nsPerOp) {
+			mean += v;
+			best = Math.min(best, v);
+		}
+		mean /= SAMPLES;
+
+		double var = 0;
+		for (double v : nsPerOp)
+			var += (v - mean) * (v - mean);
+		double stddev = Math.sqrt(var / (SAMPLES - 1));
+
+		System.out.println(String.format("%-50s %14.1f ns/op +- %6.1f%% (best %.1f) %s", b.getName(), mean, 100
+				* stddev / mean, best, b.getDetails()));
+		b.tearDown();
+
+		// Keeps the result alive
+		if (b.getSink() == 42)
+			System.out.print("");
 	}
 
+	public static void main(String[] args) {
+		String filter = args.length > 0 ? args[0] : "";
+
+		for (Benchmark b : allBenchmarks()) {
+			if (b.getName().contains(filter))
+				measure(b);
+		}
+	}
 }
@@ -0,0 +1,63 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.lib.utils.catmull.CatmullRomPath;
+import hevs.gdx2d.lib.utils.catmull.CatmullRomUtils;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Subdivides a terrain-like path made of {@code nPoints} control points.
+ * With a {@link CatmullRomPath}, the points are written to the same array at
+ * each operation and a point is also looked up by distance.
+ * 
+ * @version 1.0
+ */
+public class CatmullRomBenchmark extends Benchmark {
+	final int nPoints, subdivisions;
+	final boolean path;
+	Vector2[] points;
+	CatmullRomPath catmullPath;
+	float[] out;
+
+	public CatmullRomBenchmark(int nPoints, int subdivisions) {
+		this(nPoints, subdivisions, false);
+	}
+
+	public CatmullRomBenchmark(int nPoints, int subdivisions, boolean path) {
+		super((path ? "CatmullRomPath.subdivide(" : "CatmullRomUtils.subdividePoints(") + nPoints + "x"
+				+ subdivisions + ")");
+		this.nPoints = nPoints;
+		this.subdivisions = subdivisions;
+		this.path = path;
+	}
+
+	@Override
+	public void setUp() {
+		Random r = new Random(1234);
+		points = new Vector2[nPoints];
+
+		for (int i = 0; i < nPoints; i++)
+			points[i] = new Vector2(i * 10, r.nextFloat() * 100);
+
+		catmullPath = new CatmullRomPath();
+		for (Vector2 p : points)
+			catmullPath.add(p.x, p.y);
+
+		out = new float[2 * ((nPoints - 1) * subdivisions + 1)];
+	}
+
+	@Override
+	public void run() {
+		if (path) {
+			sink += catmullPath.subdivide(subdivisions, out, 0);
+			catmullPath.valueAtDistance(sink % catmullPath.getLength(), out, 0);
+			sink += (int) out[1];
+			return;
+		}
+
+		Vector2[] result = CatmullRomUtils.subdividePoints(points, subdivisions);
+		sink += result.length;
+	}
+}
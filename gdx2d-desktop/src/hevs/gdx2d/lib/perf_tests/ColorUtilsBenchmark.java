@@ -0,0 +1,24 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.colors.ColorUtils;
+
+/**
+ * Converts a sweep of HSV values to RGB
+ * 
+ * @version 1.0
+ */
+public class ColorUtilsBenchmark extends Benchmark {
+	float hue = 0;
+
+	public ColorUtilsBenchmark() {
+		super("ColorUtils.hsvToRgb");
+	}
+
+	@Override
+	public void run() {
+		sink += ColorUtils.hsvToRgb(hue, 0.8f, 0.9f);
+		hue += 0.001f;
+		if (hue >= 1)
+			hue = 0;
+	}
+}
@@ -0,0 +1,126 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.headless.CountingGL;
+import hevs.gdx2d.lib.headless.HeadlessApplication;
+
+import java.util.Random;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Renders a frame of {@code nShapes} shapes through {@link GdxGraphics}.
+ * The GL calls go to a {@link CountingGL} so only the CPU side of the
+ * rendering is measured (vertex generation, batching, state changes).
+ * 
+ * @version 1.0
+ */
+public class GraphicsBenchmark extends Benchmark {
+	public enum Scene {
+		FILLED_CIRCLES, BORDERED_CIRCLES, RECTANGLES, PICTURES
+	};
+
+	final Scene scene;
+	final int nShapes;
+	final boolean deferred;
+
+	HeadlessApplication app;
+	GdxGraphics g;
+	BitmapImage image;
+	float[] x, y, r;
+	Color[] c;
+	int frames;
+
+	public GraphicsBenchmark(Scene scene, int nShapes) {
+		this(scene, nShapes, false);
+	}
+
+	/**
+	 * @param scene What to draw
+	 * @param nShapes How many shapes per frame
+	 * @param deferred Use the deferred rendering of {@link GdxGraphics}
+	 */
+	public GraphicsBenchmark(Scene scene, int nShapes, boolean deferred) {
+		super("GdxGraphics " + scene.name().toLowerCase() + "(" + nShapes + ")" + (deferred ? " deferred" : ""));
+		this.scene = scene;
+		this.nShapes = nShapes;
+		this.deferred = deferred;
+	}
+
+	@Override
+	public void setUp() {
+		app = new HeadlessApplication(500, 500);
+
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		camera.update();
+		g = new GdxGraphics(new ShapeRenderer(), new SpriteBatch(), camera);
+		g.setDeferredRendering(deferred);
+		image = new BitmapImage("data/images/Android_PI_48x48.png");
+
+		Random rand = new Random(12345);
+		x = new float[nShapes];
+		y = new float[nShapes];
+		r = new float[nShapes];
+		c = new Color[nShapes];
+
+		for (int i = 0; i < nShapes; i++) {
+			x[i] = rand.nextInt(500);
+			y[i] = rand.nextInt(500);
+			r[i] = 10 + rand.nextInt(40);
+			c[i] = new Color(rand.nextFloat(), rand.nextFloat(), rand.nextFloat(), 1);
+		}
+
+		// Starts the rendering like Game2D does, GL counters start afterwards
+		g.clear();
+		app.getCountingGL().reset();
+		frames = 0;
+	}
+
+	@Override
+	public void run() {
+		g.clear();
+
+		switch (scene) {
+		case FILLED_CIRCLES:
+			for (int i = 0; i < nShapes; i++)
+				g.drawFilledCircle(x[i], y[i], r[i], c[i]);
+			break;
+		case BORDERED_CIRCLES:
+			for (int i = 0; i < nShapes; i++)
+				g.drawFilledBorderedCircle(x[i], y[i], r[i], c[i], Color.WHITE);
+			break;
+		case RECTANGLES:
+			for (int i = 0; i < nShapes; i++)
+				g.drawFilledRectangle(x[i], y[i], r[i], r[i], 0, c[i]);
+			break;
+		case PICTURES:
+			for (int i = 0; i < nShapes; i++)
+				g.drawPicture(x[i], y[i], image);
+			break;
+		}
+
+		// End of the frame, as done by Game2D
+		g.flushDeferred();
+		frames++;
+		sink += app.getCountingGL().getCalls();
+	}
+
+	@Override
+	public String getDetails() {
+		CountingGL gl = app.getCountingGL();
+		return String.format("%.1f draw calls/frame, %.1f GL calls/frame", gl.getDrawCalls() / (float) frames,
+				gl.getCalls() / (float) frames);
+	}
+
+	@Override
+	public void tearDown() {
+		image.dispose();
+		g.dispose();
+	}
+}
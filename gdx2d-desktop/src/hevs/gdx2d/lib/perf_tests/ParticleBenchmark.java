@@ -0,0 +1,77 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.components.particles.ParticleEmitter;
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.headless.CountingGL;
+import hevs.gdx2d.lib.headless.HeadlessApplication;
+
+import java.util.Random;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Simulates and renders a frame of a {@link ParticleEmitter} holding
+ * {@code nParticles} particles, dead particles being replaced each frame.
+ * 
+ * @version 1.0
+ */
+public class ParticleBenchmark extends Benchmark {
+	final int nParticles;
+
+	HeadlessApplication app;
+	GdxGraphics g;
+	BitmapImage image;
+	ParticleEmitter emitter;
+	final Random rand = new Random(12345);
+	int frames;
+
+	public ParticleBenchmark(int nParticles) {
+		super("ParticleEmitter update + render(" + nParticles + " particles)");
+		this.nParticles = nParticles;
+	}
+
+	@Override
+	public void setUp() {
+		app = new HeadlessApplication(500, 500);
+
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		camera.update();
+		g = new GdxGraphics(new ShapeRenderer(), new SpriteBatch(), camera);
+		image = new BitmapImage("data/images/texture.png");
+		emitter = new ParticleEmitter(image, nParticles);
+
+		g.clear();
+		app.getCountingGL().reset();
+		frames = 0;
+	}
+
+	@Override
+	public void run() {
+		g.clear();
+
+		while (emitter.getCount() < nParticles)
+			emitter.emit(250, 250, rand.nextFloat() * 300 - 150, rand.nextFloat() * 300 - 150, 0.5f + rand.nextFloat());
+
+		emitter.update(1 / 60f);
+		emitter.render(g);
+		frames++;
+		sink += emitter.getCount();
+	}
+
+	@Override
+	public String getDetails() {
+		CountingGL gl = app.getCountingGL();
+		return String.format("%.1f draw calls/frame", gl.getDrawCalls() / (float) frames);
+	}
+
+	@Override
+	public void tearDown() {
+		image.dispose();
+		g.dispose();
+	}
+}
@@ -0,0 +1,85 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
+import hevs.gdx2d.lib.physics.PhysicsActivityManager;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * A frame of a level {@code LEVEL_WIDTH} pixels wide, without gravity, in
+ * which {@code nBodies} balls move, seen by a camera which scrolls. Either
+ * all the balls are simulated, or only the ones near the camera with a
+ * {@link PhysicsActivityManager}.
+ * 
+ * @version 1.0
+ */
+public class PhysicsActivityBenchmark extends Benchmark {
+	static final int LEVEL_WIDTH = 40000;
+	static final int SCREEN = 1000;
+	static final float SCROLL_SPEED = 10;
+
+	final int nBodies;
+	final boolean managed;
+
+	PhysicsWorld world;
+	PhysicsActivityManager activity;
+	float cameraX = 0;
+	float scroll = SCROLL_SPEED;
+
+	public PhysicsActivityBenchmark(int nBodies, boolean managed) {
+		super("Scrolling level, " + nBodies + " bodies (" + (managed ? "PhysicsActivityManager" : "all simulated")
+				+ ")");
+		this.nBodies = nBodies;
+		this.managed = managed;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+
+		Random r = new Random(1234);
+		world = new PhysicsWorld(new Vector2(0, 0));
+		new PhysicsScreenBoundaries(world, LEVEL_WIDTH, SCREEN);
+
+		for (int i = 0; i < nBodies; i++) {
+			PhysicsCircle c = new PhysicsCircle(world, "ball", new Vector2(20 + r.nextInt(LEVEL_WIDTH - 40),
+					20 + r.nextInt(SCREEN - 40)), 5, 1, 1, 0);
+			c.setBodyLinearVelocity(r.nextFloat() * 4 - 2, r.nextFloat() * 4 - 2);
+		}
+
+		if (managed) {
+			activity = new PhysicsActivityManager(world, SCREEN / 2, SCREEN / 4);
+			activity.addAll();
+		}
+	}
+
+	@Override
+	public void run() {
+		// The camera goes back and forth along the level
+		cameraX += scroll;
+		if (cameraX < 0 || cameraX > LEVEL_WIDTH - SCREEN)
+			scroll = -scroll;
+
+		if (managed)
+			activity.update(cameraX, 0, cameraX + SCREEN, SCREEN);
+
+		world.update(PhysicsConstants.STEP_SIZE);
+		sink += world.getWorld().getContactCount();
+	}
+
+	@Override
+	public void tearDown() {
+		world.destroy();
+	}
+
+	@Override
+	public String getDetails() {
+		return managed ? activity.getActiveCount() + " active" : "";
+	}
+}
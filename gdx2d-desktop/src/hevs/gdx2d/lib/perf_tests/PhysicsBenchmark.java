@@ -0,0 +1,48 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * Steps a world in which {@code nBodies} balls fall in a closed box
+ * 
+ * @version 1.0
+ */
+public class PhysicsBenchmark extends Benchmark {
+	final int nBodies;
+
+	public PhysicsBenchmark(int nBodies) {
+		super("PhysicsWorld.updatePhysics(" + nBodies + " bodies)");
+		this.nBodies = nBodies;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+		PhysicsWorld.dispose();
+
+		Random r = new Random(1234);
+		new PhysicsScreenBoundaries(1000, 1000);
+
+		for (int i = 0; i < nBodies; i++)
+			new PhysicsCircle("ball", new Vector2(20 + r.nextInt(960), 20 + r.nextInt(960)), 5);
+	}
+
+	@Override
+	public void run() {
+		PhysicsWorld.updatePhysics(PhysicsConstants.STEP_SIZE);
+		sink += PhysicsWorld.getInstance().getContactCount();
+	}
+
+	@Override
+	public void tearDown() {
+		PhysicsWorld.dispose();
+	}
+}
@@ -0,0 +1,65 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.lib.physics.BodyPrototype;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * Loads a level of {@code nBodies} balls into a new world, either one
+ * {@link PhysicsCircle} at a time or with a {@link BodyPrototype}
+ * 
+ * @version 1.0
+ */
+public class PhysicsCreationBenchmark extends Benchmark {
+	final int nBodies;
+	final boolean prototype;
+
+	float[] positions;
+	BodyPrototype ball;
+	final Vector2 position = new Vector2();
+
+	public PhysicsCreationBenchmark(int nBodies, boolean prototype) {
+		super("Creating " + nBodies + " bodies (" + (prototype ? "BodyPrototype" : "PhysicsCircle") + ")");
+		this.nBodies = nBodies;
+		this.prototype = prototype;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+
+		Random r = new Random(1234);
+		positions = new float[2 * nBodies];
+		for (int i = 0; i < positions.length; i++)
+			positions[i] = 20 + r.nextInt(960);
+
+		ball = BodyPrototype.circle(5);
+	}
+
+	@Override
+	public void run() {
+		PhysicsWorld world = new PhysicsWorld();
+
+		if (prototype) {
+			ball.spawn(world, positions);
+		} else {
+			for (int i = 0; i < nBodies; i++) {
+				position.set(positions[2 * i], positions[2 * i + 1]);
+				new PhysicsCircle(world, "ball", position, 5, 1, 0.3f, 0.3f);
+			}
+		}
+
+		sink += world.getWorld().getBodyCount();
+		world.destroy();
+	}
+
+	@Override
+	public void tearDown() {
+		ball.dispose();
+	}
+}
@@ -0,0 +1,80 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
+import hevs.gdx2d.lib.physics.PhysicsScheduler;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * Updates {@code nWorlds} independent worlds of {@code nBodies} balls each,
+ * one after the other or with a {@link PhysicsScheduler}
+ * 
+ * @version 1.0
+ */
+public class PhysicsSchedulerBenchmark extends Benchmark {
+	final int nWorlds, nBodies;
+	final boolean parallel;
+
+	PhysicsWorld[] worlds;
+	PhysicsScheduler scheduler;
+
+	public PhysicsSchedulerBenchmark(int nWorlds, int nBodies, boolean parallel) {
+		super("PhysicsScheduler " + nWorlds + " worlds x " + nBodies + " bodies" + (parallel ? " parallel" : " serial"));
+		this.nWorlds = nWorlds;
+		this.nBodies = nBodies;
+		this.parallel = parallel;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+		Random r = new Random(1234);
+		worlds = new PhysicsWorld[nWorlds];
+
+		if (parallel)
+			scheduler = new PhysicsScheduler();
+
+		for (int w = 0; w < nWorlds; w++) {
+			worlds[w] = new PhysicsWorld();
+			new PhysicsScreenBoundaries(worlds[w], 1000, 1000);
+
+			for (int i = 0; i < nBodies; i++)
+				new PhysicsCircle(worlds[w], "ball", new Vector2(20 + r.nextInt(960), 20 + r.nextInt(960)), 5, 10f, 0.6f, 0.6f);
+
+			if (parallel)
+				scheduler.add(worlds[w]);
+		}
+	}
+
+	@Override
+	public void run() {
+		if (parallel) {
+			scheduler.update(PhysicsConstants.STEP_SIZE);
+		} else {
+			for (int w = 0; w < nWorlds; w++)
+				worlds[w].update(PhysicsConstants.STEP_SIZE);
+		}
+
+		sink += worlds[0].getWorld().getContactCount();
+	}
+
+	@Override
+	public String getDetails() {
+		return parallel ? Runtime.getRuntime().availableProcessors() + " threads" : "";
+	}
+
+	@Override
+	public void tearDown() {
+		if (parallel)
+			scheduler.dispose();
+
+		for (PhysicsWorld w : worlds)
+			w.destroy();
+	}
+}
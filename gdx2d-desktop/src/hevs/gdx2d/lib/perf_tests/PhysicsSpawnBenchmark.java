@@ -0,0 +1,66 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * A frame of a scene which keeps {@code nBodies} balls: {@code perFrame} new
+ * balls are spawned and the oldest ones destroyed, then the world is stepped
+ * 
+ * @version 1.0
+ */
+public class PhysicsSpawnBenchmark extends Benchmark {
+	final int nBodies, perFrame;
+
+	ArrayDeque<PhysicsCircle> balls;
+	Random r;
+	final Vector2 position = new Vector2();
+
+	public PhysicsSpawnBenchmark(int nBodies, int perFrame) {
+		super("Spawning " + perFrame + " of " + nBodies + " bodies");
+		this.nBodies = nBodies;
+		this.perFrame = perFrame;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+		PhysicsWorld.dispose();
+
+		r = new Random(1234);
+		balls = new ArrayDeque<PhysicsCircle>();
+		new PhysicsScreenBoundaries(1000, 1000);
+
+		for (int i = 0; i < nBodies; i++)
+			spawn();
+	}
+
+	void spawn() {
+		position.set(20 + r.nextInt(960), 20 + r.nextInt(960));
+		balls.add(new PhysicsCircle("ball", position, 3 + r.nextInt(5)));
+	}
+
+	@Override
+	public void run() {
+		for (int i = 0; i < perFrame; i++) {
+			balls.poll().destroy();
+			spawn();
+		}
+
+		PhysicsWorld.updatePhysics(PhysicsConstants.STEP_SIZE);
+		sink += PhysicsWorld.getInstance().getBodyCount();
+	}
+
+	@Override
+	public void tearDown() {
+		PhysicsWorld.dispose();
+	}
+}
@@ -0,0 +1,56 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.geometry.Vector2D;
+import hevs.gdx2d.components.graphics.Polygon;
+
+/**
+ * Builds (and thus triangulates) a star shaped polygon and tests
+ * a point against it. When {@code moving}, the polygon is built once and
+ * only rotated and tested at each operation, as a moving polygon would be
+ * every frame.
+ * 
+ * @version 1.0
+ */
+public class PolygonBenchmark extends Benchmark {
+	final int nVertices;
+	final boolean moving;
+	Vector2D[] points;
+	Polygon polygon;
+	final Vector2D center = new Vector2D(0, 0);
+
+	public PolygonBenchmark(int nVertices) {
+		this(nVertices, false);
+	}
+
+	public PolygonBenchmark(int nVertices, boolean moving) {
+		super((moving ? "Polygon rotation(" : "Polygon triangulation(") + nVertices + ")");
+		this.nVertices = nVertices;
+		this.moving = moving;
+	}
+
+	@Override
+	public void setUp() {
+		points = new Vector2D[nVertices];
+
+		for (int i = 0; i < nVertices; i++) {
+			double angle = 2 * Math.PI * i / nVertices;
+			int radius = i % 2 == 0 ? 100 : 50;
+			points[i] = new Vector2D((int) (Math.cos(angle) * radius), (int) (Math.sin(angle) * radius));
+		}
+
+		polygon = new Polygon(points);
+	}
+
+	@Override
+	public void run() {
+		Polygon p = polygon;
+
+		if (moving)
+			p.rotate(1);
+		else
+			p = new Polygon(points);
+
+		sink += p.getEarClippedVertices().length;
+		sink += p.contains(center) ? 1 : 0;
+	}
+}
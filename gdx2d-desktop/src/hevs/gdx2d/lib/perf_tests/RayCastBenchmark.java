@@ -0,0 +1,87 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
+import hevs.gdx2d.lib.physics.AbstractPhysicsObject;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * Casts {@code nRays} lines of sight between random points of a world of
+ * balls, either all at once with
+ * {@link PhysicsWorld#rayCast(float[], int, AbstractPhysicsObject[], float[])}
+ * or one at a time with a callback and vectors created for each ray
+ * 
+ * @version 1.0
+ */
+public class RayCastBenchmark extends Benchmark {
+	final int nRays;
+	final boolean batched;
+
+	PhysicsWorld world;
+	float[] rays;
+	float[] fractions;
+	AbstractPhysicsObject[] objects;
+
+	public RayCastBenchmark(int nRays, boolean batched) {
+		super("Casting " + nRays + " rays (" + (batched ? "batched" : "one callback per ray") + ")");
+		this.nRays = nRays;
+		this.batched = batched;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+
+		Random r = new Random(1234);
+		world = new PhysicsWorld();
+		new PhysicsScreenBoundaries(world, 1000, 1000);
+
+		for (int i = 0; i < 500; i++)
+			new PhysicsCircle(world, "ball", new Vector2(20 + r.nextInt(960), 20 + r.nextInt(960)), 8, 1, 0.3f, 0.3f);
+
+		rays = new float[4 * nRays];
+		for (int i = 0; i < rays.length; i++)
+			rays[i] = 20 + r.nextInt(960);
+
+		fractions = new float[nRays];
+		objects = new AbstractPhysicsObject[nRays];
+	}
+
+	@Override
+	public void run() {
+		if (batched) {
+			sink += world.rayCast(rays, nRays, objects, fractions);
+			return;
+		}
+
+		final float k = PhysicsConstants.PIXEL_TO_METERS;
+
+		for (int i = 0; i < nRays; i++) {
+			final float[] closest = { 1 };
+
+			world.getWorld().rayCast(new RayCastCallback() {
+				@Override
+				public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
+					closest[0] = fraction;
+					return fraction;
+				}
+			}, new Vector2(rays[4 * i], rays[4 * i + 1]).scl(k), new Vector2(rays[4 * i + 2], rays[4 * i + 3]).scl(k));
+
+			if (closest[0] < 1)
+				sink++;
+		}
+	}
+
+	@Override
+	public void tearDown() {
+		world.destroy();
+	}
+}
@@ -0,0 +1,66 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.Scene;
+import hevs.gdx2d.lib.interfaces.DrawableObject;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Finds the objects of a {@link Scene} visible in a 1000x600 view moving
+ * over a level of {@code nObjects} objects 64 pixels wide. Drawing is not
+ * measured, the objects only count the calls.
+ * 
+ * @version 1.0
+ */
+public class SceneBenchmark extends Benchmark {
+	final int nObjects;
+
+	Scene scene;
+	final Rectangle view = new Rectangle(0, 0, 1000, 600);
+	float levelWidth;
+
+	final DrawableObject counter = new DrawableObject() {
+		@Override
+		public void draw(GdxGraphics g) {
+			sink++;
+		}
+	};
+
+	public SceneBenchmark(int nObjects) {
+		super("Scene.draw(" + nObjects + " objects)");
+		this.nObjects = nObjects;
+	}
+
+	@Override
+	public void setUp() {
+		Random r = new Random(1234);
+		scene = new Scene();
+
+		// A level 2000 pixels high with 20 objects per 1000 pixels of width
+		levelWidth = nObjects / 20f * 1000;
+
+		for (int i = 0; i < nObjects; i++) {
+			DrawableObject o = new DrawableObject() {
+				@Override
+				public void draw(GdxGraphics g) {
+					counter.draw(g);
+				}
+			};
+			scene.add(o, r.nextFloat() * levelWidth, r.nextFloat() * 2000, 64, 64);
+		}
+	}
+
+	@Override
+	public void run() {
+		view.x = (view.x + 7) % levelWidth;
+		scene.draw(null, view);
+	}
+
+	@Override
+	public String getDetails() {
+		return scene.getDrawnCount() + " drawn, " + scene.getCulledCount() + " culled";
+	}
+}
@@ -0,0 +1,91 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.graphics.ShapeGeometry;
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.headless.CountingGL;
+import hevs.gdx2d.lib.headless.HeadlessApplication;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Draws a frame of {@code n} static circles, either with the immediate mode
+ * calls of {@link GdxGraphics} or from a single {@link ShapeGeometry}
+ * 
+ * @version 1.0
+ */
+public class ShapeGeometryBenchmark extends Benchmark {
+	static final int SEGMENTS = 16;
+
+	final int n;
+	final boolean retained;
+
+	HeadlessApplication app;
+	GdxGraphics g;
+	ShapeGeometry geometry;
+	float[] positions;
+	int frames;
+
+	public ShapeGeometryBenchmark(int n, boolean retained) {
+		super("Static circles (" + n + ", " + (retained ? "ShapeGeometry" : "immediate") + ")");
+		this.n = n;
+		this.retained = retained;
+	}
+
+	@Override
+	public void setUp() {
+		app = new HeadlessApplication(800, 600);
+
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		camera.update();
+		g = new GdxGraphics(new ShapeRenderer(), new SpriteBatch(), camera);
+
+		positions = new float[2 * n];
+		for (int i = 0; i < n; i++) {
+			positions[2 * i] = (i * 37) % 800;
+			positions[2 * i + 1] = (i * 91) % 600;
+		}
+
+		geometry = new ShapeGeometry();
+		geometry.setColor(Color.RED);
+		for (int i = 0; i < n; i++)
+			geometry.addFilledCircle(positions[2 * i], positions[2 * i + 1], 10, SEGMENTS);
+		geometry.build();
+
+		app.getCountingGL().reset();
+		frames = 0;
+	}
+
+	@Override
+	public void run() {
+		g.clear();
+
+		if (retained) {
+			g.drawShapeGeometry(geometry, 0, 0, 0, 1);
+		} else {
+			for (int i = 0; i < n; i++)
+				g.drawFilledCircle(positions[2 * i], positions[2 * i + 1], 10, Color.RED);
+		}
+
+		// End of the frame, as done by Game2D
+		g.flushDeferred();
+		frames++;
+		sink += app.getCountingGL().getCalls();
+	}
+
+	@Override
+	public String getDetails() {
+		CountingGL gl = app.getCountingGL();
+		return String.format("%.1f draw calls/frame", gl.getDrawCalls() / (float) frames);
+	}
+
+	@Override
+	public void tearDown() {
+		geometry.dispose();
+		g.dispose();
+	}
+}
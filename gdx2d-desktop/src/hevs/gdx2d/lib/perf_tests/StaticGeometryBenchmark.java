@@ -0,0 +1,94 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.PhysicsStaticBox;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.lib.physics.PhysicsWorld;
+import hevs.gdx2d.lib.physics.StaticGeometryBuilder;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * Steps a world in which {@code nBodies} balls fall in a level made of tiles
+ * (floor, walls and platforms), either one {@link PhysicsStaticBox} per tile
+ * or merged by a {@link StaticGeometryBuilder}
+ * 
+ * @version 1.0
+ */
+public class StaticGeometryBenchmark extends Benchmark {
+	static final int SIZE = 1000;
+	static final int TILE = 10;
+
+	final int nBodies;
+	final boolean merged;
+	final boolean[] solid = new boolean[(SIZE / TILE) * (SIZE / TILE)];
+
+	public StaticGeometryBenchmark(int nBodies, boolean merged) {
+		super("Tiled level, " + nBodies + " bodies (" + (merged ? "StaticGeometryBuilder" : "PhysicsStaticBox") + ")");
+		this.nBodies = nBodies;
+		this.merged = merged;
+	}
+
+	@Override
+	public void setUp() {
+		GdxNativesLoader.load();
+		PhysicsWorld.dispose();
+
+		Random r = new Random(1234);
+		StaticGeometryBuilder level = new StaticGeometryBuilder();
+		final int n = SIZE / TILE;
+
+		for (int i = 0; i < n; i++) {
+			addTile(level, i, 0);
+			addTile(level, 0, i);
+			addTile(level, n - 1, i);
+		}
+
+		for (int p = 0; p < 20; p++) {
+			int x = 1 + r.nextInt(n - 22), y = 10 + r.nextInt(n - 20);
+			for (int i = 0; i < 20; i++)
+				addTile(level, x + i, y);
+		}
+
+		if (merged)
+			level.build("level");
+
+		// The merged tiles are hollow, the balls are created between them
+		for (int i = 0; i < nBodies;) {
+			int x = 20 + r.nextInt(960), y = 20 + r.nextInt(960);
+
+			if (isFree(x - 5, y - 5) && isFree(x + 5, y - 5) && isFree(x - 5, y + 5) && isFree(x + 5, y + 5)) {
+				// Otherwise, the balls roll forever on the merged edges
+				new PhysicsCircle("ball", new Vector2(x, y), 4).setBodyAngularDamping(2);
+				i++;
+			}
+		}
+	}
+
+	private void addTile(StaticGeometryBuilder level, int i, int j) {
+		solid[j * (SIZE / TILE) + i] = true;
+
+		if (merged)
+			level.addRectangle(i * TILE, j * TILE, TILE, TILE);
+		else
+			new PhysicsStaticBox("tile", new Vector2((i + 0.5f) * TILE, (j + 0.5f) * TILE), TILE / 2f, TILE / 2f);
+	}
+
+	private boolean isFree(int x, int y) {
+		return !solid[(y / TILE) * (SIZE / TILE) + x / TILE];
+	}
+
+	@Override
+	public void run() {
+		PhysicsWorld.updatePhysics(PhysicsConstants.STEP_SIZE);
+		sink += PhysicsWorld.getInstance().getContactCount();
+	}
+
+	@Override
+	public void tearDown() {
+		PhysicsWorld.dispose();
+	}
+}
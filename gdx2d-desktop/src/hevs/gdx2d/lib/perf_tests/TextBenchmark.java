@@ -0,0 +1,81 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.graphics.TextLabel;
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.headless.HeadlessApplication;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Draws a frame of a HUD made of {@code n} counters, whose values change every
+ * 10 frames, either with {@link GdxGraphics#drawString(float, float, CharSequence)}
+ * or with {@link TextLabel}s
+ * 
+ * @version 1.0
+ */
+public class TextBenchmark extends Benchmark {
+	final int n;
+	final boolean cached;
+
+	HeadlessApplication app;
+	GdxGraphics g;
+	BitmapFont font;
+	TextLabel[] labels;
+	int frames;
+
+	public TextBenchmark(int n, boolean cached) {
+		super("HUD counters (" + n + ", " + (cached ? "TextLabel" : "drawString") + ")");
+		this.n = n;
+		this.cached = cached;
+	}
+
+	@Override
+	public void setUp() {
+		app = new HeadlessApplication(800, 600);
+
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		camera.update();
+		g = new GdxGraphics(new ShapeRenderer(), new SpriteBatch(), camera);
+
+		font = new BitmapFont();
+		labels = new TextLabel[n];
+		for (int i = 0; i < n; i++) {
+			labels[i] = new TextLabel(font);
+			labels[i].setPosition(10, 20 * i);
+		}
+
+		frames = 0;
+	}
+
+	@Override
+	public void run() {
+		g.clear();
+
+		for (int i = 0; i < n; i++) {
+			int value = i * 1000 + frames / 10;
+
+			if (cached) {
+				labels[i].setNumber("Counter: ", value);
+				g.drawText(labels[i]);
+			} else {
+				g.drawString(10, 20 * i, "Counter: " + value, font);
+			}
+		}
+
+		// End of the frame, as done by Game2D
+		g.flushDeferred();
+		frames++;
+		sink += frames;
+	}
+
+	@Override
+	public void tearDown() {
+		font.dispose();
+		g.dispose();
+	}
+}
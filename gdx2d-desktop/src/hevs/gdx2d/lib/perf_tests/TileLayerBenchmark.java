@@ -0,0 +1,79 @@
+package hevs.gdx2d.lib.perf_tests;
+
+import hevs.gdx2d.components.bitmaps.BitmapImage;
+import hevs.gdx2d.components.graphics.TileLayer;
+import hevs.gdx2d.lib.GdxGraphics;
+import hevs.gdx2d.lib.headless.CountingGL;
+import hevs.gdx2d.lib.headless.HeadlessApplication;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Draws a frame of a {@link TileLayer} of {@code columns x rows} tiles of 32
+ * pixels, with the camera scrolling over it
+ * 
+ * @version 1.0
+ */
+public class TileLayerBenchmark extends Benchmark {
+	final int columns, rows;
+
+	HeadlessApplication app;
+	GdxGraphics g;
+	BitmapImage image;
+	TileLayer layer;
+	int frames;
+
+	public TileLayerBenchmark(int columns, int rows) {
+		super("TileLayer.draw(" + columns + "x" + rows + " tiles)");
+		this.columns = columns;
+		this.rows = rows;
+	}
+
+	@Override
+	public void setUp() {
+		app = new HeadlessApplication(800, 600);
+
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		camera.update();
+		g = new GdxGraphics(new ShapeRenderer(), new SpriteBatch(), camera);
+		image = new BitmapImage("data/images/Android_PI_48x48.png");
+
+		int[] tiles = new int[columns * rows];
+		for (int i = 0; i < tiles.length; i++)
+			tiles[i] = (i % 7 == 0) ? TileLayer.EMPTY : 0;
+
+		layer = new TileLayer(tiles, columns, rows, image, 32, 32, 0, 0);
+
+		g.clear();
+		layer.draw(g);
+		app.getCountingGL().reset();
+		frames = 0;
+	}
+
+	@Override
+	public void run() {
+		g.clear();
+		g.getCamera().position.x = (g.getCamera().position.x + 5) % (columns * 32);
+		g.getCamera().update();
+		layer.draw(g);
+		frames++;
+		sink += layer.getDrawnChunks();
+	}
+
+	@Override
+	public String getDetails() {
+		CountingGL gl = app.getCountingGL();
+		return String.format("%.1f chunks/frame, %.1f draw calls/frame", sink / (float) frames, gl.getDrawCalls() / (float) frames);
+	}
+
+	@Override
+	public void tearDown() {
+		layer.dispose();
+		image.dispose();
+		g.dispose();
+	}
+}
@@ -5,21 +5,22 @@ import hevs.gdx2d.components.physics.PhysicsCircle;
 import hevs.gdx2d.components.physics.PhysicsStaticBox;
 import hevs.gdx2d.components.physics.utils.PhysicsConstants;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
 import com.badlogic.gdx.physics.box2d.CircleShape;
-import com.badlogic.gdx.physics.box2d.Contact;
-import com.badlogic.gdx.physics.box2d.ContactImpulse;
-import com.badlogic.gdx.physics.box2d.ContactListener;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
-import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.Shape;
 import com.badlogic.gdx.physics.box2d.Shape.Type;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
 
 /**
  * An abstract physical object that contains everything
@@ -29,7 +30,7 @@ import com.badlogic.gdx.physics.box2d.World;
  * @author Pierre-André Mudry (mui)
  * @version 1.0
  */
-public abstract class AbstractPhysicsObject implements ContactListener, BodyInterface{
+public abstract class AbstractPhysicsObject implements BodyInterface{
 	// A name for the object
 	public String name;
 	
@@ -39,8 +40,25 @@ public abstract class AbstractPhysicsObject implements ContactListener, BodyInte
 	// The physical characteristics of the the object, such as friction etc...
 	protected Fixture f;
 	
-	// Reusable object for creating other objects
-	static final private BodyDef bodyDef = new BodyDef();
+	// The world in which the object is simulated
+	private final PhysicsWorld physicsWorld;
+	
+	// True once destroy() or destroyLater() has been called
+	private boolean destroyed = false;
+	
+	// Returned by getBodyPosition(), in pixels
+	private final Vector2 position = new Vector2();
+	
+	// Transform before the last step, in meters, for interpolation
+	private float previousX, previousY, previousAngle;
+	private boolean hasPrevious = false;
+	
+	/**
+	 * Number of floats per object written by
+	 * {@link #getBodyTransforms(List, float[])}: x, y (in pixels) and angle
+	 * (in radians)
+	 */
+	public static final int TRANSFORM_SIZE = 3;
 	
 	// FIXME: the objects do not react correctly on screen orientation changes...
 	
@@ -57,8 +75,7 @@ public abstract class AbstractPhysicsObject implements ContactListener, BodyInte
 	 * @param isDynamic
 	 */
 	public AbstractPhysicsObject(Type t, String name, Vector2 position, float width, float height, float density, float restitution, float friction, boolean isDynamic){
-		this.name = name;
-		createObject(t, name, position, width, height, density, restitution, friction, 0, isDynamic);
+		this(PhysicsWorld.getDefault(), t, name, position, width, height, density, restitution, friction, 0, isDynamic);
 	}
 	
 	/**
@@ -75,10 +92,44 @@ public abstract class AbstractPhysicsObject implements ContactListener, BodyInte
 	 * @param isDynamic
 	 */
 	public AbstractPhysicsObject(Type t, String name, Vector2 position, float width, float height, float density, float restitution, float friction, float angle, boolean isDynamic){
+		this(PhysicsWorld.getDefault(), t, name, position, width, height, density, restitution, friction, angle, isDynamic);
+	}
+	
+	/**
+	 * An abstract constructor for an object simulated in a given world
+	 * @param world
+	 * @param t
+	 * @param name
+	 * @param position
+	 * @param width
+	 * @param height
+	 * @param density
+	 * @param restitution
+	 * @param friction
+	 * @param angle
+	 * @param isDynamic
+	 */
+	public AbstractPhysicsObject(PhysicsWorld world, Type t, String name, Vector2 position, float width, float height, float density, float restitution, float friction, float angle, boolean isDynamic){
 		this.name = name;
+		this.physicsWorld = world;
 		createObject(t, name, position, width, height, density, restitution, friction, angle, isDynamic);
 	}
 	
+	/**
+	 * A constructor for an object whose body has already been created, e.g.
+	 * by a {@link StaticGeometryBuilder}
+	 * @param world The world of the body
+	 * @param name
+	 * @param body A body with at least one fixture
+	 */
+	protected AbstractPhysicsObject(PhysicsWorld world, String name, Body body){
+		this.name = name;
+		this.physicsWorld = world;
+		this.body = body;
+		this.f = body.getFixtureList().get(0);
+		body.setUserData(this);
+	}
+	
 	/**
 	 * Create an object
 	 * @param t
@@ -90,11 +141,11 @@ public abstract class AbstractPhysicsObject implements ContactListener, BodyInte
 	 */
 	private void createObject(Type t, String name, Vector2 position, float width, float height, float density, float restitution, float friction, float angle, boolean isDynamic){				
         // Conversions from pixel world to meters
-		Vector2 pos = position.cpy().scl(PhysicsConstants.PIXEL_TO_METERS);
+		final BodyDef bodyDef = physicsWorld.bodyDef;
+		bodyDef.position.set(position).scl(PhysicsConstants.PIXEL_TO_METERS);
         width *= PhysicsConstants.PIXEL_TO_METERS;
         height *= PhysicsConstants.PIXEL_TO_METERS;
-        
-		bodyDef.position.set(pos);
+
         
 		if(isDynamic)
 			bodyDef.type = BodyType.DynamicBody;
@@ -111,11 +162,11 @@ public abstract class AbstractPhysicsObject implements ContactListener, BodyInte
 		else
 		{
 			PolygonShape p = new PolygonShape();			
-			p.setAsBox(width, height, new Vector2(0,0), angle);
+			p.setAsBox(width, height, physicsWorld.boxCenter, angle);
 			s = p;
 		}
 					
-        World world = PhysicsWorld.getInstance();
+        World world = physicsWorld.getWorld();
 		body = world.createBody(bodyDef);
 				
 		createFixture(s, density, restitution, friction);
@@ -133,80 +184,206 @@ public abstract class AbstractPhysicsObject implements ContactListener, BodyInte
 	 * @param friction Coulomb friction, does not work for circles
 	 */
 	protected void createFixture(Shape s, float density, float restitution, float friction){		
-		FixtureDef def = new FixtureDef();				
+		FixtureDef def = physicsWorld.fixtureDef;				
 		def.density = density;
 		def.restitution = restitution;
 		def.friction = friction;		
 		def.shape = s;		
 						
 		f = body.createFixture(def);
+		def.shape = null;
 		
 		// Makes things stop slowly, always
 		body.setLinearDamping(0.001f);
 	}
 	
 	/**
-	 * Should be called before destroying the object
+	 * Should be called before destroying the object. If the world is being
+	 * stepped (e.g. in a contact listener), the body is destroyed after the
+	 * step.
 	 */
 	public void destroy(){		
-		PhysicsWorld.getInstance().destroyBody(body);	
+		if(destroyed)
+			return;
+		
+		destroyed = true;
+		forgetActivity();
+		physicsWorld.destroyBody(body);	
+	}
+	
+	/**
+	 * Destroys the object after the next step of its world, once the
+	 * collisions have been delivered. Can be called at any time, e.g. while
+	 * iterating on the bodies of the world. The object must not be used
+	 * anymore.
+	 */
+	public void destroyLater(){
+		if(destroyed)
+			return;
+		
+		destroyed = true;
+		forgetActivity();
+		physicsWorld.destroyBodyLater(body);
+	}
+	
+	private void forgetActivity(){
+		if(activityManager != null)
+			activityManager.remove(this);
+	}
+	
+	/**
+	 * @return True once the object has been destroyed, or will be after the
+	 *         step
+	 */
+	public boolean isDestroyed(){
+		return destroyed;
+	}
+	
+	/**
+	 * @return The world in which the object is simulated
+	 */
+	public PhysicsWorld getPhysicsWorld(){
+		return physicsWorld;
 	}
 
+	// True if collision() is called for this object
+	boolean collisionListener = false;
+	
+	// Entries of the contacts in progress in the CollisionDispatcher, created
+	// with the first contact
+	IntArray contacts;
+	
+	// The PhysicsActivityManager which deactivated the object, and the cell
+	// in which it is kept meanwhile
+	PhysicsActivityManager activityManager;
+	long activityCell;
+	
 	/**
-	 * Makes the object react on collisions
+	 * Makes the object react on collisions, see {@link CollisionDispatcher}
 	 */
 	public void enableCollisionListener(){
-		World world = PhysicsWorld.getInstance();
-		world.setContactListener(this);
+		collisionListener = true;
 	}
 	
 	/**
 	 * TODO: should this method be abstract ? Breaks the API but better for next year
-	 * Function which is called when collision with this object occurs
-	 * @param a
-	 * @param body
-	 * @param energy
+	 * Function which is called when collision with this object occurs. Called
+	 * after the simulation step, when the contact ends.
+	 * @param theOtherObject
+	 * @param energy The largest normal impulse of the contact
 	 */
 	public void collision(AbstractPhysicsObject theOtherObject, float energy){				
 	}
 
-	/************************************************************************
-	 * Internal functions for collisions, do not use
-	 ************************************************************************/	
+	/****
+	 * Body method redefinition for meters / pixels
+	 * Implementation of the {@link BodyInterface} interface
+	 */
+	
+	/**
+	 * @return The position of the body, in pixels. The vector is reused by
+	 *         the next call, copy it to keep it.
+	 */
 	@Override
-	final public void beginContact(Contact contact) {		
-	}		
+	public Vector2 getBodyPosition(){
+		return getBodyPosition(position);
+	}
 	
 	@Override
-	final public void endContact(Contact contact) {
-		AbstractPhysicsObject ob1 = null, ob2 = null; 		
-		ob1 = (AbstractPhysicsObject) contact.getFixtureA().getBody().getUserData();
-		ob2 = (AbstractPhysicsObject) contact.getFixtureB().getBody().getUserData();
+	public Vector2 getBodyPosition(Vector2 out){
+		// Box2D returns its own vector, which must not be modified
+		final Vector2 p = body.getPosition();
+		return out.set(p.x * PhysicsConstants.METERS_TO_PIXELS, p.y * PhysicsConstants.METERS_TO_PIXELS);
+	}
+	
+	@Override
+	public float getBodyX(){
+		return body.getPosition().x * PhysicsConstants.METERS_TO_PIXELS;
+	}
+	
+	@Override
+	public float getBodyY(){
+		return body.getPosition().y * PhysicsConstants.METERS_TO_PIXELS;
+	}
+	
+	/**
+	 * Called by the world before each step when interpolation is enabled
+	 */
+	void savePreviousTransform(){
+		final Vector2 p = body.getPosition();
+		previousX = p.x;
+		previousY = p.y;
+		previousAngle = body.getAngle();
+		hasPrevious = true;
+	}
+	
+	/**
+	 * The position of the body between the last two steps of the
+	 * simulation, according to {@link PhysicsWorld#getAlpha()}. Makes
+	 * movements smooth when the display and simulation rates differ.
+	 * Requires {@link PhysicsWorld#setInterpolation(boolean)}, otherwise
+	 * the current position is returned.
+	 * @param out
+	 * @return out, in pixels
+	 */
+	public Vector2 getBodyInterpolatedPosition(Vector2 out){
+		final Vector2 p = body.getPosition();
 		
-		ob1.collision(ob2, lastCollideEnergy);
-		ob2.collision(ob1, lastCollideEnergy);
+		if(!physicsWorld.isInterpolation() || !hasPrevious)
+			return getBodyPosition(out);
 		
-		lastCollideEnergy = -1;
+		final float a = physicsWorld.getAlpha();
+		return out.set((previousX + (p.x - previousX) * a) * PhysicsConstants.METERS_TO_PIXELS,
+				(previousY + (p.y - previousY) * a) * PhysicsConstants.METERS_TO_PIXELS);
 	}
 	
-	float lastCollideEnergy = -1;
+	/**
+	 * @return The angle of the body between the last two steps, in radians,
+	 *         see {@link #getBodyInterpolatedPosition(Vector2)}
+	 */
+	public float getBodyInterpolatedAngle(){
+		if(!physicsWorld.isInterpolation() || !hasPrevious)
+			return body.getAngle();
+		
+		return previousAngle + (body.getAngle() - previousAngle) * physicsWorld.getAlpha();
+	}
 	
-	@Override
-	final public void postSolve(Contact contact, ContactImpulse impulse) {
-		lastCollideEnergy = impulse.getNormalImpulses()[0];
+	/**
+	 * Writes the transforms of many objects into an array, without
+	 * allocating. For each object, {@link #TRANSFORM_SIZE} floats are
+	 * written: x, y (in pixels) and angle (in radians).
+	 * 
+	 * @param objects Preferably a random access list, such as an ArrayList
+	 * @param out Must hold at least {@code objects.size() * TRANSFORM_SIZE} floats
+	 * @return The number of objects written
+	 */
+	public static int getBodyTransforms(List<? extends AbstractPhysicsObject> objects, float[] out){
+		final int n = objects.size();
+		
+		if(objects instanceof RandomAccess){
+			for(int i = 0; i < n; i++)
+				objects.get(i).getBodyTransform(out, i * TRANSFORM_SIZE);
+		}
+		else{
+			Iterator<? extends AbstractPhysicsObject> it = objects.iterator();
+			for(int i = 0; i < n; i++)
+				it.next().getBodyTransform(out, i * TRANSFORM_SIZE);
+		}
+		
+		return n;
 	}
 	
-	@Override
-	final public void preSolve(Contact contact, Manifold oldManifold) {			
-	}	
-
-	/****
-	 * Body method redefinition for meters / pixels
-	 * Implementation of the {@link BodyInterface} interface
+	/**
+	 * Writes the transform of the object into an array, see
+	 * {@link #getBodyTransforms(List, float[])}
+	 * @param out
+	 * @param offset
 	 */
-	@Override
-	public Vector2 getBodyPosition(){
-		return body.getPosition().scl(PhysicsConstants.METERS_TO_PIXELS);
+	public void getBodyTransform(float[] out, int offset){
+		final Vector2 p = body.getPosition();
+		out[offset] = p.x * PhysicsConstants.METERS_TO_PIXELS;
+		out[offset + 1] = p.y * PhysicsConstants.METERS_TO_PIXELS;
+		out[offset + 2] = body.getAngle();
 	}
 	
 	@Override
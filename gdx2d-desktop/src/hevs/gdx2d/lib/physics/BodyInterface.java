@@ -12,6 +12,9 @@ import com.badlogic.gdx.math.Vector2;
  */
 public interface BodyInterface {
 	public Vector2 getBodyPosition();
+	public Vector2 getBodyPosition(Vector2 out);
+	public float getBodyX();
+	public float getBodyY();
 	public float getBodyAngle();
 	public float getBodyAngleDeg();
 	public float getBodyRadius();
@@ -0,0 +1,187 @@
+package hevs.gdx2d.lib.physics;
+
+import hevs.gdx2d.components.physics.PhysicsBox;
+import hevs.gdx2d.components.physics.PhysicsPrototypeObject;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Describes bodies once (shape, density, restitution, friction, collision
+ * filter) to create many of them at once, e.g. when a level is loaded.
+ * <p>
+ * The shape is created once and kept by the prototype, each body then costs
+ * two JNI calls instead of creating and disposing a shape. Each body is
+ * wrapped in a lightweight {@link PhysicsPrototypeObject}, so that it takes
+ * part in the collisions, the queries of the {@link PhysicsWorld} and the
+ * {@link PhysicsActivityManager} like the other objects.
+ * <p>
+ * A prototype can be used by several threads at once, each one spawning in
+ * its own world, as long as it is not modified meanwhile.
+ *
+ * @version 1.1
+ */
+public class BodyPrototype implements Disposable {
+	private final Shape shape;
+	private final FixtureDef fixtureDef = new FixtureDef();
+	private String name;
+	private boolean dynamic = true;
+	private float linearDamping = 0.001f;
+
+	private BodyPrototype(String name, Shape shape) {
+		this.name = name;
+		this.shape = shape;
+		fixtureDef.shape = shape;
+		fixtureDef.density = 1;
+		fixtureDef.restitution = 0.3f;
+		fixtureDef.friction = 0.3f;
+	}
+
+	/**
+	 * @param radius In pixels
+	 * @return A prototype of dynamic circles
+	 */
+	public static BodyPrototype circle(float radius) {
+		CircleShape s = new CircleShape();
+		s.setRadius(radius * PhysicsConstants.PIXEL_TO_METERS);
+		return new BodyPrototype("circle", s);
+	}
+
+	/**
+	 * @param width In pixels, as for {@link PhysicsBox}
+	 * @param height In pixels, as for {@link PhysicsBox}
+	 * @return A prototype of dynamic boxes
+	 */
+	public static BodyPrototype box(float width, float height) {
+		PolygonShape s = new PolygonShape();
+		s.setAsBox(width * PhysicsConstants.PIXEL_TO_METERS, height * PhysicsConstants.PIXEL_TO_METERS);
+		return new BodyPrototype("box", s);
+	}
+
+	/**
+	 * @param name The name of the objects, "circle" or "box" by default
+	 * @return this
+	 */
+	public BodyPrototype setName(String name) {
+		this.name = name;
+		return this;
+	}
+
+	/**
+	 * @param density In kg/m^2
+	 * @param restitution For elastic collisions
+	 * @param friction Coulomb friction
+	 * @return this
+	 */
+	public BodyPrototype setMaterial(float density, float restitution, float friction) {
+		fixtureDef.density = density;
+		fixtureDef.restitution = restitution;
+		fixtureDef.friction = friction;
+		return this;
+	}
+
+	/**
+	 * @param categoryBits The categories of the bodies
+	 * @param maskBits The categories they collide with
+	 * @param groupIndex Bodies of the same positive group always collide, of
+	 *            the same negative group never
+	 * @return this
+	 */
+	public BodyPrototype setFilter(short categoryBits, short maskBits, short groupIndex) {
+		fixtureDef.filter.categoryBits = categoryBits;
+		fixtureDef.filter.maskBits = maskBits;
+		fixtureDef.filter.groupIndex = groupIndex;
+		return this;
+	}
+
+	/**
+	 * @param isDynamic False for bodies which never move, such as walls
+	 * @return this
+	 */
+	public BodyPrototype setDynamic(boolean isDynamic) {
+		dynamic = isDynamic;
+		return this;
+	}
+
+	/**
+	 * @param sensor True for bodies which detect contacts without colliding
+	 * @return this
+	 */
+	public BodyPrototype setSensor(boolean sensor) {
+		fixtureDef.isSensor = sensor;
+		return this;
+	}
+
+	/**
+	 * @param damping The linear damping of the bodies
+	 * @return this
+	 */
+	public BodyPrototype setLinearDamping(float damping) {
+		linearDamping = damping;
+		return this;
+	}
+
+	/**
+	 * Creates one object per position
+	 * @param world
+	 * @param positions Interleaved x and y, in pixels
+	 * @return The objects
+	 */
+	public PhysicsPrototypeObject[] spawn(PhysicsWorld world, float[] positions) {
+		PhysicsPrototypeObject[] objects = new PhysicsPrototypeObject[positions.length / 2];
+		spawn(world, positions, null, 0, objects.length, objects, 0);
+		return objects;
+	}
+
+	/**
+	 * Creates {@code count} objects
+	 * @param world
+	 * @param positions Interleaved x and y, in pixels
+	 * @param angles The angle of each body, in radians, or null
+	 * @param first The index of the first position (and angle) to use
+	 * @param count
+	 * @param out Receives the objects, or null
+	 * @param outOffset Where the first object is written in {@code out}
+	 * @return The number of objects created
+	 */
+	public int spawn(PhysicsWorld world, float[] positions, float[] angles, int first, int count,
+			AbstractPhysicsObject[] out, int outOffset) {
+		// Own definition, so that several threads can spawn at once
+		final BodyDef def = new BodyDef();
+		def.type = dynamic ? BodyType.DynamicBody : BodyType.StaticBody;
+		def.linearDamping = linearDamping;
+
+		final World w = world.getWorld();
+
+		for (int i = first; i < first + count; i++) {
+			def.position.set(positions[2 * i] * PhysicsConstants.PIXEL_TO_METERS, positions[2 * i + 1]
+					* PhysicsConstants.PIXEL_TO_METERS);
+			def.angle = angles == null ? 0 : angles[i];
+
+			Body b = w.createBody(def);
+			b.createFixture(fixtureDef);
+			PhysicsPrototypeObject o = new PhysicsPrototypeObject(world, name, b);
+
+			if (out != null)
+				out[outOffset + i - first] = o;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Frees the shape, the bodies already created are not affected
+	 */
+	@Override
+	public void dispose() {
+		shape.dispose();
+	}
+}
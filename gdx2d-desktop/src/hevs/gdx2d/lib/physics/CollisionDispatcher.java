@@ -0,0 +1,469 @@
+package hevs.gdx2d.lib.physics;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The contact listener of a physics world. During the simulation step the
+ * contact events are only recorded in a preallocated buffer, they are
+ * delivered to {@link AbstractPhysicsObject#collision(AbstractPhysicsObject, float)}
+ * by {@link #dispatch()} once the step is over, so that the objects can
+ * safely modify the world.
+ * <p>
+ * A collision is delivered to both objects when their contact ends, with the
+ * largest normal impulse measured during that contact. Only the objects
+ * which called {@link AbstractPhysicsObject#enableCollisionListener()} are
+ * notified. The contacts of a destroyed body end as well, the other object
+ * is notified with the next dispatch.
+ * 
+ * @version 1.3
+ */
+public class CollisionDispatcher implements ContactListener {
+	// ENDED: a contact ended by the destruction of a body, with its energy.
+	// NONE: an event already handled.
+	private static final byte BEGIN = 0, IMPULSE = 1, END = 2, ENDED = 3, NONE = 4;
+
+	// Events recorded during the step. The objects are kept as well because
+	// the fixtures may have been destroyed when the events are delivered.
+	private Fixture[] eventA, eventB;
+	private int[] eventChildA, eventChildB;
+	private AbstractPhysicsObject[] objectA, objectB;
+	private byte[] eventType;
+	private float[] eventImpulse;
+	private int nEvents = 0;
+	private int nDispatched = 0;
+
+	// Contacts in progress and their largest impulse. The entries do not
+	// move, each object lists the entries of its contacts (see
+	// AbstractPhysicsObject.contacts).
+	private Fixture[] contactA, contactB;
+	private int[] childA, childB;
+	private AbstractPhysicsObject[] contactObjectA, contactObjectB;
+	private float[] contactImpulse;
+	private int nEntries = 0;
+	private final IntArray freeEntries = new IntArray();
+	private int nContacts = 0;
+
+	// Open addressing table of the entries + 1 (0 when empty), indexed by
+	// the pair of fixtures and their children. A chain has one contact per
+	// edge with the same fixture.
+	private int[] table;
+
+	public CollisionDispatcher() {
+		this(256);
+	}
+
+	/**
+	 * @param capacity The number of events recorded per step before the
+	 *            buffers have to grow
+	 */
+	public CollisionDispatcher(int capacity) {
+		eventA = new Fixture[capacity];
+		eventB = new Fixture[capacity];
+		eventChildA = new int[capacity];
+		eventChildB = new int[capacity];
+		objectA = new AbstractPhysicsObject[capacity];
+		objectB = new AbstractPhysicsObject[capacity];
+		eventType = new byte[capacity];
+		eventImpulse = new float[capacity];
+
+		int size = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+		table = new int[size];
+		contactA = new Fixture[size / 2];
+		contactB = new Fixture[size / 2];
+		childA = new int[size / 2];
+		childB = new int[size / 2];
+		contactObjectA = new AbstractPhysicsObject[size / 2];
+		contactObjectB = new AbstractPhysicsObject[size / 2];
+		contactImpulse = new float[size / 2];
+	}
+
+	/************************************************************************
+	 * Recording, called by Box2D during the step
+	 ************************************************************************/
+	private void record(byte type, Contact contact, float impulse) {
+		final Fixture a = contact.getFixtureA(), b = contact.getFixtureB();
+		final Object oa = a.getBody().getUserData(), ob = b.getBody().getUserData();
+
+		if (!(oa instanceof AbstractPhysicsObject) || !(ob instanceof AbstractPhysicsObject))
+			return;
+
+		final AbstractPhysicsObject pa = (AbstractPhysicsObject) oa, pb = (AbstractPhysicsObject) ob;
+
+		if (!pa.collisionListener && !pb.collisionListener)
+			return;
+
+		addEvent(type, a, contact.getChildIndexA(), b, contact.getChildIndexB(), pa, pb, impulse);
+	}
+
+	private void addEvent(byte type, Fixture a, int ca, Fixture b, int cb, AbstractPhysicsObject pa,
+			AbstractPhysicsObject pb, float impulse) {
+		if (nEvents == eventType.length)
+			growEvents();
+
+		eventA[nEvents] = a;
+		eventB[nEvents] = b;
+		eventChildA[nEvents] = ca;
+		eventChildB[nEvents] = cb;
+		objectA[nEvents] = pa;
+		objectB[nEvents] = pb;
+		eventType[nEvents] = type;
+		eventImpulse[nEvents] = impulse;
+		nEvents++;
+	}
+
+	@Override
+	public void beginContact(Contact contact) {
+		record(BEGIN, contact, 0);
+	}
+
+	@Override
+	public void endContact(Contact contact) {
+		record(END, contact, 0);
+	}
+
+	@Override
+	public void postSolve(Contact contact, ContactImpulse impulse) {
+		final float[] normal = impulse.getNormalImpulses();
+		float max = normal[0];
+
+		if (impulse.getCount() > 1 && normal[1] > max)
+			max = normal[1];
+
+		record(IMPULSE, contact, max);
+	}
+
+	@Override
+	public void preSolve(Contact contact, Manifold oldManifold) {
+	}
+
+	/************************************************************************
+	 * Delivery, after the step
+	 ************************************************************************/
+
+	/**
+	 * Delivers the collisions recorded during the last step. Called by
+	 * {@link PhysicsWorld} after each step.
+	 */
+	public void dispatch() {
+		// The collisions delivered can destroy bodies, which adds events
+		while (nDispatched < nEvents) {
+			final int i = nDispatched++;
+
+			switch (eventType[i]) {
+			case BEGIN:
+			case IMPULSE:
+				apply(i);
+				break;
+
+			case END:
+				deliver(objectA[i], objectB[i], apply(i));
+				break;
+
+			case ENDED:
+				deliver(objectA[i], objectB[i], eventImpulse[i]);
+				break;
+			}
+		}
+
+		clearEvents();
+	}
+
+	/**
+	 * Updates the contacts table with an event
+	 * @return The energy of the contact, for an end
+	 */
+	private float apply(int event) {
+		final Fixture a = eventA[event], b = eventB[event];
+		final int ca = eventChildA[event], cb = eventChildB[event];
+
+		if (eventType[event] == BEGIN) {
+			put(a, ca, b, cb, objectA[event], objectB[event], 0);
+			return 0;
+		}
+
+		final int slot = find(a, ca, b, cb);
+
+		switch (eventType[event]) {
+		case IMPULSE:
+			if (slot < 0)
+				put(a, ca, b, cb, objectA[event], objectB[event], eventImpulse[event]);
+			else if (eventImpulse[event] > contactImpulse[table[slot] - 1])
+				contactImpulse[table[slot] - 1] = eventImpulse[event];
+			return 0;
+
+		default:
+			final float energy = slot < 0 ? 0 : contactImpulse[table[slot] - 1];
+
+			if (slot >= 0)
+				remove(slot);
+
+			return energy;
+		}
+	}
+
+	// The objects destroyed meanwhile are not notified anymore
+	private static void deliver(AbstractPhysicsObject pa, AbstractPhysicsObject pb, float energy) {
+		if (pa.collisionListener && !pa.isDestroyed())
+			pa.collision(pb, energy);
+
+		if (pb.collisionListener && !pb.isDestroyed())
+			pb.collision(pa, energy);
+	}
+
+	/**
+	 * Ends the contacts of a body which is about to be destroyed, as Box2D
+	 * does not report them. Called by {@link PhysicsWorld} before destroying
+	 * the body, never during the step.
+	 * <p>
+	 * The collisions are delivered with the next dispatch, or with the
+	 * current one if the body is destroyed by a collision. Nothing refers to
+	 * the fixtures of the body afterwards, as Box2D reuses them. Only the
+	 * contacts of the body are visited, not the whole table.
+	 */
+	void removeBody(Body body) {
+		// Events of the body not dispatched yet
+		for (int i = nDispatched; i < nEvents; i++) {
+			if (eventType[i] > END || (eventA[i].getBody() != body && eventB[i].getBody() != body))
+				continue;
+
+			if (eventType[i] == END) {
+				eventImpulse[i] = apply(i);
+				eventType[i] = ENDED;
+			} else {
+				apply(i);
+				eventType[i] = NONE;
+			}
+
+			eventA[i] = null;
+			eventB[i] = null;
+		}
+
+		// Contacts in progress, listed by the object of the body
+		final Object o = body.getUserData();
+
+		if (!(o instanceof AbstractPhysicsObject) || ((AbstractPhysicsObject) o).contacts == null)
+			return;
+
+		final IntArray entries = ((AbstractPhysicsObject) o).contacts;
+
+		while (entries.size > 0) {
+			final int e = entries.peek();
+			addEvent(ENDED, null, 0, null, 0, contactObjectA[e], contactObjectB[e], contactImpulse[e]);
+			remove(find(contactA[e], childA[e], contactB[e], childB[e]));
+		}
+	}
+
+	/**
+	 * Forgets the pending events and contacts, e.g. when the bodies have been
+	 * destroyed
+	 */
+	public void clear() {
+		clearEvents();
+
+		for (int e = 0; e < nEntries; e++) {
+			if (contactA[e] != null)
+				freeEntry(e);
+		}
+
+		for (int i = 0; i < table.length; i++)
+			table[i] = 0;
+
+		nEntries = 0;
+		freeEntries.clear();
+		nContacts = 0;
+	}
+
+	// Drops the references so that destroyed objects can be collected
+	private void clearEvents() {
+		for (int i = 0; i < nEvents; i++) {
+			eventA[i] = null;
+			eventB[i] = null;
+			objectA[i] = null;
+			objectB[i] = null;
+		}
+		nEvents = 0;
+		nDispatched = 0;
+	}
+
+	/**
+	 * @return The number of contacts in progress between listening objects
+	 */
+	public int getContactCount() {
+		return nContacts;
+	}
+
+	/************************************************************************
+	 * Contacts table
+	 ************************************************************************/
+	private int slotOf(Fixture a, int ca, Fixture b, int cb) {
+		int h = System.identityHashCode(a) * 31 + System.identityHashCode(b);
+		h = (h * 31 + ca) * 31 + cb;
+		h ^= h >>> 16;
+		return h & (table.length - 1);
+	}
+
+	private int slotOf(int entry) {
+		return slotOf(contactA[entry], childA[entry], contactB[entry], childB[entry]);
+	}
+
+	private int find(Fixture a, int ca, Fixture b, int cb) {
+		final int mask = table.length - 1;
+
+		for (int i = slotOf(a, ca, b, cb); table[i] != 0; i = (i + 1) & mask) {
+			final int e = table[i] - 1;
+
+			if (contactA[e] == a && contactB[e] == b && childA[e] == ca && childB[e] == cb)
+				return i;
+		}
+
+		return -1;
+	}
+
+	private void put(Fixture a, int ca, Fixture b, int cb, AbstractPhysicsObject pa, AbstractPhysicsObject pb,
+			float impulse) {
+		if (find(a, ca, b, cb) >= 0)
+			return;
+
+		// Keeps the table at most half full
+		if (2 * (nContacts + 1) > table.length)
+			growTable();
+
+		final int e;
+
+		if (freeEntries.size > 0)
+			e = freeEntries.pop();
+		else {
+			if (nEntries == contactA.length)
+				growEntries();
+			e = nEntries++;
+		}
+
+		contactA[e] = a;
+		contactB[e] = b;
+		childA[e] = ca;
+		childB[e] = cb;
+		contactObjectA[e] = pa;
+		contactObjectB[e] = pb;
+		contactImpulse[e] = impulse;
+		insert(e);
+		nContacts++;
+
+		if (pa.contacts == null)
+			pa.contacts = new IntArray(false, 4);
+		if (pb.contacts == null)
+			pb.contacts = new IntArray(false, 4);
+
+		pa.contacts.add(e);
+		pb.contacts.add(e);
+	}
+
+	private void insert(int entry) {
+		final int mask = table.length - 1;
+		int i = slotOf(entry);
+
+		while (table[i] != 0)
+			i = (i + 1) & mask;
+
+		table[i] = entry + 1;
+	}
+
+	// Linear probing deletion, shifts back the following slots of the cluster
+	private void remove(int slot) {
+		final int mask = table.length - 1;
+		final int entry = table[slot] - 1;
+		int hole = slot;
+
+		for (int i = (slot + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+			int home = slotOf(table[i] - 1);
+
+			// Moves the slot if its home is not between the hole and itself
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				table[hole] = table[i];
+				hole = i;
+			}
+		}
+
+		table[hole] = 0;
+		nContacts--;
+
+		freeEntry(entry);
+		freeEntries.add(entry);
+	}
+
+	// Removes an entry from the lists of its objects
+	private void freeEntry(int entry) {
+		contactObjectA[entry].contacts.removeValue(entry);
+		contactObjectB[entry].contacts.removeValue(entry);
+
+		contactA[entry] = null;
+		contactB[entry] = null;
+		contactObjectA[entry] = null;
+		contactObjectB[entry] = null;
+	}
+
+	private void growTable() {
+		table = new int[table.length * 2];
+
+		for (int e = 0; e < nEntries; e++) {
+			if (contactA[e] != null)
+				insert(e);
+		}
+	}
+
+	private void growEntries() {
+		int size = contactA.length * 2;
+		Fixture[] a = new Fixture[size], b = new Fixture[size];
+		int[] ca = new int[size], cb = new int[size];
+		AbstractPhysicsObject[] oa = new AbstractPhysicsObject[size], ob = new AbstractPhysicsObject[size];
+		float[] impulse = new float[size];
+
+		System.arraycopy(contactA, 0, a, 0, nEntries);
+		System.arraycopy(contactB, 0, b, 0, nEntries);
+		System.arraycopy(childA, 0, ca, 0, nEntries);
+		System.arraycopy(childB, 0, cb, 0, nEntries);
+		System.arraycopy(contactObjectA, 0, oa, 0, nEntries);
+		System.arraycopy(contactObjectB, 0, ob, 0, nEntries);
+		System.arraycopy(contactImpulse, 0, impulse, 0, nEntries);
+
+		contactA = a;
+		contactB = b;
+		childA = ca;
+		childB = cb;
+		contactObjectA = oa;
+		contactObjectB = ob;
+		contactImpulse = impulse;
+	}
+
+	private void growEvents() {
+		int size = eventType.length * 2;
+		Fixture[] a = new Fixture[size], b = new Fixture[size];
+		int[] ca = new int[size], cb = new int[size];
+		AbstractPhysicsObject[] oa = new AbstractPhysicsObject[size], ob = new AbstractPhysicsObject[size];
+		byte[] type = new byte[size];
+		float[] impulse = new float[size];
+
+		System.arraycopy(eventA, 0, a, 0, nEvents);
+		System.arraycopy(eventB, 0, b, 0, nEvents);
+		System.arraycopy(eventChildA, 0, ca, 0, nEvents);
+		System.arraycopy(eventChildB, 0, cb, 0, nEvents);
+		System.arraycopy(objectA, 0, oa, 0, nEvents);
+		System.arraycopy(objectB, 0, ob, 0, nEvents);
+		System.arraycopy(eventType, 0, type, 0, nEvents);
+		System.arraycopy(eventImpulse, 0, impulse, 0, nEvents);
+
+		eventA = a;
+		eventB = b;
+		eventChildA = ca;
+		eventChildB = cb;
+		objectA = oa;
+		objectB = ob;
+		eventType = type;
+		eventImpulse = impulse;
+	}
+}
@@ -0,0 +1,246 @@
+package hevs.gdx2d.lib.physics;
+
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.lib.GdxGraphics;
+
+import java.util.Iterator;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Simulates only the objects around the camera, so that the cost of the
+ * physics of a large scrolling level depends on the visible area, not on the
+ * size of the level.
+ * <p>
+ * The objects farther than a margin from the camera are deactivated: they
+ * are removed from the simulation and freeze where they are, with their
+ * velocity. They are kept in a coarse grid of cells, and reactivated when
+ * the camera comes close to their cell. An object is only deactivated once
+ * it is one cell farther than the margin, so that it does not switch at each
+ * frame when on the border.
+ * <p>
+ * Only the objects added to the manager are concerned, usually the dynamic
+ * ones: the static bodies cost nothing as long as nothing moves around them.
+ * Call {@link #update(OrthographicCamera)} before stepping the world, never
+ * during the step. The objects destroyed are forgotten, even the deactivated
+ * ones.
+ * 
+ * @version 1.1
+ */
+public class PhysicsActivityManager {
+	private final PhysicsWorld world;
+
+	// In meters
+	private final float cellSize;
+	private float margin;
+
+	private final Array<AbstractPhysicsObject> active = new Array<AbstractPhysicsObject>(false, 64);
+	private final LongMap<Array<AbstractPhysicsObject>> cells = new LongMap<Array<AbstractPhysicsObject>>();
+	private int nInactive = 0;
+
+	/**
+	 * A manager for the default world
+	 * @param cellSize The size of the cells of the grid, in pixels, e.g.
+	 *            half the screen
+	 * @param margin The distance around the camera in which the objects are
+	 *            simulated, in pixels
+	 */
+	public PhysicsActivityManager(float cellSize, float margin) {
+		this(PhysicsWorld.getDefault(), cellSize, margin);
+	}
+
+	/**
+	 * @param world
+	 * @param cellSize The size of the cells of the grid, in pixels, e.g.
+	 *            half the screen
+	 * @param margin The distance around the camera in which the objects are
+	 *            simulated, in pixels
+	 */
+	public PhysicsActivityManager(PhysicsWorld world, float cellSize, float margin) {
+		if (cellSize <= 0)
+			throw new IllegalArgumentException("The cells must have a positive size");
+
+		this.world = world;
+		this.cellSize = cellSize * PhysicsConstants.PIXEL_TO_METERS;
+		setMargin(margin);
+	}
+
+	/**
+	 * Manages an object, deactivated at the next update if it is far from
+	 * the camera
+	 * @param o
+	 */
+	public void add(AbstractPhysicsObject o) {
+		active.add(o);
+	}
+
+	/**
+	 * Manages all the dynamic objects of the world. To call once, when the
+	 * level has been created, instead of {@link #add(AbstractPhysicsObject)}.
+	 */
+	public void addAll() {
+		Iterator<Body> it = world.getWorld().getBodies();
+
+		while (it.hasNext()) {
+			Body b = it.next();
+
+			if (b.getType() == BodyType.DynamicBody && b.getUserData() instanceof AbstractPhysicsObject)
+				active.add((AbstractPhysicsObject) b.getUserData());
+		}
+	}
+
+	/**
+	 * @param margin The distance around the camera in which the objects are
+	 *            simulated, in pixels
+	 */
+	public void setMargin(float margin) {
+		this.margin = margin * PhysicsConstants.PIXEL_TO_METERS;
+	}
+
+	/**
+	 * @return The distance around the camera in which the objects are
+	 *         simulated, in pixels
+	 */
+	public float getMargin() {
+		return margin * PhysicsConstants.METERS_TO_PIXELS;
+	}
+
+	/**
+	 * Updates the objects for what the camera sees, e.g. the camera of
+	 * {@link GdxGraphics#getCamera()}
+	 * @param camera
+	 */
+	public void update(OrthographicCamera camera) {
+		final float w = camera.viewportWidth * camera.zoom / 2;
+		final float h = camera.viewportHeight * camera.zoom / 2;
+		update(camera.position.x - w, camera.position.y - h, camera.position.x + w, camera.position.y + h);
+	}
+
+	/**
+	 * Updates the objects for a visible rectangle
+	 * @param x0 The left of the rectangle, in pixels
+	 * @param y0 The bottom
+	 * @param x1 The right
+	 * @param y1 The top
+	 */
+	public void update(float x0, float y0, float x1, float y1) {
+		final float k = PhysicsConstants.PIXEL_TO_METERS;
+
+		// Region in which the objects are activated
+		final float ax0 = x0 * k - margin, ay0 = y0 * k - margin;
+		final float ax1 = x1 * k + margin, ay1 = y1 * k + margin;
+
+		// Objects which left it, by more than a cell
+		for (int i = active.size - 1; i >= 0; i--) {
+			final AbstractPhysicsObject o = active.get(i);
+
+			if (o.isDestroyed()) {
+				active.removeIndex(i);
+				continue;
+			}
+
+			final Vector2 p = o.getBody().getPosition();
+
+			if (p.x < ax0 - cellSize || p.x > ax1 + cellSize || p.y < ay0 - cellSize || p.y > ay1 + cellSize) {
+				final int cx = cell(p.x), cy = cell(p.y);
+
+				o.getBody().setActive(false);
+				o.activityManager = this;
+				o.activityCell = key(cx, cy);
+				active.removeIndex(i);
+				getCell(cx, cy).add(o);
+				nInactive++;
+			}
+		}
+
+		if (nInactive == 0)
+			return;
+
+		// Cells which entered it. The objects just deactivated are out of
+		// these cells.
+		final int cx1 = cell(ax1), cy1 = cell(ay1);
+
+		for (int cy = cell(ay0); cy <= cy1; cy++) {
+			for (int cx = cell(ax0); cx <= cx1; cx++) {
+				final Array<AbstractPhysicsObject> c = cells.get(key(cx, cy));
+
+				if (c == null || c.size == 0)
+					continue;
+
+				activate(c);
+			}
+		}
+	}
+
+	/**
+	 * Activates all the objects, e.g. before a change of level. They are
+	 * still managed.
+	 */
+	public void activateAll() {
+		for (Array<AbstractPhysicsObject> c : cells.values())
+			activate(c);
+	}
+
+	private void activate(Array<AbstractPhysicsObject> cell) {
+		for (int i = 0; i < cell.size; i++) {
+			final AbstractPhysicsObject o = cell.get(i);
+
+			o.activityManager = null;
+			o.getBody().setActive(true);
+			active.add(o);
+		}
+
+		nInactive -= cell.size;
+		cell.clear();
+	}
+
+	/**
+	 * Forgets a deactivated object, when it is destroyed
+	 */
+	void remove(AbstractPhysicsObject o) {
+		final Array<AbstractPhysicsObject> c = cells.get(o.activityCell);
+
+		o.activityManager = null;
+		if (c != null && c.removeValue(o, true))
+			nInactive--;
+	}
+
+	private int cell(float x) {
+		return (int) Math.floor(x / cellSize);
+	}
+
+	private static long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+
+	private Array<AbstractPhysicsObject> getCell(int cx, int cy) {
+		final long key = key(cx, cy);
+		Array<AbstractPhysicsObject> c = cells.get(key);
+
+		if (c == null) {
+			c = new Array<AbstractPhysicsObject>(false, 16);
+			cells.put(key, c);
+		}
+
+		return c;
+	}
+
+	/**
+	 * @return The number of objects simulated
+	 */
+	public int getActiveCount() {
+		return active.size;
+	}
+
+	/**
+	 * @return The number of objects deactivated
+	 */
+	public int getInactiveCount() {
+		return nInactive;
+	}
+}
@@ -0,0 +1,113 @@
+package hevs.gdx2d.lib.physics;
+
+import hevs.gdx2d.lib.FrameProfiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Updates several independent {@link PhysicsWorld}s in parallel, on a pool
+ * of threads. The worlds must not share objects: the collisions of each world
+ * are delivered on the thread which steps it.
+ * 
+ * @version 1.0
+ */
+public class PhysicsScheduler {
+	private final ExecutorService pool;
+	private final List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+	private final List<PhysicsWorld> worlds = new ArrayList<PhysicsWorld>();
+
+	// Time simulated by the current update
+	private volatile float dt;
+
+	/**
+	 * Creates a scheduler with one thread per processor
+	 */
+	public PhysicsScheduler() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param nThreads The number of worlds updated at once
+	 */
+	public PhysicsScheduler(int nThreads) {
+		pool = Executors.newFixedThreadPool(nThreads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "gdx2d physics");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Adds a world to be updated
+	 * @param world
+	 */
+	public void add(final PhysicsWorld world) {
+		worlds.add(world);
+		tasks.add(new Callable<Object>() {
+			@Override
+			public Object call() {
+				world.update(dt);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Stops updating a world
+	 * @param world
+	 */
+	public void remove(PhysicsWorld world) {
+		int i = worlds.indexOf(world);
+
+		if (i >= 0) {
+			worlds.remove(i);
+			tasks.remove(i);
+		}
+	}
+
+	/**
+	 * @return The worlds updated by the scheduler
+	 */
+	public List<PhysicsWorld> getWorlds() {
+		return worlds;
+	}
+
+	/**
+	 * Updates all the worlds, returns when they are all updated
+	 * @param dt The amount of time that should be simulated
+	 */
+	public void update(float dt) {
+		this.dt = dt;
+		FrameProfiler.begin(FrameProfiler.PHYSICS);
+
+		try {
+			for (Future<Object> f : pool.invokeAll(tasks))
+				f.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new GdxRuntimeException("Error while updating physics", e.getCause());
+		} finally {
+			FrameProfiler.end(FrameProfiler.PHYSICS);
+		}
+	}
+
+	/**
+	 * Stops the threads of the scheduler, the worlds are not destroyed
+	 */
+	public void dispose() {
+		pool.shutdownNow();
+	}
+}
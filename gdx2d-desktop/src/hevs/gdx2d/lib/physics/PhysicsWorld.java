@@ -1,34 +1,349 @@
 package hevs.gdx2d.lib.physics;
 
 import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.lib.FrameProfiler;
+
+import java.util.Iterator;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
 
 /**
- * Gets the single and only physics world, implements
- * the singleton design pattern.
+ * A physics simulation. Most applications use the default world, through
+ * the static methods ({@link #getInstance()}, {@link #updatePhysics(float)}),
+ * which implement the singleton design pattern. Independent simulations can
+ * be created as well, and stepped in parallel with a
+ * {@link PhysicsScheduler}.
  * 
  * @author Pierre-André Mudry (mui)
- * @version 1.02
+ * @version 1.2
  */
 public class PhysicsWorld {
 
-	private static World instance = null;
+	private static PhysicsWorld defaultWorld = null;
+
+	private World world;
+	private final CollisionDispatcher dispatcher = new CollisionDispatcher();
+	private final WorldQuery query = new WorldQuery();
+	private float accumulator;
+	private float step = PhysicsConstants.STEP_SIZE;	
+	private float timeScale = 1;
+	private int maxSubSteps = PhysicsConstants.MAX_SUBSTEPS;
+	private int stepsLastUpdate = 0;
+	private boolean interpolation = false;
+	
+	// Reusable objects for creating the objects of this world
+	final BodyDef bodyDef = new BodyDef();
+	final FixtureDef fixtureDef = new FixtureDef();
+	final Vector2 boxCenter = new Vector2(0, 0);
 
-	// Exists only to defeat normal instantiation 
-	private PhysicsWorld() {}
+	// Bodies to destroy after the step
+	private final Array<Body> pendingDestroy = new Array<Body>(false, 16);
 
-	public static World getInstance() {
-		if (instance == null) {
-			instance = new World(new Vector2(0, PhysicsConstants.GRAVITY_VALUE), true);
+	/**
+	 * Creates a world with the default gravity
+	 */
+	public PhysicsWorld() {
+		this(new Vector2(0, PhysicsConstants.GRAVITY_VALUE));
+	}
+
+	/**
+	 * @param gravity In m/s^2
+	 */
+	public PhysicsWorld(Vector2 gravity) {
+		world = new World(gravity, true);
+		world.setContactListener(dispatcher);
+	}
+
+	/**
+	 * @return The Box2D world
+	 */
+	public World getWorld() {
+		return world;
+	}
+
+	/**
+	 * @return The contact listener of the world, which delivers the collisions
+	 */
+	public CollisionDispatcher getDispatcher() {
+		return dispatcher;
+	}
+
+	/**
+	 * Updates the simulation with fixed steps. The time which remains is
+	 * kept for the next update, see {@link #getAlpha()}.
+	 * @param dt The elapsed time, multiplied by the time scale to get the
+	 *            amount of time that should be simulated
+	 */
+	public void update(float dt) {
+		FrameProfiler.begin(FrameProfiler.PHYSICS);
+		accumulator += dt * timeScale;
+		stepsLastUpdate = 0;
+
+		while (accumulator >= step && stepsLastUpdate < maxSubSteps) {
+			if (interpolation)
+				savePreviousTransforms();
+
+			world.step(step, PhysicsConstants.VELOCITY_IT, PhysicsConstants.POSITION_IT);
+
+			// Collisions are delivered once the world is not locked anymore
+			dispatcher.dispatch();
+
+			// The contacts of the bodies destroyed meanwhile end as well
+			while (pendingDestroy.size > 0) {
+				destroyPending();
+				dispatcher.dispatch();
+			}
+
+			accumulator -= step;
+			stepsLastUpdate++;
+		}
+
+		// Too late (e.g. long frame), the simulation slows down instead of
+		// taking even more time to catch up
+		if (accumulator >= step)
+			accumulator %= step;
+
+		FrameProfiler.end(FrameProfiler.PHYSICS);
+	}
+
+	private void savePreviousTransforms() {
+		Iterator<Body> it = world.getBodies();
+
+		while (it.hasNext()) {
+			Body b = it.next();
+
+			if (b.getUserData() instanceof AbstractPhysicsObject)
+				((AbstractPhysicsObject) b.getUserData()).savePreviousTransform();
+		}
+	}
+
+	/**
+	 * @return The fraction of a step which remains to be simulated, between
+	 *         0 and 1. Used to interpolate the positions between the last two
+	 *         steps, see {@link #setInterpolation(boolean)}.
+	 */
+	public float getAlpha() {
+		return accumulator / step;
+	}
+
+	/**
+	 * @return The number of steps done by the last {@link #update(float)}
+	 */
+	public int getStepsLastUpdate() {
+		return stepsLastUpdate;
+	}
+
+	/**
+	 * @param n The maximum number of steps done by one update
+	 */
+	public void setMaxSubSteps(int n) {
+		maxSubSteps = n;
+	}
+
+	/**
+	 * @return The maximum number of steps done by one update
+	 */
+	public int getMaxSubSteps() {
+		return maxSubSteps;
+	}
+
+	/**
+	 * @param scale The speed of the simulation compared to real time, 1 by
+	 *            default, e.g. {@link PhysicsConstants#SPEEDUP} for a faster
+	 *            simulation
+	 */
+	public void setTimeScale(float scale) {
+		timeScale = scale;
+	}
+
+	/**
+	 * @return The speed of the simulation compared to real time
+	 */
+	public float getTimeScale() {
+		return timeScale;
+	}
+
+	/**
+	 * Keeps the transform of the objects before each step, for
+	 * {@link AbstractPhysicsObject#getBodyInterpolatedPosition(Vector2)}.
+	 * Costs a little for each body and step.
+	 * @param enabled
+	 */
+	public void setInterpolation(boolean enabled) {
+		interpolation = enabled;
+	}
+
+	/**
+	 * @return True if interpolation is enabled
+	 */
+	public boolean isInterpolation() {
+		return interpolation;
+	}
+
+	/**
+	 * Destroys a body now, or after the step if the world is being stepped
+	 * (e.g. from a contact listener)
+	 */
+	void destroyBody(Body body) {
+		if (world.isLocked()) {
+			pendingDestroy.add(body);
+		} else {
+			dispatcher.removeBody(body);
+			world.destroyBody(body);
+		}
+	}
+
+	/**
+	 * Destroys a body after the next step, once the collisions have been
+	 * delivered
+	 */
+	void destroyBodyLater(Body body) {
+		pendingDestroy.add(body);
+	}
+
+	private void destroyPending() {
+		for (int i = 0; i < pendingDestroy.size; i++) {
+			dispatcher.removeBody(pendingDestroy.get(i));
+			world.destroyBody(pendingDestroy.get(i));
+		}
+
+		pendingDestroy.clear();
+	}
+
+	/**
+	 * @return The number of bodies which will be destroyed after the next
+	 *         step
+	 */
+	public int getPendingDestructions() {
+		return pendingDestroy.size;
+	}
+
+	/************************************************************************
+	 * Queries, in pixels. They allocate nothing, the results are written in
+	 * the arrays given. Only the bodies of AbstractPhysicsObjects are found,
+	 * the other ones (e.g. created directly with Box2D) are ignored.
+	 ************************************************************************/
+
+	/**
+	 * Finds the objects which may overlap a rectangle: the bounding boxes of
+	 * their fixtures, slightly enlarged by Box2D, overlap it
+	 * @param x0 A corner of the rectangle
+	 * @param y0
+	 * @param x1 The opposite corner
+	 * @param y1
+	 * @param out Receives the objects, each one once. The query stops when it
+	 *            is full.
+	 * @return The number of objects found
+	 */
+	public int queryAABB(float x0, float y0, float x1, float y1, AbstractPhysicsObject[] out) {
+		final float k = PhysicsConstants.PIXEL_TO_METERS;
+		return query.query(world, Math.min(x0, x1) * k, Math.min(y0, y1) * k, Math.max(x0, x1) * k,
+				Math.max(y0, y1) * k, false, out);
+	}
+
+	/**
+	 * Finds the objects which contain a point, e.g. to pick them with the
+	 * mouse. Edges (chains, see {@link StaticGeometryBuilder}) never contain
+	 * a point.
+	 * @param x
+	 * @param y
+	 * @param out Receives the objects, each one once. The query stops when it
+	 *            is full.
+	 * @return The number of objects found
+	 */
+	public int queryPoint(float x, float y, AbstractPhysicsObject[] out) {
+		final float k = PhysicsConstants.PIXEL_TO_METERS;
+		return query.query(world, x * k, y * k, x * k, y * k, true, out);
+	}
+
+	/**
+	 * Finds the first object on a segment. Sensors do not stop the ray, nor
+	 * do the shapes which contain its start.
+	 * @param x0 The start of the segment
+	 * @param y0
+	 * @param x1 The end of the segment
+	 * @param y1
+	 * @param hit Receives the point where the object is hit, in pixels, or
+	 *            null. Unchanged if nothing is hit.
+	 * @return The object hit, or null
+	 */
+	public AbstractPhysicsObject rayCast(float x0, float y0, float x1, float y1, Vector2 hit) {
+		final float k = PhysicsConstants.PIXEL_TO_METERS;
+
+		if (query.rayCast(world, x0 * k, y0 * k, x1 * k, y1 * k) < 1 && hit != null)
+			hit.set(query.getRayPoint()).scl(PhysicsConstants.METERS_TO_PIXELS);
+
+		return query.getRayObject();
+	}
+
+	/**
+	 * Casts many rays in one call, e.g. the lines of sight of all the AI
+	 * agents, as {@link #rayCast(float, float, float, float, Vector2)}
+	 * @param rays The start and end of each ray, in pixels, as x0, y0, x1, y1
+	 * @param count The number of rays
+	 * @param objects Receives, for each ray, the first object hit or null.
+	 *            Can be null.
+	 * @param fractions Receives, for each ray, the fraction of the ray before
+	 *            the hit, or 1 if nothing is hit. The point hit is
+	 *            {@code (x0 + f * (x1 - x0), y0 + f * (y1 - y0))}.
+	 * @return The number of rays which hit an object
+	 */
+	public int rayCast(float[] rays, int count, AbstractPhysicsObject[] objects, float[] fractions) {
+		final float k = PhysicsConstants.PIXEL_TO_METERS;
+		int hits = 0;
+
+		for (int i = 0; i < count; i++) {
+			final int r = 4 * i;
+			final float f = query.rayCast(world, rays[r] * k, rays[r + 1] * k, rays[r + 2] * k, rays[r + 3] * k);
+
+			fractions[i] = f;
+			if (objects != null)
+				objects[i] = query.getRayObject();
+			if (f < 1)
+				hits++;
+		}
+
+		return hits;
+	}
+
+	/**
+	 * Destroys the world and all its bodies (required for JNI calls)
+	 */
+	public void destroy() {
+		if (world != null) {
+			world.dispose();
+			world = null;
+			dispatcher.clear();
+			pendingDestroy.clear();
+		}
+	}
+
+	/************************************************************************
+	 * The default world
+	 ************************************************************************/
+
+	/**
+	 * @return The default world, created when first used
+	 */
+	public static PhysicsWorld getDefault() {
+		if (defaultWorld == null) {
+			defaultWorld = new PhysicsWorld();
 		}		
-		return instance;		
+		return defaultWorld;		
+	}
+
+	/**
+	 * @return The Box2D world of the default world
+	 */
+	public static World getInstance() {
+		return getDefault().getWorld();
 	}
-	
-	private static float accumulator;
-	private static float step = PhysicsConstants.STEP_SIZE;	
 	
 	/**
 	 * Call this to update the physics simulation
@@ -42,21 +357,23 @@ public class PhysicsWorld {
 	 * @param dt The amount of time that should be simulated	 
 	 **/
 	static public void updatePhysics(float dt){
-	   accumulator+=dt;
-
-	   while(accumulator>=step){
-		  instance.step(step,PhysicsConstants.VELOCITY_IT,PhysicsConstants.POSITION_IT);		  
-	      accumulator -= step / PhysicsConstants.SPEEDUP;  
-	   }
+		getDefault().update(dt);
+	}
+	
+	/**
+	 * @return The contact listener of the default world
+	 */
+	public static CollisionDispatcher getCollisionDispatcher() {
+		return getDefault().getDispatcher();
 	}
 	
 	/**
-	 * To destroy it (required for JNI calls)
+	 * To destroy the default world (required for JNI calls)
 	 */
 	public static void dispose(){
-		if(instance != null){
-			instance.dispose();
-			instance = null;
+		if(defaultWorld != null){
+			defaultWorld.destroy();
+			defaultWorld = null;
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,281 @@
+package hevs.gdx2d.lib.physics;
+
+import hevs.gdx2d.components.physics.PhysicsStaticBox;
+import hevs.gdx2d.components.physics.PhysicsStaticGeometry;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Builds the static geometry of a level (ground, walls, platforms) as a
+ * single body, instead of one {@link PhysicsStaticBox} per element.
+ * <p>
+ * The rectangles are merged: only the outline of their union is kept, as
+ * loops of edges, collinear edges being joined. A floor made of 100 tiles
+ * thus becomes a loop of 4 edges, that is 4 broad-phase proxies instead of
+ * 100 bodies. The polylines are added as chains (open) or loops (closed).
+ * Dynamic bodies also slide along the merged edges without catching on the
+ * inner corners of the tiles.
+ * <p>
+ * Edges have no thickness: bodies fast enough to cross an edge in one step
+ * are only stopped by the continuous collision detection of Box2D. The
+ * merged rectangles are hollow: a body created inside one stays trapped in it.
+ *
+ * @version 1.0
+ */
+public class StaticGeometryBuilder {
+	// Left, bottom, right and top of each rectangle, in pixels
+	private final FloatArray rectangles = new FloatArray();
+	private final Array<float[]> loops = new Array<float[]>();
+	private final Array<float[]> chains = new Array<float[]>();
+
+	private float restitution = 0.1f;
+	private float friction = 0.3f;
+
+	// Directions of the outline edges, as bits
+	private static final int EAST = 1, NORTH = 2, WEST = 4, SOUTH = 8;
+
+	/**
+	 * Adds an axis-aligned rectangle, merged with the other rectangles
+	 * @param x Left, in pixels
+	 * @param y Bottom, in pixels
+	 * @param width
+	 * @param height
+	 * @return this
+	 */
+	public StaticGeometryBuilder addRectangle(float x, float y, float width, float height) {
+		if (width > 0 && height > 0) {
+			rectangles.add(x);
+			rectangles.add(y);
+			rectangles.add(x + width);
+			rectangles.add(y + height);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a line made of several segments
+	 * @param vertices Interleaved x and y, in pixels, at least 2 points
+	 * @param closed If true, the last point is linked to the first one
+	 * @return this
+	 */
+	public StaticGeometryBuilder addPolyline(float[] vertices, boolean closed) {
+		if (vertices.length < (closed ? 6 : 4))
+			throw new IllegalArgumentException("Not enough vertices");
+
+		(closed ? loops : chains).add(vertices.clone());
+		return this;
+	}
+
+	/**
+	 * @param restitution For elastic collisions
+	 * @param friction Coulomb friction
+	 * @return this
+	 */
+	public StaticGeometryBuilder setMaterial(float restitution, float friction) {
+		this.restitution = restitution;
+		this.friction = friction;
+		return this;
+	}
+
+	/**
+	 * Forgets the rectangles and polylines added so far
+	 */
+	public void clear() {
+		rectangles.clear();
+		loops.clear();
+		chains.clear();
+	}
+
+	/**
+	 * @return The loops outlining the union of the rectangles, as interleaved
+	 *         x and y in pixels. The outer outlines are counterclockwise, the
+	 *         holes clockwise.
+	 */
+	public Array<float[]> computeOutlines() {
+		final Array<float[]> outlines = new Array<float[]>();
+		final int n = rectangles.size / 4;
+
+		if (n == 0)
+			return outlines;
+
+		// Grid of the distinct coordinates, each cell is either inside the
+		// union or outside
+		final float[] xs = distinct(rectangles.items, n, 0);
+		final float[] ys = distinct(rectangles.items, n, 1);
+		final int nx = xs.length - 1, ny = ys.length - 1;
+		final boolean[] inside = new boolean[nx * ny];
+
+		for (int r = 0; r < n; r++) {
+			final float[] v = rectangles.items;
+			final int i0 = Arrays.binarySearch(xs, v[4 * r]), i1 = Arrays.binarySearch(xs, v[4 * r + 2]);
+			final int j0 = Arrays.binarySearch(ys, v[4 * r + 1]), j1 = Arrays.binarySearch(ys, v[4 * r + 3]);
+
+			for (int j = j0; j < j1; j++)
+				Arrays.fill(inside, j * nx + i0, j * nx + i1, true);
+		}
+
+		// Edges between the cells inside and outside, the inside on their left,
+		// stored as the directions leaving each vertex of the grid
+		final int w = nx + 1;
+		final int[] out = new int[w * (ny + 1)];
+
+		for (int j = 0; j < ny; j++) {
+			for (int i = 0; i < nx; i++) {
+				if (!inside[j * nx + i])
+					continue;
+
+				if (j == 0 || !inside[(j - 1) * nx + i])
+					out[j * w + i] |= EAST;
+				if (i == nx - 1 || !inside[j * nx + i + 1])
+					out[j * w + i + 1] |= NORTH;
+				if (j == ny - 1 || !inside[(j + 1) * nx + i])
+					out[(j + 1) * w + i + 1] |= WEST;
+				if (i == 0 || !inside[j * nx + i - 1])
+					out[(j + 1) * w + i] |= SOUTH;
+			}
+		}
+
+		// Follows the edges, turning left first so that outlines touching at
+		// a corner stay separate loops
+		final FloatArray points = new FloatArray();
+
+		for (int start = 0; start < out.length; start++) {
+			while (out[start] != 0) {
+				final int startDir = Integer.lowestOneBit(out[start]);
+				int v = start, dir = startDir;
+				points.clear();
+
+				do {
+					out[v] &= ~dir;
+					v = move(v, dir, w);
+
+					int next = left(dir);
+					if ((out[v] & next) == 0)
+						next = dir;
+					if ((out[v] & next) == 0)
+						next = right(dir);
+					if ((out[v] & next) == 0 && v != start)
+						throw new IllegalStateException("Open outline");
+
+					// Only the corners are kept
+					if (v == start ? dir != startDir : next != dir) {
+						points.add(xs[v % w]);
+						points.add(ys[v / w]);
+					}
+
+					dir = next;
+				} while (v != start);
+
+				outlines.add(points.toArray());
+			}
+		}
+
+		return outlines;
+	}
+
+	private static float[] distinct(float[] rects, int n, int axis) {
+		float[] values = new float[2 * n];
+
+		for (int r = 0; r < n; r++) {
+			values[2 * r] = rects[4 * r + axis];
+			values[2 * r + 1] = rects[4 * r + axis + 2];
+		}
+
+		Arrays.sort(values);
+
+		int count = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (i == 0 || values[i] != values[count - 1])
+				values[count++] = values[i];
+		}
+
+		return Arrays.copyOf(values, count);
+	}
+
+	private static int move(int v, int dir, int w) {
+		switch (dir) {
+		case EAST:
+			return v + 1;
+		case NORTH:
+			return v + w;
+		case WEST:
+			return v - 1;
+		default:
+			return v - w;
+		}
+	}
+
+	private static int left(int dir) {
+		return dir == SOUTH ? EAST : dir << 1;
+	}
+
+	private static int right(int dir) {
+		return dir == EAST ? SOUTH : dir >> 1;
+	}
+
+	/**
+	 * Creates the body holding all the geometry added so far
+	 * @param world
+	 * @param name The name of the object
+	 * @return The object, static
+	 */
+	public PhysicsStaticGeometry build(PhysicsWorld world, String name) {
+		final Array<float[]> outlines = computeOutlines();
+		outlines.addAll(loops);
+
+		if (outlines.size == 0 && chains.size == 0)
+			throw new IllegalStateException("No geometry to build");
+
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.StaticBody;
+		Body body = world.getWorld().createBody(bodyDef);
+
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.restitution = restitution;
+		fixtureDef.friction = friction;
+
+		for (float[] loop : outlines)
+			addChain(body, fixtureDef, loop, true);
+
+		for (float[] chain : chains)
+			addChain(body, fixtureDef, chain, false);
+
+		return new PhysicsStaticGeometry(world, name, body);
+	}
+
+	/**
+	 * Creates the body in the default world
+	 */
+	public PhysicsStaticGeometry build(String name) {
+		return build(PhysicsWorld.getDefault(), name);
+	}
+
+	private static void addChain(Body body, FixtureDef def, float[] vertices, boolean closed) {
+		Vector2[] v = new Vector2[vertices.length / 2];
+
+		for (int i = 0; i < v.length; i++)
+			v[i] = new Vector2(vertices[2 * i], vertices[2 * i + 1]).scl(PhysicsConstants.PIXEL_TO_METERS);
+
+		ChainShape s = new ChainShape();
+
+		if (closed)
+			s.createLoop(v);
+		else
+			s.createChain(v);
+
+		def.shape = s;
+		body.createFixture(def);
+		def.shape = null;
+		s.dispose();
+	}
+}
@@ -0,0 +1,114 @@
+package hevs.gdx2d.lib.physics;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * The callbacks of the queries of a {@link PhysicsWorld}, created once so
+ * that a query allocates nothing. The results are written directly in the
+ * arrays of the caller.
+ * 
+ * @version 1.0
+ */
+class WorldQuery implements QueryCallback, RayCastCallback {
+	// Results of the current AABB or point query
+	private AbstractPhysicsObject[] out;
+	private int count;
+	private boolean testPoint;
+	private float pointX, pointY;
+
+	// Result of the current ray
+	private AbstractPhysicsObject rayObject;
+	private float rayFraction;
+	private final Vector2 rayPoint = new Vector2();
+	private final Vector2 p1 = new Vector2(), p2 = new Vector2();
+
+	/**
+	 * Finds the objects whose fixtures overlap a box, or contain a point
+	 * @return The number of objects written in {@code out}
+	 */
+	int query(World world, float lowerX, float lowerY, float upperX, float upperY, boolean point,
+			AbstractPhysicsObject[] out) {
+		if (out.length == 0)
+			return 0;
+
+		this.out = out;
+		this.count = 0;
+		this.testPoint = point;
+		this.pointX = lowerX;
+		this.pointY = lowerY;
+
+		world.QueryAABB(this, lowerX, lowerY, upperX, upperY);
+
+		this.out = null;
+		return count;
+	}
+
+	@Override
+	public boolean reportFixture(Fixture fixture) {
+		final Object o = fixture.getBody().getUserData();
+
+		if (!(o instanceof AbstractPhysicsObject))
+			return true;
+
+		if (testPoint && !fixture.testPoint(pointX, pointY))
+			return true;
+
+		// A body with several fixtures, or a chain of several edges, is
+		// reported several times
+		for (int i = 0; i < count; i++) {
+			if (out[i] == o)
+				return true;
+		}
+
+		out[count++] = (AbstractPhysicsObject) o;
+		return count < out.length;
+	}
+
+	/**
+	 * Finds the closest object on a segment
+	 * @return The fraction of the segment before the hit, 1 if nothing is hit
+	 */
+	float rayCast(World world, float x0, float y0, float x1, float y1) {
+		rayObject = null;
+		rayFraction = 1;
+
+		// Box2D does not cast empty rays
+		if (x0 != x1 || y0 != y1)
+			world.rayCast(this, p1.set(x0, y0), p2.set(x1, y1));
+
+		return rayFraction;
+	}
+
+	/**
+	 * @return The object hit by the last ray, or null
+	 */
+	AbstractPhysicsObject getRayObject() {
+		return rayObject;
+	}
+
+	/**
+	 * @return The point hit by the last ray, in meters
+	 */
+	Vector2 getRayPoint() {
+		return rayPoint;
+	}
+
+	@Override
+	public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
+		final Object o = fixture.getBody().getUserData();
+
+		// Ignored, the ray goes through
+		if (!(o instanceof AbstractPhysicsObject) || fixture.isSensor())
+			return -1;
+
+		// Closest so far, the ray is clipped to it
+		rayObject = (AbstractPhysicsObject) o;
+		rayFraction = fraction;
+		rayPoint.set(point);
+		return fraction;
+	}
+}
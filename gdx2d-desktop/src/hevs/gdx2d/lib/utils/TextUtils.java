@@ -0,0 +1,77 @@
+package hevs.gdx2d.lib.utils;
+
+/**
+ * Formats numbers into an existing {@link StringBuilder}, without creating
+ * any object, for texts which change every frame (scores, counters...)
+ *
+ * @version 1.0
+ */
+public class TextUtils {
+
+	/**
+	 * Appends an integer, padded with zeros
+	 * @param sb
+	 * @param value
+	 * @param minDigits The minimum number of digits, e.g. 3 for 007
+	 * @return sb
+	 */
+	public static StringBuilder appendInt(StringBuilder sb, int value, int minDigits) {
+		long v = value;
+
+		if (v < 0) {
+			sb.append('-');
+			v = -v;
+		}
+
+		// Number of digits
+		int digits = 1;
+		for (long p = 10; p <= v; p *= 10)
+			digits++;
+
+		for (int i = digits; i < minDigits; i++)
+			sb.append('0');
+
+		long divider = 1;
+		for (int i = 1; i < digits; i++)
+			divider *= 10;
+
+		for (; divider > 0; divider /= 10)
+			sb.append((char) ('0' + (v / divider) % 10));
+
+		return sb;
+	}
+
+	/**
+	 * Appends a number with a fixed number of decimals, rounded. Unlike
+	 * {@link StringBuilder#append(float)}, does not allocate.
+	 * @param sb
+	 * @param value
+	 * @param decimals Between 0 and 9
+	 * @return sb
+	 */
+	public static StringBuilder appendFloat(StringBuilder sb, float value, int decimals) {
+		if (Float.isNaN(value) || Float.isInfinite(value))
+			return sb.append(value);
+
+		long scale = 1;
+		for (int i = 0; i < decimals; i++)
+			scale *= 10;
+
+		long scaled = Math.round(Math.abs((double) value) * scale);
+
+		if (value < 0 && scaled != 0)
+			sb.append('-');
+
+		sb.append(scaled / scale);
+
+		if (decimals > 0) {
+			sb.append('.');
+			long fraction = scaled % scale;
+
+			for (long divider = scale / 10; divider > 0; divider /= 10)
+				sb.append((char) ('0' + (fraction / divider) % 10));
+		}
+
+		return sb;
+	}
+}
@@ -0,0 +1,348 @@
+package hevs.gdx2d.lib.utils.catmull;
+
+/**
+ * A 2D Catmull-Rom path through control points, evaluated without any
+ * allocation.
+ * <p>
+ * The polynomial coefficients of each segment are computed once, the points
+ * are written to arrays provided by the caller as interleaved x and y. Control
+ * points can be appended at any time, only the last segments are computed
+ * again. As with {@link CatmullRomUtils#subdividePoints}, the first and last
+ * control points are repeated to define the ends of the path.
+ * <p>
+ * The path also keeps a table of the arc length, so that it can be followed
+ * at constant speed with {@link #valueAtDistance(float, float[], int)}.
+ *
+ * @version 1.0
+ */
+public class CatmullRomPath {
+    // Coefficients of a segment, a + b t + c t^2 + d t^3 for x then y
+    private static final int COEFFS = 8;
+
+    private final int samplesPerSegment;
+
+    private float[] points = new float[32];
+    private int count;
+
+    private float[] coeffs = new float[16 * COEFFS];
+    private int validCoeffs;
+
+    // Cumulated length at each sample, samplesPerSegment per segment
+    private float[] lengths = new float[1];
+    private int validLengths;
+
+    public CatmullRomPath() {
+        this(16);
+    }
+
+    /**
+     * @param samplesPerSegment The number of straight lines approximating each
+     *            segment when measuring its length
+     */
+    public CatmullRomPath(int samplesPerSegment) {
+        if (samplesPerSegment < 1)
+            throw new IllegalArgumentException("At least one sample per segment is required");
+
+        this.samplesPerSegment = samplesPerSegment;
+    }
+
+    /**
+     * @param vertices Interleaved x and y of the control points
+     */
+    public CatmullRomPath(float[] vertices, int samplesPerSegment) {
+        this(samplesPerSegment);
+        addAll(vertices, 0, vertices.length / 2);
+    }
+
+    /************************************************************************
+     * Control points
+     ************************************************************************/
+
+    /**
+     * Appends a control point at the end of the path
+     */
+    public void add(float x, float y) {
+        if (2 * count + 2 > points.length) {
+            float[] p = new float[points.length * 2];
+            System.arraycopy(points, 0, p, 0, 2 * count);
+            points = p;
+        }
+
+        points[2 * count] = x;
+        points[2 * count + 1] = y;
+        count++;
+
+        // The segment before the previous last one ended on a repeated point
+        invalidate(count - 3);
+    }
+
+    /**
+     * Appends {@code n} control points
+     * @param vertices Interleaved x and y
+     * @param offset Index of the x of the first point
+     * @param n
+     */
+    public void addAll(float[] vertices, int offset, int n) {
+        for (int i = 0; i < n; i++)
+            add(vertices[offset + 2 * i], vertices[offset + 2 * i + 1]);
+    }
+
+    /**
+     * Moves an existing control point
+     */
+    public void set(int index, float x, float y) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("index: " + index);
+
+        points[2 * index] = x;
+        points[2 * index + 1] = y;
+
+        // The point is used by the two segments before and after it
+        invalidate(index - 2);
+    }
+
+    public void clear() {
+        count = 0;
+        validCoeffs = 0;
+        validLengths = 0;
+    }
+
+    public int getPointCount() {
+        return count;
+    }
+
+    public float getPointX(int index) {
+        return points[2 * index];
+    }
+
+    public float getPointY(int index) {
+        return points[2 * index + 1];
+    }
+
+    /**
+     * @return The number of segments, a segment links two successive control
+     *         points
+     */
+    public int getSegmentCount() {
+        return Math.max(0, count - 1);
+    }
+
+    private void invalidate(int segment) {
+        segment = Math.max(0, segment);
+        validCoeffs = Math.min(validCoeffs, segment);
+        validLengths = Math.min(validLengths, segment);
+    }
+
+    /************************************************************************
+     * Evaluation
+     ************************************************************************/
+
+    private void updateCoefficients() {
+        final int segments = getSegmentCount();
+
+        if (validCoeffs >= segments)
+            return;
+
+        if (coeffs.length < segments * COEFFS) {
+            float[] c = new float[Math.max(segments, 2 * coeffs.length / COEFFS) * COEFFS];
+            System.arraycopy(coeffs, 0, c, 0, validCoeffs * COEFFS);
+            coeffs = c;
+        }
+
+        for (int i = validCoeffs; i < segments; i++) {
+            final int i0 = i == 0 ? 0 : i - 1;
+            final int i3 = i + 2 == count ? i + 1 : i + 2;
+
+            computeCoefficients(points[2 * i0], points[2 * i], points[2 * i + 2], points[2 * i3], coeffs, i * COEFFS);
+            computeCoefficients(points[2 * i0 + 1], points[2 * i + 1], points[2 * i + 3], points[2 * i3 + 1], coeffs, i
+                    * COEFFS + 4);
+        }
+
+        validCoeffs = segments;
+    }
+
+    // Same polynomial as CatmullRomSpline.q
+    private static void computeCoefficients(float p0, float p1, float p2, float p3, float[] c, int offset) {
+        c[offset] = p1;
+        c[offset + 1] = 0.5f * (p2 - p0);
+        c[offset + 2] = 0.5f * (2 * p0 - 5 * p1 + 4 * p2 - p3);
+        c[offset + 3] = 0.5f * (3 * p1 - p0 - 3 * p2 + p3);
+    }
+
+    private void evaluate(int segment, float t, float[] out, int offset) {
+        final float[] c = coeffs;
+        final int i = segment * COEFFS;
+
+        out[offset] = c[i] + t * (c[i + 1] + t * (c[i + 2] + t * c[i + 3]));
+        out[offset + 1] = c[i + 4] + t * (c[i + 5] + t * (c[i + 6] + t * c[i + 7]));
+    }
+
+    /**
+     * Computes a point of the path
+     * @param t Between 0 (first control point) and {@link #getSegmentCount()}
+     *            (last control point), segment {@code i} being between
+     *            {@code i} and {@code i + 1}
+     * @param out Receives x then y
+     * @param offset Where to write in {@code out}
+     */
+    public void valueAt(float t, float[] out, int offset) {
+        final int segments = getSegmentCount();
+
+        if (segments == 0) {
+            if (count == 0)
+                throw new IllegalStateException("The path has no point");
+
+            out[offset] = points[0];
+            out[offset + 1] = points[1];
+            return;
+        }
+
+        updateCoefficients();
+
+        if (t <= 0) {
+            evaluate(0, 0, out, offset);
+        } else if (t >= segments) {
+            evaluate(segments - 1, 1, out, offset);
+        } else {
+            final int segment = (int) t;
+            evaluate(segment, t - segment, out, offset);
+        }
+    }
+
+    /**
+     * Subdivides the whole path, as {@link CatmullRomUtils#subdividePoints}
+     * @param subdivisions The number of points per segment
+     * @param out Receives the interleaved x and y of
+     *            {@code getSegmentCount() * subdivisions + 1} points
+     * @param offset Where to write in {@code out}
+     * @return The number of floats written
+     */
+    public int subdivide(int subdivisions, float[] out, int offset) {
+        return subdivide(0, getSegmentCount(), subdivisions, out, offset);
+    }
+
+    /**
+     * Subdivides the segments {@code first} (included) to {@code last}
+     * (excluded), for instance only the segments added since the last call
+     * @return The number of floats written, that is
+     *         {@code 2 * ((last - first) * subdivisions + 1)}
+     */
+    public int subdivide(int first, int last, int subdivisions, float[] out, int offset) {
+        if (first < 0 || last > getSegmentCount() || first >= last)
+            throw new IndexOutOfBoundsException("Segments " + first + " to " + last);
+
+        updateCoefficients();
+
+        final float increment = 1f / subdivisions;
+        int o = offset;
+
+        for (int i = first; i < last; i++) {
+            for (int j = 0; j < subdivisions; j++) {
+                evaluate(i, j * increment, out, o);
+                o += 2;
+            }
+        }
+
+        evaluate(last - 1, 1, out, o);
+        o += 2;
+
+        return o - offset;
+    }
+
+    /************************************************************************
+     * Arc length
+     ************************************************************************/
+
+    private void updateLengths() {
+        final int segments = getSegmentCount();
+
+        if (validLengths >= segments)
+            return;
+
+        updateCoefficients();
+
+        final int n = samplesPerSegment;
+
+        if (lengths.length < segments * n + 1) {
+            float[] l = new float[Math.max(segments * n, 2 * (lengths.length - 1)) + 1];
+            System.arraycopy(lengths, 0, l, 0, validLengths * n + 1);
+            lengths = l;
+        }
+
+        final float[] c = coeffs;
+        float length = lengths[validLengths * n];
+
+        for (int s = validLengths; s < segments; s++) {
+            final int i = s * COEFFS;
+            float px = c[i], py = c[i + 4];
+
+            for (int j = 1; j <= n; j++) {
+                final float t = j / (float) n;
+                final float x = c[i] + t * (c[i + 1] + t * (c[i + 2] + t * c[i + 3]));
+                final float y = c[i + 4] + t * (c[i + 5] + t * (c[i + 6] + t * c[i + 7]));
+
+                length += (float) Math.sqrt((x - px) * (x - px) + (y - py) * (y - py));
+                lengths[s * n + j] = length;
+                px = x;
+                py = y;
+            }
+        }
+
+        validLengths = segments;
+    }
+
+    /**
+     * @return The (approximated) length of the path
+     */
+    public float getLength() {
+        if (count < 2)
+            return 0;
+
+        updateLengths();
+        return lengths[getSegmentCount() * samplesPerSegment];
+    }
+
+    /**
+     * @param distance Distance along the path from its first point
+     * @return The parameter {@code t} of {@link #valueAt(float, float[], int)}
+     *         at that distance
+     */
+    public float distanceToParameter(float distance) {
+        if (count < 2 || distance <= 0)
+            return 0;
+
+        updateLengths();
+
+        final int last = getSegmentCount() * samplesPerSegment;
+        final float[] l = lengths;
+
+        if (distance >= l[last])
+            return getSegmentCount();
+
+        // First sample at or after the distance
+        int low = 0, high = last;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (l[mid] < distance)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        final float before = l[low - 1];
+        final float span = l[low] - before;
+        final float fraction = span > 0 ? (distance - before) / span : 0;
+        return (low - 1 + fraction) / samplesPerSegment;
+    }
+
+    /**
+     * Computes the point at a given distance along the path, to move at
+     * constant speed
+     * @param out Receives x then y
+     * @param offset Where to write in {@code out}
+     */
+    public void valueAtDistance(float distance, float[] out, int offset) {
+        valueAt(distanceToParameter(distance), out, offset);
+    }
+}
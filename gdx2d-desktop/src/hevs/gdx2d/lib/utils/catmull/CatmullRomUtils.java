@@ -19,26 +19,39 @@ public class CatmullRomUtils {
         assert points != null;
         assert points.length >= 3;
 
-        Vector2[] subdividedPoints = new Vector2[((points.length-1) * subdivisions) + 1];
+        CatmullRomPath path = new CatmullRomPath(1);
+        for (Vector2 p : points)
+            path.add(p.x, p.y);
 
-        float increments = 1f / (float)subdivisions;
+        float[] vertices = new float[2 * (((points.length-1) * subdivisions) + 1)];
+        path.subdivide(subdivisions, vertices, 0);
 
-        for (int i = 0; i < points.length-1; i++) {
-        	Vector2 p0 = i == 0 ? points[i] : points[i-1];
-        	Vector2 p1 = points[i];
-        	Vector2 p2 = points[i+1];
-        	Vector2 p3 = (i+2 == points.length) ? points[i+1] : points[i+2];
+        Vector2[] subdividedPoints = new Vector2[vertices.length / 2];
 
-            CatmullRomSpline2D crs = new CatmullRomSpline2D(p0, p1, p2, p3);
-
-            for (int j = 0; j <= subdivisions; j++) {
-                subdividedPoints[(i*subdivisions)+j] = crs.q(j * increments);
-            }
+        for (int i = 0; i < subdividedPoints.length; i++) {
+            subdividedPoints[i] = new Vector2(vertices[2 * i], vertices[2 * i + 1]);
         }
 
         return subdividedPoints;
     }
 
+    /**
+     * Creates catmull spline curves between the points, into an array.
+     * Use a {@link CatmullRomPath} to subdivide the same points several times.
+     *
+     * @param points Interleaved x and y of the points
+     * @param subdivisions The number of subdivisions to add between each of the points.
+     * @param out Receives the {@code (points.length / 2 - 1) * subdivisions + 1}
+     *            subdivided points, interleaved
+     *
+     * @return The number of floats written
+     */
+    public static int subdividePoints(float[] points, int subdivisions, float[] out) {
+        assert points != null;
+        assert points.length >= 6;
+
+        return new CatmullRomPath(points, 1).subdivide(subdivisions, out, 0);
+    }
 
     public static void main(String[] args) {
     	Vector2[] pointArray = new Vector2[4];
@@ -0,0 +1,148 @@
+package hevs.gdx2d.components.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * The triangulation of a {@link Polygon} and the points it contains once
+ * transformed
+ * 
+ * @version 1.0
+ */
+public class PolygonTest {
+	// A U, concave, counterclockwise
+	static final float[] U = { 0, 0, 30, 0, 30, 30, 20, 30, 20, 10, 10, 10, 10, 30, 0, 30 };
+
+	private static float[] star(int points) {
+		float[] v = new float[4 * points];
+
+		for (int i = 0; i < 2 * points; i++) {
+			float r = i % 2 == 0 ? 100 : 40;
+			v[2 * i] = r * MathUtils.cos(i * MathUtils.PI / points);
+			v[2 * i + 1] = r * MathUtils.sin(i * MathUtils.PI / points);
+		}
+
+		return v;
+	}
+
+	private static float[] reversed(float[] v) {
+		float[] r = new float[v.length];
+
+		for (int i = 0; i < v.length; i += 2) {
+			r[v.length - 2 - i] = v[i];
+			r[v.length - 1 - i] = v[i + 1];
+		}
+
+		return r;
+	}
+
+	private static float area(float[] v) {
+		float a = 0;
+
+		for (int i = 0, j = v.length - 2; i < v.length; j = i, i += 2)
+			a += v[j] * v[i + 1] - v[i] * v[j + 1];
+
+		return a / 2;
+	}
+
+	// n - 2 triangles, all counterclockwise, covering the polygon exactly
+	private static void checkTriangulation(float[] v) {
+		Polygon p = new Polygon(v);
+		short[] t = p.getTriangles();
+		float total = 0;
+
+		assertEquals(3 * (v.length / 2 - 2), t.length);
+
+		for (int i = 0; i < t.length; i += 3) {
+			float a = area(new float[] { v[2 * t[i]], v[2 * t[i] + 1], v[2 * t[i + 1]], v[2 * t[i + 1] + 1],
+					v[2 * t[i + 2]], v[2 * t[i + 2] + 1] });
+
+			assertTrue(a > 0);
+			total += a;
+		}
+
+		assertEquals(Math.abs(area(v)), total, 1e-2f);
+	}
+
+	@Test
+	public void concave() {
+		assertEquals(700, area(U), 0);
+		checkTriangulation(U);
+		checkTriangulation(star(5));
+		checkTriangulation(star(12));
+	}
+
+	@Test
+	public void clockwise() {
+		assertTrue(area(reversed(U)) < 0);
+		checkTriangulation(reversed(U));
+		checkTriangulation(reversed(star(5)));
+	}
+
+	@Test
+	public void selfIntersecting() {
+		// A bow tie has no ear at some point, it is still cut in n - 2
+		// triangles
+		Polygon p = new Polygon(new float[] { 0, 0, 10, 10, 20, 0, 20, 10, 10, 0, 0, 10 });
+		assertEquals(12, p.getTriangles().length);
+	}
+
+	@Test
+	public void contains() {
+		Polygon p = new Polygon(U);
+
+		assertTrue(p.contains(5, 20));
+		assertFalse(p.contains(15, 20));
+		assertTrue(p.contains(15, 5));
+		assertFalse(p.contains(-1, 5));
+	}
+
+	@Test
+	public void containsTransformed() {
+		Polygon p = new Polygon(new float[] { 0, 0, 10, 0, 10, 10, 0, 10 });
+		p.setOrigin(5, 5);
+
+		// A diamond around the center
+		p.setRotation(45);
+		assertTrue(p.contains(5, 11.5f));
+		assertFalse(p.contains(9.5f, 9.5f));
+
+		p.setRotation(0);
+		assertFalse(p.contains(5, 11.5f));
+		assertTrue(p.contains(9.5f, 9.5f));
+
+		// Twice as wide, around the center
+		p.setScale(2, 1);
+		assertTrue(p.contains(-4, 5));
+		assertTrue(p.contains(14, 5));
+		assertFalse(p.contains(5, 11));
+
+		p.setPosition(100, 0);
+		assertFalse(p.contains(14, 5));
+		assertTrue(p.contains(114, 5));
+
+		// Rotated and scaled: 20 high, 10 wide
+		p.setRotation(90);
+		assertTrue(p.contains(105, 14));
+		assertFalse(p.contains(114, 5));
+	}
+
+	@Test
+	public void triangulatedVerticesFollowTheTransform() {
+		Polygon p = new Polygon(new float[] { 0, 0, 10, 0, 10, 10, 0, 10 });
+		float[] before = p.getEarClippedVertices().clone();
+
+		p.translate(3, 4);
+		float[] after = p.getEarClippedVertices();
+
+		for (int i = 0; i < before.length; i += 2) {
+			assertEquals(before[i] + 3, after[i], 1e-4f);
+			assertEquals(before[i + 1] + 4, after[i + 1], 1e-4f);
+		}
+	}
+}
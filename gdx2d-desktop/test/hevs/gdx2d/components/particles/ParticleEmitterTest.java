@@ -0,0 +1,49 @@
+package hevs.gdx2d.components.particles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * The slots of the particles of a {@link ParticleEmitter}, without drawing
+ * 
+ * @version 1.0
+ */
+public class ParticleEmitterTest {
+	final ParticleEmitter emitter = new ParticleEmitter(null, 10);
+
+	@Test
+	public void recycled() {
+		for (int n = 0; n < 3; n++) {
+			for (int i = 0; i < 10; i++)
+				assertTrue(emitter.emit(0, 0, 1, 1, 1 + i / 10f));
+
+			assertFalse(emitter.emit(0, 0, 1, 1, 1));
+			assertEquals(10, emitter.getCount());
+
+			emitter.update(1.05f);
+			assertEquals(9, emitter.getCount());
+
+			// All dead, their slots are free again
+			emitter.update(1);
+			assertEquals(0, emitter.getCount());
+		}
+	}
+
+	@Test
+	public void noLifeTime() {
+		assertFalse(emitter.emit(0, 0, 1, 1, 0));
+		assertFalse(emitter.emit(0, 0, 1, 1, -1));
+		assertFalse(emitter.emit(0, 0, 1, 1, Float.NaN));
+		assertEquals(0, emitter.getCount());
+
+		emitter.update(1);
+		assertEquals(0, emitter.getCount());
+
+		// No slot was taken
+		for (int i = 0; i < 10; i++)
+			assertTrue(emitter.emit(0, 0, 1, 1, 1));
+	}
+}
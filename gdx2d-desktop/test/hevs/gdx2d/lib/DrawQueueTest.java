@@ -0,0 +1,85 @@
+package hevs.gdx2d.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * The order in which the commands of a {@link DrawQueue} are replayed
+ * 
+ * @version 1.0
+ */
+public class DrawQueueTest {
+	final DrawQueue queue = new DrawQueue();
+
+	private int add(int mode, int layer) {
+		return queue.add(0, mode, layer, null, Color.WHITE, null, null);
+	}
+
+	@Test
+	public void insertionOrder() {
+		// More than the initial capacity
+		for (int i = 0; i < 1000; i++)
+			add(1, 0);
+
+		queue.sort();
+		for (int n = 0; n < queue.size; n++)
+			assertEquals(n, queue.get(n));
+	}
+
+	@Test
+	public void layers() {
+		final int[] layers = { 3, Short.MIN_VALUE, 0, -1, Short.MAX_VALUE, 1, -3 };
+
+		for (int layer : layers)
+			add(0, layer);
+
+		queue.sort();
+		for (int n = 1; n < queue.size; n++)
+			assertTrue(queue.layers[queue.get(n - 1)] < queue.layers[queue.get(n)]);
+
+		assertEquals(Short.MIN_VALUE, queue.layers[queue.get(0)]);
+		assertEquals(Short.MAX_VALUE, queue.layers[queue.get(queue.size - 1)]);
+	}
+
+	@Test
+	public void layerThenModeThenInsertion() {
+		Random r = new Random(1234);
+
+		for (int i = 0; i < 500; i++)
+			add(r.nextInt(8), r.nextInt(7) - 3);
+
+		queue.sort();
+
+		for (int n = 1; n < queue.size; n++) {
+			final int a = queue.get(n - 1), b = queue.get(n);
+
+			if (queue.layers[a] != queue.layers[b])
+				assertTrue(queue.layers[a] < queue.layers[b]);
+			else if (queue.modes[a] != queue.modes[b])
+				assertTrue(queue.modes[a] < queue.modes[b]);
+			else
+				assertTrue(a < b);
+		}
+	}
+
+	@Test
+	public void reused() {
+		add(0, 5);
+		add(0, -5);
+		queue.sort();
+		queue.clear();
+
+		add(0, 2);
+		int last = add(0, 1);
+		queue.sort();
+
+		assertEquals(2, queue.size);
+		assertEquals(last, queue.get(0));
+	}
+}
@@ -0,0 +1,145 @@
+package hevs.gdx2d.lib;
+
+import static org.junit.Assert.assertEquals;
+import hevs.gdx2d.lib.interfaces.DrawableObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The objects drawn by a {@link Scene} for a visible area
+ * 
+ * @version 1.0
+ */
+public class SceneTest {
+	final Scene scene = new Scene(100);
+	final List<DrawableObject> drawn = new ArrayList<DrawableObject>();
+
+	class Sprite implements DrawableObject {
+		@Override
+		public void draw(GdxGraphics g) {
+			drawn.add(this);
+		}
+	}
+
+	private List<DrawableObject> draw(float x, float y, float width, float height) {
+		drawn.clear();
+		scene.draw(null, new Rectangle(x, y, width, height));
+		return drawn;
+	}
+
+	@Test
+	public void severalCells() {
+		Sprite big = new Sprite();
+		scene.add(big, -150, -150, 400, 300);
+
+		// Drawn once, although found in 20 cells
+		assertEquals(1, draw(-1000, -1000, 2000, 2000).size());
+		assertEquals(1, scene.getDrawnCount());
+		assertEquals(0, scene.getCulledCount());
+
+		// Only a corner is visible
+		assertEquals(1, draw(200, 100, 100, 100).size());
+		assertEquals(0, draw(300, 200, 100, 100).size());
+	}
+
+	@Test
+	public void culledCounts() {
+		Sprite background = new Sprite(), near = new Sprite(), far = new Sprite(), other = new Sprite();
+		scene.add(background);
+		scene.add(near, 10, 10, 20, 20);
+		scene.add(far, 5000, 10, 20, 20);
+		scene.add(other, 120, 10, 20, 20);
+
+		// In the cell of "other" but not overlapping
+		List<DrawableObject> d = draw(0, 0, 100, 100);
+		assertEquals(2, d.size());
+		assertEquals(2, scene.getDrawnCount());
+		assertEquals(2, scene.getCulledCount());
+		assertEquals(background, d.get(0));
+		assertEquals(near, d.get(1));
+	}
+
+	@Test
+	public void addOrder() {
+		Sprite[] sprites = new Sprite[20];
+
+		// Added from right to left, across the cells
+		for (int i = 0; i < sprites.length; i++) {
+			sprites[i] = new Sprite();
+			scene.add(sprites[i], 1000 - 50 * i, 50, 80, 80);
+		}
+
+		List<DrawableObject> d = draw(0, 0, 2000, 200);
+		assertEquals(sprites.length, d.size());
+
+		for (int i = 0; i < sprites.length; i++)
+			assertEquals(sprites[i], d.get(i));
+	}
+
+	@Test
+	public void moveAcrossCells() {
+		Sprite s = new Sprite();
+		scene.add(s, 0, 0, 250, 250);
+
+		scene.move(s, 1000, 1000, 250, 50);
+		assertEquals(0, draw(0, 0, 500, 500).size());
+		assertEquals(1, scene.getCulledCount());
+		assertEquals(1, draw(1200, 1000, 10, 10).size());
+		assertEquals(1, draw(0, 0, 2000, 2000).size());
+
+		// Back, partly over the old cells
+		scene.move(s, 1100, 1000, 100, 100);
+		assertEquals(0, draw(1000, 1000, 50, 50).size());
+		assertEquals(1, draw(1150, 1050, 10, 10).size());
+	}
+
+	@Test
+	public void removeFromSeveralCells() {
+		Sprite s = new Sprite(), background = new Sprite();
+		scene.add(s, -50, -50, 300, 300);
+		scene.add(background);
+
+		scene.remove(s);
+		scene.remove(background);
+		assertEquals(0, scene.size());
+		assertEquals(0, draw(-1000, -1000, 2000, 2000).size());
+		assertEquals(0, scene.getCulledCount());
+
+		// Removing twice does nothing
+		scene.remove(s);
+		assertEquals(0, scene.size());
+	}
+
+	@Test
+	public void addTwice() {
+		Sprite s = new Sprite(), other = new Sprite();
+		scene.add(s, 0, 0, 50, 50);
+		scene.add(other, 0, 0, 50, 50);
+
+		// Replaced, drawn once at its new place, after the other one
+		scene.add(s, 500, 0, 50, 50);
+		assertEquals(2, scene.size());
+
+		List<DrawableObject> d = draw(0, 0, 1000, 100);
+		assertEquals(2, d.size());
+		assertEquals(other, d.get(0));
+		assertEquals(s, d.get(1));
+		assertEquals(1, draw(0, 0, 100, 100).size());
+
+		// Replaced by an object always drawn, which move() ignores
+		scene.add(s);
+		scene.move(s, 0, 0, 10, 10);
+		assertEquals(2, scene.size());
+		assertEquals(1, draw(1000, 1000, 10, 10).size());
+		assertEquals(1, draw(500, 0, 10, 10).size());
+
+		scene.remove(s);
+		assertEquals(0, draw(1000, 1000, 10, 10).size());
+		assertEquals(1, draw(0, 0, 100, 100).size());
+	}
+}
@@ -0,0 +1,113 @@
+package hevs.gdx2d.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * The states exchanged through a {@link SnapshotBuffer} by a writer and a
+ * reader thread
+ * 
+ * @version 1.0
+ */
+public class SnapshotBufferTest {
+	static final int PUBLICATIONS = 200000;
+
+	/**
+	 * A state in which every value is its sequence number, torn if they
+	 * differ
+	 */
+	static class State {
+		long sequence;
+		final long[] values = new long[64];
+	}
+
+	final SnapshotBuffer<State> buffer = new SnapshotBuffer<State>(new State(), new State(), new State());
+
+	@Test
+	public void singleThread() {
+		assertFalse(buffer.hasNewState());
+		State first = buffer.getReadBuffer();
+
+		buffer.getWriteBuffer().sequence = 1;
+		buffer.publish();
+		assertTrue(buffer.hasNewState());
+
+		State read = buffer.getReadBuffer();
+		assertEquals(1, read.sequence);
+		assertFalse(buffer.hasNewState());
+		assertTrue(read != first);
+
+		// Nothing new, the same state
+		assertSame(read, buffer.getReadBuffer());
+
+		// Only the last one of several publications is read
+		buffer.getWriteBuffer().sequence = 2;
+		buffer.publish();
+		buffer.getWriteBuffer().sequence = 3;
+		buffer.publish();
+		assertEquals(3, buffer.getReadBuffer().sequence);
+	}
+
+	@Test
+	public void writerAndReader() throws InterruptedException {
+		final Throwable[] error = new Throwable[1];
+
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				for (long n = 1; n <= PUBLICATIONS; n++) {
+					State s = buffer.getWriteBuffer();
+					s.sequence = n;
+
+					for (int i = 0; i < s.values.length; i++)
+						s.values[i] = n;
+
+					buffer.publish();
+				}
+			}
+		});
+
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				long last = 0;
+
+				try {
+					while (last < PUBLICATIONS) {
+						State s = buffer.getReadBuffer();
+						final long n = s.sequence;
+
+						// Never an older state after a newer one
+						assertTrue(n >= last);
+
+						// Never modified while it is read
+						for (int i = 0; i < s.values.length; i++)
+							assertEquals(n, s.values[i]);
+
+						assertEquals(n, s.sequence);
+						last = n;
+					}
+				} catch (Throwable t) {
+					error[0] = t;
+				}
+			}
+		});
+
+		writer.setDaemon(true);
+		reader.setDaemon(true);
+		reader.start();
+		writer.start();
+		writer.join(60000);
+		reader.join(60000);
+
+		assertFalse(writer.isAlive());
+		assertFalse(reader.isAlive());
+
+		if (error[0] != null)
+			throw new AssertionError(error[0]);
+	}
+}
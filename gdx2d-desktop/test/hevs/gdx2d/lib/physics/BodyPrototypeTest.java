@@ -0,0 +1,106 @@
+package hevs.gdx2d.lib.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.PhysicsPrototypeObject;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * The bodies spawned by a {@link BodyPrototype} behave like the other objects
+ * 
+ * @version 1.0
+ */
+public class BodyPrototypeTest {
+	PhysicsWorld world;
+	BodyPrototype wall;
+
+	@BeforeClass
+	public static void loadNatives() {
+		GdxNativesLoader.load();
+	}
+
+	@Before
+	public void setUp() {
+		world = new PhysicsWorld(new Vector2(0, 0));
+		wall = BodyPrototype.box(10, 10).setDynamic(false).setName("wall");
+	}
+
+	@After
+	public void tearDown() {
+		wall.dispose();
+		world.destroy();
+	}
+
+	@Test
+	public void spawnedObjects() {
+		PhysicsPrototypeObject[] walls = wall.spawn(world, new float[] { 100, 100, 200, 100 });
+
+		assertEquals(2, walls.length);
+		assertSame(walls[1], walls[1].getBody().getUserData());
+		assertEquals("wall", walls[1].name);
+	}
+
+	@Test
+	public void queries() {
+		PhysicsPrototypeObject[] walls = wall.spawn(world, new float[] { 100, 100, 200, 100 });
+		AbstractPhysicsObject[] out = new AbstractPhysicsObject[4];
+
+		assertEquals(1, world.queryPoint(200, 100, out));
+		assertSame(walls[1], out[0]);
+
+		// The ray stops on the first wall
+		Vector2 hit = new Vector2();
+		assertSame(walls[0], world.rayCast(0, 100, 300, 100, hit));
+		assertEquals(90, hit.x, 0.5f);
+	}
+
+	@Test
+	public void collisions() {
+		final List<AbstractPhysicsObject> hits = new ArrayList<AbstractPhysicsObject>();
+		PhysicsPrototypeObject[] walls = wall.spawn(world, new float[] { 100, 100 });
+
+		PhysicsCircle ball = new PhysicsCircle(world, "ball", new Vector2(100, 150), 10, 1, 1, 0) {
+			@Override
+			public void collision(AbstractPhysicsObject theOtherObject, float energy) {
+				hits.add(theOtherObject);
+			}
+		};
+		ball.enableCollisionListener();
+		ball.setBodyLinearVelocity(0, -5);
+
+		// Bounces on the wall
+		for (int i = 0; i < 60; i++)
+			world.update(PhysicsConstants.STEP_SIZE);
+
+		assertEquals(1, hits.size());
+		assertSame(walls[0], hits.get(0));
+	}
+
+	@Test
+	public void activity() {
+		BodyPrototype ball = BodyPrototype.circle(5);
+		PhysicsPrototypeObject[] balls = ball.spawn(world, new float[] { 100, 100, 5000, 100 });
+		ball.dispose();
+
+		PhysicsActivityManager activity = new PhysicsActivityManager(world, 500, 100);
+		activity.addAll();
+		activity.update(0, 0, 1000, 1000);
+
+		assertEquals(1, activity.getActiveCount());
+		assertTrue(balls[0].getBody().isActive());
+		assertTrue(!balls[1].getBody().isActive());
+	}
+}
@@ -0,0 +1,202 @@
+package hevs.gdx2d.lib.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import hevs.gdx2d.components.physics.PhysicsCircle;
+import hevs.gdx2d.components.physics.PhysicsStaticBox;
+import hevs.gdx2d.components.physics.utils.PhysicsConstants;
+import hevs.gdx2d.components.physics.utils.PhysicsScreenBoundaries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * The contacts of a destroyed body, which Box2D does not end, must be
+ * removed from the {@link CollisionDispatcher} and delivered
+ * 
+ * @version 1.0
+ */
+public class CollisionDispatcherTest {
+	PhysicsWorld world;
+	PhysicsStaticBox ground;
+	final List<AbstractPhysicsObject> hits = new ArrayList<AbstractPhysicsObject>();
+
+	@BeforeClass
+	public static void loadNatives() {
+		GdxNativesLoader.load();
+	}
+
+	@Before
+	public void setUp() {
+		world = new PhysicsWorld();
+		ground = new PhysicsStaticBox(world, "ground", new Vector2(500, 10), 500, 10, 0) {
+			@Override
+			public void collision(AbstractPhysicsObject theOtherObject, float energy) {
+				hits.add(theOtherObject);
+			}
+		};
+		ground.enableCollisionListener();
+	}
+
+	@After
+	public void tearDown() {
+		world.destroy();
+	}
+
+	// A ball which rests on the ground
+	private PhysicsCircle landBall() {
+		PhysicsCircle ball = new PhysicsCircle(world, "ball", new Vector2(500, 40), 10, 1, 0, 0.3f);
+		step(120);
+		assertEquals(1, world.getDispatcher().getContactCount());
+
+		// Forgets the bounces
+		hits.clear();
+		return ball;
+	}
+
+	private void step(int n) {
+		for (int i = 0; i < n; i++)
+			world.update(PhysicsConstants.STEP_SIZE);
+	}
+
+	@Test
+	public void destroyTouchingBody() {
+		PhysicsCircle ball = landBall();
+
+		ball.destroy();
+		assertEquals(0, world.getDispatcher().getContactCount());
+
+		// Delivered with the next dispatch
+		step(1);
+		assertEquals(1, hits.size());
+		assertSame(ball, hits.get(0));
+	}
+
+	@Test
+	public void destroyLaterTouchingBody() {
+		PhysicsCircle ball = landBall();
+
+		ball.destroyLater();
+		step(1);
+		assertEquals(0, world.getDispatcher().getContactCount());
+		assertEquals(1, hits.size());
+		assertSame(ball, hits.get(0));
+	}
+
+	@Test
+	public void destroyFromCollision() {
+		final PhysicsCircle ball = landBall();
+		final PhysicsCircle other = new PhysicsCircle(world, "other", new Vector2(500, 200), 10, 1, 0.8f, 0.3f) {
+			@Override
+			public void collision(AbstractPhysicsObject theOtherObject, float energy) {
+				ball.destroy();
+			}
+		};
+		other.enableCollisionListener();
+
+		// The other ball bounces on the first one and destroys it, then lands
+		step(480);
+		assertTrue(ball.isDestroyed());
+		assertEquals(1, world.getDispatcher().getContactCount());
+		assertTrue(hits.contains(ball));
+	}
+
+	@Test
+	public void reusedFixtures() {
+		landBall().destroy();
+		step(1);
+
+		// The fixtures of the destroyed ball are reused by Box2D, the new
+		// contact is not mistaken for the old one
+		PhysicsCircle ball = landBall();
+		ball.destroy();
+		step(1);
+		assertEquals(0, world.getDispatcher().getContactCount());
+		assertEquals(1, hits.size());
+		assertSame(ball, hits.get(0));
+	}
+
+	@Test
+	public void destroyManyLater() {
+		final int n = 40;
+		List<PhysicsCircle> balls = new ArrayList<PhysicsCircle>();
+
+		for (int i = 0; i < n; i++)
+			balls.add(new PhysicsCircle(world, "ball", new Vector2(20 + 24 * i, 40), 10, 1, 0, 0.3f));
+
+		step(120);
+		assertEquals(n, world.getDispatcher().getContactCount());
+		hits.clear();
+
+		// All destroyed after the same step
+		for (PhysicsCircle ball : balls)
+			ball.destroyLater();
+
+		step(1);
+		assertEquals(0, world.getDispatcher().getContactCount());
+		assertEquals(n, hits.size());
+		assertTrue(hits.containsAll(balls));
+	}
+
+	@Test
+	public void chainCorner() {
+		// A box of edges, a single fixture with one child per edge
+		new StaticGeometryBuilder().addPolyline(new float[] { 100, 100, 400, 100, 400, 400, 100, 400 }, true)
+				.build(world, "box");
+
+		// Rests in the lower left corner, touching two edges
+		PhysicsCircle ball = new PhysicsCircle(world, "ball", new Vector2(110, 140), 10, 1, 0, 0.3f) {
+			@Override
+			public void collision(AbstractPhysicsObject theOtherObject, float energy) {
+				hits.add(theOtherObject);
+			}
+		};
+		ball.enableCollisionListener();
+		step(120);
+		assertEquals(2, world.getDispatcher().getContactCount());
+		hits.clear();
+
+		// Rolls away from the wall, still on the floor
+		ball.setBodyLinearVelocity(3, 0);
+		step(30);
+		assertEquals(1, world.getDispatcher().getContactCount());
+		assertEquals(1, hits.size());
+	}
+
+	@Test
+	public void screenBoundariesCorner() {
+		ground.destroy();
+		PhysicsScreenBoundaries screen = new PhysicsScreenBoundaries(world, 1000, 1000);
+
+		PhysicsCircle ball = new PhysicsCircle(world, "ball", new Vector2(10, 40), 10, 1, 0, 0.3f) {
+			@Override
+			public void collision(AbstractPhysicsObject theOtherObject, float energy) {
+				hits.add(theOtherObject);
+			}
+		};
+		ball.enableCollisionListener();
+		step(120);
+		assertEquals(2, world.getDispatcher().getContactCount());
+		hits.clear();
+
+		// Leaving the left side ends only that contact, the ball stays on
+		// the bottom side
+		ball.setBodyLinearVelocity(3, 0);
+		step(30);
+		assertEquals(1, world.getDispatcher().getContactCount());
+		assertEquals(1, hits.size());
+		assertSame(screen.boundaries, hits.get(0));
+
+		step(30);
+		assertEquals(1, hits.size());
+	}
+}
@@ -0,0 +1,90 @@
+package hevs.gdx2d.lib.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import hevs.gdx2d.components.physics.PhysicsPrototypeObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * The objects deactivated by a {@link PhysicsActivityManager}
+ * 
+ * @version 1.0
+ */
+public class PhysicsActivityManagerTest {
+	PhysicsWorld world;
+	PhysicsActivityManager activity;
+	PhysicsPrototypeObject[] balls;
+
+	@BeforeClass
+	public static void loadNatives() {
+		GdxNativesLoader.load();
+	}
+
+	@Before
+	public void setUp() {
+		world = new PhysicsWorld(new Vector2(0, 0));
+
+		// Four balls close to each other, far from the camera
+		BodyPrototype ball = BodyPrototype.circle(5);
+		balls = ball.spawn(world, new float[] { 5000, 100, 5020, 100, 5040, 100, 5060, 100 });
+		ball.dispose();
+
+		activity = new PhysicsActivityManager(world, 500, 100);
+		activity.addAll();
+		activity.update(0, 0, 1000, 1000);
+	}
+
+	@After
+	public void tearDown() {
+		world.destroy();
+	}
+
+	@Test
+	public void destroyedWhileInactive() {
+		assertEquals(0, activity.getActiveCount());
+		assertEquals(4, activity.getInactiveCount());
+
+		balls[0].destroy();
+		balls[1].destroyLater();
+		world.update(1);
+		assertEquals(2, activity.getInactiveCount());
+
+		// Destroying twice changes nothing
+		balls[0].destroy();
+		assertEquals(2, activity.getInactiveCount());
+
+		// Only the remaining ones come back
+		activity.update(4500, 0, 5500, 1000);
+		assertEquals(2, activity.getActiveCount());
+		assertEquals(0, activity.getInactiveCount());
+		assertTrue(balls[2].getBody().isActive());
+		assertTrue(balls[3].getBody().isActive());
+	}
+
+	@Test
+	public void destroyedOnceActive() {
+		activity.update(4500, 0, 5500, 1000);
+		assertEquals(4, activity.getActiveCount());
+
+		// Not in a cell anymore
+		balls[0].destroy();
+		assertEquals(0, activity.getInactiveCount());
+
+		activity.update(4500, 0, 5500, 1000);
+		assertEquals(3, activity.getActiveCount());
+
+		// Deactivated again, without the destroyed one
+		activity.update(0, 0, 1000, 1000);
+		assertEquals(0, activity.getActiveCount());
+		assertEquals(3, activity.getInactiveCount());
+		assertFalse(balls[1].getBody().isActive());
+	}
+}
@@ -0,0 +1,113 @@
+package hevs.gdx2d.lib.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The outlines traced around the union of the rectangles of a
+ * {@link StaticGeometryBuilder}
+ * 
+ * @version 1.0
+ */
+public class StaticGeometryBuilderTest {
+	final StaticGeometryBuilder builder = new StaticGeometryBuilder();
+
+	// The same loop, whatever its first point
+	private static void assertLoop(float[] expected, float[] loop) {
+		assertEquals(expected.length, loop.length);
+
+		for (int start = 0; start < loop.length; start += 2) {
+			boolean same = true;
+
+			for (int i = 0; i < loop.length && same; i++)
+				same = expected[i] == loop[(start + i) % loop.length];
+
+			if (same)
+				return;
+		}
+
+		fail("expected " + Arrays.toString(expected) + " got " + Arrays.toString(loop));
+	}
+
+	// Of the first one, to find it
+	private static float[] withPoint(Array<float[]> loops, float x, float y) {
+		for (float[] loop : loops) {
+			for (int i = 0; i < loop.length; i += 2) {
+				if (loop[i] == x && loop[i + 1] == y)
+					return loop;
+			}
+		}
+
+		fail("no loop through " + x + ", " + y);
+		return null;
+	}
+
+	@Test
+	public void mergedTiles() {
+		for (int i = 0; i < 100; i++)
+			builder.addRectangle(10 * i, 0, 10, 10);
+
+		Array<float[]> loops = builder.computeOutlines();
+		assertEquals(1, loops.size);
+		assertLoop(new float[] { 0, 0, 1000, 0, 1000, 10, 0, 10 }, loops.get(0));
+	}
+
+	@Test
+	public void overlapping() {
+		builder.addRectangle(0, 0, 20, 10).addRectangle(10, 0, 20, 10).addRectangle(5, 2, 5, 5);
+
+		Array<float[]> loops = builder.computeOutlines();
+		assertEquals(1, loops.size);
+		assertLoop(new float[] { 0, 0, 30, 0, 30, 10, 0, 10 }, loops.get(0));
+	}
+
+	@Test
+	public void lShape() {
+		builder.addRectangle(0, 0, 30, 10).addRectangle(0, 10, 10, 20);
+
+		Array<float[]> loops = builder.computeOutlines();
+		assertEquals(1, loops.size);
+
+		// Counterclockwise, with the inner corner
+		assertLoop(new float[] { 0, 0, 30, 0, 30, 10, 10, 10, 10, 30, 0, 30 }, loops.get(0));
+	}
+
+	@Test
+	public void holedBox() {
+		// A frame around the 10 x 10 hole in the middle
+		builder.addRectangle(0, 0, 30, 10).addRectangle(0, 20, 30, 10);
+		builder.addRectangle(0, 10, 10, 10).addRectangle(20, 10, 10, 10);
+
+		Array<float[]> loops = builder.computeOutlines();
+		assertEquals(2, loops.size);
+
+		// The outside counterclockwise, the hole clockwise
+		assertLoop(new float[] { 0, 0, 30, 0, 30, 30, 0, 30 }, withPoint(loops, 0, 0));
+		assertLoop(new float[] { 10, 10, 10, 20, 20, 20, 20, 10 }, withPoint(loops, 10, 10));
+	}
+
+	@Test
+	public void touchingCorners() {
+		builder.addRectangle(0, 0, 10, 10).addRectangle(10, 10, 10, 10);
+
+		// Two loops sharing a point, not a figure eight
+		Array<float[]> loops = builder.computeOutlines();
+		assertEquals(2, loops.size);
+		assertLoop(new float[] { 0, 0, 10, 0, 10, 10, 0, 10 }, withPoint(loops, 0, 0));
+		assertLoop(new float[] { 10, 10, 20, 10, 20, 20, 10, 20 }, withPoint(loops, 20, 20));
+	}
+
+	@Test
+	public void empty() {
+		assertEquals(0, builder.computeOutlines().size);
+
+		builder.addRectangle(0, 0, 0, 10);
+		assertEquals(0, builder.computeOutlines().size);
+	}
+}
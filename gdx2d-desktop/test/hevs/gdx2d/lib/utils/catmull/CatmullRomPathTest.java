@@ -0,0 +1,170 @@
+package hevs.gdx2d.lib.utils.catmull;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.CatmullRomSpline;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A {@link CatmullRomPath} modified point by point gives the same path as one
+ * built at once
+ * 
+ * @version 1.0
+ */
+public class CatmullRomPathTest {
+	static final int SUBDIVISIONS = 8;
+
+	final float[] points = new float[2 * 10];
+
+	public CatmullRomPathTest() {
+		Random r = new Random(1234);
+
+		for (int i = 0; i < points.length; i++)
+			points[i] = r.nextFloat() * 500;
+	}
+
+	// The subdivision of the first n points, built at once
+	private static float[] expected(float[] points, int n) {
+		float[] out = new float[2 * ((n - 1) * SUBDIVISIONS + 1)];
+		CatmullRomUtils.subdividePoints(Arrays.copyOf(points, 2 * n), SUBDIVISIONS, out);
+		return out;
+	}
+
+	private static void assertSubdivision(float[] expected, CatmullRomPath path) {
+		float[] out = new float[expected.length];
+
+		assertEquals(expected.length, path.subdivide(SUBDIVISIONS, out, 0));
+		for (int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], out[i], 1e-3f);
+	}
+
+	@Test
+	public void sameAsSpline() {
+		CatmullRomPath path = new CatmullRomPath(points, 4);
+		final int n = points.length / 2;
+
+		// The ends are repeated
+		Vector2[] v = new Vector2[n + 2];
+		for (int i = 0; i < n; i++)
+			v[i + 1] = new Vector2(points[2 * i], points[2 * i + 1]);
+		v[0] = v[1];
+		v[n + 1] = v[n];
+
+		Vector2 expected = new Vector2(), tmp = new Vector2();
+		float[] out = new float[2];
+
+		for (float t = 0; t < n - 1; t += 0.1f) {
+			int segment = (int) t;
+			CatmullRomSpline.calculate(expected, segment + 1, t - segment, v, false, tmp);
+			path.valueAt(t, out, 0);
+
+			assertEquals(expected.x, out[0], 1e-2f);
+			assertEquals(expected.y, out[1], 1e-2f);
+		}
+	}
+
+	@Test
+	public void incrementalAdd() {
+		CatmullRomPath path = new CatmullRomPath();
+		path.add(points[0], points[1]);
+
+		// Evaluated after each point, only the last segments are computed
+		// again
+		for (int n = 2; n <= points.length / 2; n++) {
+			path.add(points[2 * n - 2], points[2 * n - 1]);
+			assertSubdivision(expected(points, n), path);
+		}
+	}
+
+	@Test
+	public void incrementalSet() {
+		final int n = points.length / 2;
+		CatmullRomPath path = new CatmullRomPath(points, 4);
+		float[] moved = points.clone();
+
+		// First, last and middle points, a neighbour of the previous one
+		for (int index : new int[] { 0, n - 1, 4, 5, 1, n - 2 }) {
+			path.subdivide(SUBDIVISIONS, new float[2 * ((n - 1) * SUBDIVISIONS + 1)], 0);
+
+			moved[2 * index] += 50;
+			moved[2 * index + 1] -= 30;
+			path.set(index, moved[2 * index], moved[2 * index + 1]);
+
+			assertSubdivision(expected(moved, n), path);
+		}
+	}
+
+	@Test
+	public void lengthAfterChanges() {
+		CatmullRomPath path = new CatmullRomPath(Arrays.copyOf(points, 8), 16);
+		path.getLength();
+
+		path.addAll(points, 8, points.length / 2 - 4);
+		path.getLength();
+		path.set(6, 10, 10);
+
+		float[] moved = points.clone();
+		moved[12] = 10;
+		moved[13] = 10;
+
+		assertEquals(new CatmullRomPath(moved, 16).getLength(), path.getLength(), 1e-2f);
+	}
+
+	@Test
+	public void arcLength() {
+		CatmullRomPath path = new CatmullRomPath(points, 16);
+		final float length = path.getLength();
+		final int last = points.length - 2;
+		float[] out = new float[2];
+
+		assertTrue(length > 0);
+
+		// Monotonic, from the first to the last point
+		float previous = -1;
+		for (float d = 0; d <= length; d += length / 200) {
+			float t = path.distanceToParameter(d);
+			assertTrue(t >= previous);
+			previous = t;
+		}
+
+		path.valueAtDistance(0, out, 0);
+		assertEquals(points[0], out[0], 1e-3f);
+		assertEquals(points[1], out[1], 1e-3f);
+
+		path.valueAtDistance(-10, out, 0);
+		assertEquals(points[0], out[0], 1e-3f);
+
+		path.valueAtDistance(length, out, 0);
+		assertEquals(points[last], out[0], 1e-3f);
+		assertEquals(points[last + 1], out[1], 1e-3f);
+
+		path.valueAtDistance(length + 10, out, 0);
+		assertEquals(points[last], out[0], 1e-3f);
+		assertEquals(path.getSegmentCount(), path.distanceToParameter(length + 10), 0);
+	}
+
+	@Test
+	public void constantSpeed() {
+		CatmullRomPath path = new CatmullRomPath(points, 64);
+		final float length = path.getLength();
+		final float step = length / 100;
+		float[] a = new float[2], b = new float[2];
+
+		// Successive points at the same distance along the path are about
+		// the same distance apart
+		for (int i = 0; i < 100; i++) {
+			path.valueAtDistance(i * step, a, 0);
+			path.valueAtDistance((i + 1) * step, b, 0);
+
+			float d = (float) Math.hypot(b[0] - a[0], b[1] - a[1]);
+			assertTrue(d <= step * 1.01f);
+			assertTrue(d >= step * 0.8f);
+		}
+	}
+}